@@ -0,0 +1,37 @@
+/**
+ * ApiException.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Thrown when an auth-api endpoint answers with a non-2xx status. Carries
+ * the HTTP status and the "message" field from the JSON error body.
+ */
+
+package com.cqu.genaiexpensetracker.api;
+
+import java.io.IOException;
+
+public class ApiException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    /**
+     * @param statusCode HTTP status returned by the server
+     * @param message    Error message from the response body
+     */
+    public ApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Returns the HTTP status code of the failed call.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
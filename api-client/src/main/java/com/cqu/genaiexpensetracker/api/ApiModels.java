@@ -0,0 +1,63 @@
+/**
+ * ApiModels.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * JSON shapes returned by the auth-api Express routes. Field names match
+ * the documents written in auth-api/index.js; timestamps arrive as ISO-8601
+ * strings produced by the list handlers.
+ */
+
+package com.cqu.genaiexpensetracker.api;
+
+public final class ApiModels {
+
+    private ApiModels() {}
+
+    /** A document from the "users" collection. */
+    public static class User {
+        public String uid;
+        public String name;
+        public String email;
+    }
+
+    /** A document from the "income" collection. */
+    public static class Income {
+        public String id;
+        public String uid;
+        public double amount;
+        public long amountCents;
+        public String source;
+        public String createdAt;
+    }
+
+    /** A document from the "expenses" collection. */
+    public static class Expense {
+        public String id;
+        public String uid;
+        public double amount;
+        public long amountCents;
+        public String category;
+        public String description;
+        public String createdAt;
+    }
+
+    /** A document from the "budget" collection. */
+    public static class Budget {
+        public String uid;
+        public String month; // yyyy-MM
+        public double totalAmount;
+        public long totalAmountCents;
+        public String createdAt;
+    }
+
+    /** A document from the "report" collection. */
+    public static class Report {
+        public String id;
+        public String uid;
+        public String reportName;
+        public String uploadedAt;
+    }
+}
@@ -0,0 +1,341 @@
+/**
+ * AuthApiClient.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Typed Java client for the Express routes in auth-api/index.js. Calls are
+ * blocking and must be made off the main thread.
+ *
+ * Features:
+ * - One shared OkHttp connection pool, so TLS sessions are reused across calls
+ * - Transparent gzip (OkHttp adds Accept-Encoding and inflates responses)
+ * - GET responses revalidated with ETag / If-None-Match; 304 reuses the cached body
+ * - Concurrent identical GETs share a single network request
+ */
+
+package com.cqu.genaiexpensetracker.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+public class AuthApiClient {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final int ETAG_CACHE_SIZE = 64;
+
+    // Shared by every client instance so connections are pooled app-wide
+    private static final OkHttpClient SHARED_HTTP = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+            .connectTimeout(10, TimeUnit.SECONDS)
+            .readTimeout(20, TimeUnit.SECONDS)
+            .build();
+
+    private static final Type USER_LIST = new TypeToken<List<ApiModels.User>>() {}.getType();
+    private static final Type INCOME_LIST = new TypeToken<List<ApiModels.Income>>() {}.getType();
+    private static final Type EXPENSE_LIST = new TypeToken<List<ApiModels.Expense>>() {}.getType();
+    private static final Type BUDGET_LIST = new TypeToken<List<ApiModels.Budget>>() {}.getType();
+    private static final Type REPORT_LIST = new TypeToken<List<ApiModels.Report>>() {}.getType();
+    private static final Type STRING_LIST = new TypeToken<List<String>>() {}.getType();
+
+    private final HttpUrl baseUrl;
+    private final OkHttpClient http;
+    private final Gson gson = new Gson();
+    private final EtagCache etagCache = new EtagCache(ETAG_CACHE_SIZE);
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param baseUrl Root of the deployed API, e.g. https://&lt;region&gt;-&lt;project&gt;.cloudfunctions.net/api
+     */
+    public AuthApiClient(String baseUrl) {
+        this(baseUrl, SHARED_HTTP);
+    }
+
+    /**
+     * @param baseUrl Root of the API
+     * @param http    OkHttp client to use (tests pass their own)
+     */
+    public AuthApiClient(String baseUrl, OkHttpClient http) {
+        HttpUrl parsed = HttpUrl.parse(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        if (parsed == null) throw new IllegalArgumentException("Invalid base URL: " + baseUrl);
+        this.baseUrl = parsed;
+        this.http = http;
+    }
+
+    // ---------------------------------------------------------------------
+    // Users
+    // ---------------------------------------------------------------------
+
+    /**
+     * POST /register. Creates the Firebase Auth account and users/{uid}.
+     *
+     * @return UID of the new user
+     */
+    public String register(String name, String email, String password) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("name", name);
+        body.put("email", email);
+        body.put("password", password);
+        return post("register", body).get("uid").getAsString();
+    }
+
+    /**
+     * GET /user/:uid.
+     */
+    public ApiModels.User getUser(String uid) throws IOException {
+        JsonObject json = gson.fromJson(get(url("user", uid)), JsonObject.class);
+        return gson.fromJson(json.get("user"), ApiModels.User.class);
+    }
+
+    /**
+     * GET /users-list.
+     */
+    public List<ApiModels.User> listUsers() throws IOException {
+        JsonObject json = gson.fromJson(get(url("users-list")), JsonObject.class);
+        return gson.fromJson(json.get("users"), USER_LIST);
+    }
+
+    // ---------------------------------------------------------------------
+    // Income and expenses
+    // ---------------------------------------------------------------------
+
+    /**
+     * POST /income-add.
+     *
+     * @return ID of the new income document
+     */
+    public String addIncome(String uid, long amountCents, String source) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("uid", uid);
+        body.put("amount", BigDecimal.valueOf(amountCents, 2));
+        body.put("source", source);
+        return post("income-add", body).get("id").getAsString();
+    }
+
+    /**
+     * GET /income-list.
+     */
+    public List<ApiModels.Income> listIncome() throws IOException {
+        return gson.fromJson(get(url("income-list")), INCOME_LIST);
+    }
+
+    /**
+     * POST /expense-add.
+     *
+     * @return ID of the new expense document
+     */
+    public String addExpense(String uid, long amountCents, String category, String description) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("uid", uid);
+        body.put("amount", BigDecimal.valueOf(amountCents, 2));
+        body.put("category", category);
+        body.put("description", description);
+        return post("expense-add", body).get("id").getAsString();
+    }
+
+    /**
+     * GET /expense-list.
+     */
+    public List<ApiModels.Expense> listExpenses() throws IOException {
+        return gson.fromJson(get(url("expense-list")), EXPENSE_LIST);
+    }
+
+    // ---------------------------------------------------------------------
+    // Budgets, insights and reports
+    // ---------------------------------------------------------------------
+
+    /**
+     * POST /budget-set. Writes budget/{uid}_{month}.
+     *
+     * @param month Month in "yyyy-MM" form
+     */
+    public void setBudget(String uid, String month, long totalAmountCents) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("uid", uid);
+        body.put("month", month);
+        body.put("totalAmount", BigDecimal.valueOf(totalAmountCents, 2));
+        post("budget-set", body);
+    }
+
+    /**
+     * GET /budget-list.
+     */
+    public List<ApiModels.Budget> listBudgets() throws IOException {
+        return gson.fromJson(get(url("budget-list")), BUDGET_LIST);
+    }
+
+    /**
+     * GET /insights.
+     */
+    public List<String> getInsights() throws IOException {
+        JsonObject json = gson.fromJson(get(url("insights")), JsonObject.class);
+        return gson.fromJson(json.get("insights"), STRING_LIST);
+    }
+
+    /**
+     * POST /report-upload.
+     *
+     * @return ID of the new report document
+     */
+    public String uploadReport(String uid, String reportName) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("uid", uid);
+        body.put("reportName", reportName);
+        return post("report-upload", body).get("id").getAsString();
+    }
+
+    /**
+     * GET /report-list.
+     */
+    public List<ApiModels.Report> listReports() throws IOException {
+        return gson.fromJson(get(url("report-list")), REPORT_LIST);
+    }
+
+    /**
+     * Drops every cached GET body, e.g. on sign-out.
+     */
+    public void clearCache() {
+        etagCache.clear();
+    }
+
+    // ---------------------------------------------------------------------
+    // Transport
+    // ---------------------------------------------------------------------
+
+    private HttpUrl url(String... segments) {
+        HttpUrl.Builder builder = baseUrl.newBuilder();
+        for (String segment : segments) builder.addPathSegment(segment);
+        return builder.build();
+    }
+
+    /**
+     * Performs a GET, joining any identical request already in flight.
+     */
+    private String get(HttpUrl url) throws IOException {
+        String key = url.toString();
+        InFlight mine = new InFlight();
+        InFlight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return existing.await();
+
+        try {
+            String body = fetch(url);
+            mine.complete(body, null);
+            return body;
+        } catch (Throwable e) {
+            // Errors too, or every joined caller would wait in await() forever
+            mine.complete(null, e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Sends the GET with If-None-Match when a cached copy exists.
+     */
+    private String fetch(HttpUrl url) throws IOException {
+        String key = url.toString();
+        EtagCache.Cached cached = etagCache.get(key);
+
+        Request.Builder request = new Request.Builder().url(url).get();
+        if (cached != null) request.header("If-None-Match", cached.etag);
+
+        try (Response response = http.newCall(request.build()).execute()) {
+            if (response.code() == 304 && cached != null) {
+                return cached.body;
+            }
+            String body = readBody(response);
+            String etag = response.header("ETag");
+            if (etag != null) {
+                etagCache.put(key, etag, body);
+            } else {
+                etagCache.remove(key);
+            }
+            return body;
+        }
+    }
+
+    private JsonObject post(String path, Map<String, Object> body) throws IOException {
+        Request request = new Request.Builder()
+                .url(url(path))
+                .post(RequestBody.create(gson.toJson(body), JSON))
+                .build();
+        try (Response response = http.newCall(request).execute()) {
+            return gson.fromJson(readBody(response), JsonObject.class);
+        }
+    }
+
+    /**
+     * Returns the body of a successful response or throws ApiException.
+     */
+    private String readBody(Response response) throws IOException {
+        ResponseBody body = response.body();
+        String text = body != null ? body.string() : "";
+        if (!response.isSuccessful()) {
+            throw new ApiException(response.code(), errorMessage(text, response.message()));
+        }
+        return text;
+    }
+
+    private String errorMessage(String text, String fallback) {
+        try {
+            JsonObject json = gson.fromJson(text, JsonObject.class);
+            if (json != null && json.has("message")) return json.get("message").getAsString();
+        } catch (JsonParseException | IllegalStateException ignored) {
+            // Not a JSON error body
+        }
+        return fallback;
+    }
+
+    /**
+     * Result slot shared by callers coalesced onto one GET.
+     */
+    private static final class InFlight {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private String body;
+        private Throwable error;
+
+        void complete(String body, Throwable error) {
+            this.body = body;
+            this.error = error;
+            done.countDown();
+        }
+
+        String await() throws IOException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for shared request", e);
+            }
+            if (error instanceof ApiException) {
+                ApiException apiError = (ApiException) error;
+                throw new ApiException(apiError.getStatusCode(), apiError.getMessage());
+            }
+            if (error != null) throw new IOException(error.getMessage(), error);
+            return body;
+        }
+    }
+}
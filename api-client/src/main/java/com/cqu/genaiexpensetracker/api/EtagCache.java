@@ -0,0 +1,62 @@
+/**
+ * EtagCache.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Small in-memory LRU of GET response bodies keyed by URL, each stored with
+ * the ETag the server sent. The client revalidates with If-None-Match and
+ * reuses the cached body when the server answers 304 Not Modified.
+ */
+
+package com.cqu.genaiexpensetracker.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class EtagCache {
+
+    /** A cached response body and its validator. */
+    static final class Cached {
+        final String etag;
+        final String body;
+
+        Cached(String etag, String body) {
+            this.etag = etag;
+            this.body = body;
+        }
+    }
+
+    private final Map<String, Cached> entries;
+
+    /**
+     * @param maxEntries Least recently used entries are evicted past this size
+     */
+    EtagCache(int maxEntries) {
+        entries = new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized Cached get(String url) {
+        return entries.get(url);
+    }
+
+    synchronized void put(String url, String etag, String body) {
+        entries.put(url, new Cached(etag, body));
+    }
+
+    synchronized void remove(String url) {
+        entries.remove(url);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
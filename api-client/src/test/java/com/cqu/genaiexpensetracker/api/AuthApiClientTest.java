@@ -0,0 +1,133 @@
+package com.cqu.genaiexpensetracker.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.GzipSink;
+import okio.Okio;
+
+import static org.junit.Assert.*;
+
+/**
+ * Exercises AuthApiClient against a local MockWebServer.
+ */
+public class AuthApiClientTest {
+
+    private MockWebServer server;
+    private AuthApiClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = new AuthApiClient(server.url("/api").toString(), new OkHttpClient());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void getUser_parsesUserAndHitsPath() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"user\":{\"uid\":\"u1\",\"name\":\"Kapil\",\"email\":\"k@example.com\"}}"));
+
+        ApiModels.User user = client.getUser("u1");
+
+        assertEquals("u1", user.uid);
+        assertEquals("k@example.com", user.email);
+        assertEquals("/api/user/u1", server.takeRequest().getPath());
+    }
+
+    @Test
+    public void get_revalidatesWithEtagAndReusesBodyOn304() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "W/\"abc\"").setBody("{\"insights\":[\"Spend less\"]}"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        assertEquals(List.of("Spend less"), client.getInsights());
+        assertEquals(List.of("Spend less"), client.getInsights());
+
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        assertEquals("W/\"abc\"", server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    public void get_acceptsGzipAndInflatesTransparently() throws Exception {
+        Buffer gzipped = new Buffer();
+        try (okio.BufferedSink sink = Okio.buffer(new GzipSink(gzipped))) {
+            sink.writeUtf8("[{\"id\":\"e1\",\"uid\":\"u1\",\"amount\":12.5,\"category\":\"Food\"}]");
+        }
+        server.enqueue(new MockResponse().setHeader("Content-Encoding", "gzip").setBody(gzipped));
+
+        List<ApiModels.Expense> expenses = client.listExpenses();
+
+        assertEquals(1, expenses.size());
+        assertEquals("Food", expenses.get(0).category);
+        assertEquals("gzip", server.takeRequest().getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    public void concurrentIdenticalGets_shareOneRequest() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody("[{\"id\":\"i1\",\"uid\":\"u1\",\"amount\":100,\"source\":\"Salary\"}]")
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<ApiModels.Income>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return client.listIncome();
+            }));
+        }
+        start.countDown();
+
+        for (Future<List<ApiModels.Income>> result : results) {
+            assertEquals("Salary", result.get(5, TimeUnit.SECONDS).get(0).source);
+        }
+        pool.shutdown();
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void addIncome_postsJsonAndReturnsId() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(201).setBody("{\"message\":\"Income added\",\"id\":\"doc9\"}"));
+
+        assertEquals("doc9", client.addIncome("u1", 1250, "Salary"));
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("/api/income-add", request.getPath());
+        String body = request.getBody().readUtf8();
+        assertTrue(body, body.contains("\"amount\":12.50"));
+        assertTrue(body, body.contains("\"source\":\"Salary\""));
+    }
+
+    @Test
+    public void errorStatus_throwsApiExceptionWithServerMessage() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"message\":\"User not found\"}"));
+
+        try {
+            client.getUser("missing");
+            fail("Expected ApiException");
+        } catch (ApiException e) {
+            assertEquals(404, e.getStatusCode());
+            assertEquals("User not found", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.cqu.genaiexpensetracker;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.lifecycle.Lifecycle;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.android.material.bottomnavigation.BottomNavigationView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures bottom-navigation tab switches in navbar and checks that
+ * fragments and their views are kept between switches.
+ *
+ * Latency percentiles are logged under the "NavigationLatency" tag and
+ * reported as instrumentation status (nav_p50_us, nav_p90_us, nav_max_us).
+ */
+@RunWith(AndroidJUnit4.class)
+public class NavigationLatencyTest {
+
+    private static final String TAG = "NavigationLatency";
+    private static final int[] TABS = {
+            R.id.navigation_income, R.id.navigation_expense, R.id.navigation_dashboard
+    };
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 30;
+
+    @Test
+    public void tabSwitch_reusesFragmentsAndViews() {
+        try (ActivityScenario<navbar> scenario = ActivityScenario.launch(navbar.class)) {
+            scenario.onActivity(activity -> {
+                BottomNavigationView nav = activity.findViewById(R.id.bottom_navigation);
+                FragmentManager fm = activity.getSupportFragmentManager();
+
+                switchTo(nav, fm, R.id.navigation_income);
+                Fragment income = fm.findFragmentByTag(navbar.TAG_INCOME);
+                assertNotNull(income);
+                View incomeView = income.getView();
+
+                switchTo(nav, fm, R.id.navigation_dashboard);
+                assertTrue(income.isHidden());
+                assertEquals(Lifecycle.State.STARTED, income.getLifecycle().getCurrentState());
+
+                switchTo(nav, fm, R.id.navigation_income);
+                assertSame(income, fm.findFragmentByTag(navbar.TAG_INCOME));
+                assertSame(incomeView, income.getView());
+                assertEquals(Lifecycle.State.RESUMED, income.getLifecycle().getCurrentState());
+
+                // Drawer destinations are not created until first used
+                assertNull(fm.findFragmentByTag(navbar.TAG_PROFILE));
+            });
+        }
+    }
+
+    @Test
+    public void tabSwitch_latency() {
+        try (ActivityScenario<navbar> scenario = ActivityScenario.launch(navbar.class)) {
+            long[] samples = new long[MEASURED_ROUNDS * TABS.length];
+            scenario.onActivity(activity -> {
+                BottomNavigationView nav = activity.findViewById(R.id.bottom_navigation);
+                FragmentManager fm = activity.getSupportFragmentManager();
+
+                // First visits create the fragments; measure warm switches only
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    for (int tab : TABS) switchTo(nav, fm, tab);
+                }
+
+                int n = 0;
+                for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                    for (int tab : TABS) {
+                        long start = SystemClock.elapsedRealtimeNanos();
+                        switchTo(nav, fm, tab);
+                        samples[n++] = (SystemClock.elapsedRealtimeNanos() - start) / 1_000;
+                    }
+                }
+            });
+
+            Arrays.sort(samples);
+            long p50 = samples[samples.length / 2];
+            long p90 = samples[samples.length * 9 / 10];
+            long max = samples[samples.length - 1];
+            Log.i(TAG, "tab switch p50=" + p50 + "us p90=" + p90 + "us max=" + max + "us");
+
+            Bundle results = new Bundle();
+            results.putLong("nav_p50_us", p50);
+            results.putLong("nav_p90_us", p90);
+            results.putLong("nav_max_us", max);
+            InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+            // A warm show/hide switch does no inflation; a frame is 16ms
+            assertTrue("p50 tab switch took " + p50 + "us", p50 < 16_000);
+        }
+    }
+
+    /**
+     * Selects a tab and runs the resulting fragment transaction to completion.
+     */
+    private static void switchTo(BottomNavigationView nav, FragmentManager fm, int itemId) {
+        nav.setSelectedItemId(itemId);
+        fm.executePendingTransactions();
+    }
+}
@@ -0,0 +1,71 @@
+package com.cqu.genaiexpensetracker;
+
+import android.app.Activity;
+import android.app.Instrumentation;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.SystemClock;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.firebase.auth.FirebaseAuth;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Launches the app through the MainActivity router and checks where it
+ * lands and how long the first frame takes. Timings are reported as
+ * instrumentation status (startup_first_frame_ms) for tracking over time.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupTimingTest {
+
+    // Budget for router onCreate to the first Welcome frame on a test device
+    private static final long FIRST_FRAME_BUDGET_MS = 1_500;
+
+    private Instrumentation instrumentation;
+    private Context context;
+
+    @Before
+    public void setUp() {
+        instrumentation = InstrumentationRegistry.getInstrumentation();
+        context = instrumentation.getTargetContext();
+        FirebaseAuth.getInstance().signOut();
+        StartupTracer.get().reset();
+    }
+
+    @Test
+    public void signedOutLaunch_routesToWelcomeWithinBudget() {
+        Instrumentation.ActivityMonitor monitor = instrumentation.addMonitor(Welcome.class.getName(), null, false);
+        context.startActivity(new Intent(context, MainActivity.class).addFlags(Intent.FLAG_ACTIVITY_NEW_TASK));
+
+        Activity welcome = monitor.waitForActivityWithTimeout(5_000);
+        assertNotNull("Router did not open Welcome", welcome);
+
+        StartupTracer tracer = StartupTracer.get();
+        long deadline = SystemClock.uptimeMillis() + 5_000;
+        while (!tracer.has(StartupTracer.WELCOME_FIRST_FRAME) && SystemClock.uptimeMillis() < deadline) {
+            SystemClock.sleep(10);
+        }
+
+        long firstFrame = tracer.elapsedMillis(StartupTracer.WELCOME_FIRST_FRAME);
+        Bundle results = new Bundle();
+        results.putLong("startup_first_frame_ms", firstFrame);
+        results.putString("startup_phases", tracer.dump());
+        instrumentation.sendStatus(0, results);
+
+        assertEquals(StartupTracer.ROUTER_CREATE, tracer.getPhases().get(0));
+        assertTrue(tracer.has(StartupTracer.ROUTED));
+        assertFalse("Signed-out launch must not open navbar", tracer.has(StartupTracer.NAVBAR_CREATE));
+        assertTrue("First frame took " + firstFrame + "ms", firstFrame >= 0 && firstFrame < FIRST_FRAME_BUDGET_MS);
+
+        welcome.finish();
+        instrumentation.removeMonitor(monitor);
+    }
+}
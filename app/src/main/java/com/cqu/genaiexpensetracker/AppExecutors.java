@@ -0,0 +1,60 @@
+/**
+ * AppExecutors.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * The executors Firestore results are handled on. Snapshot listeners and
+ * query callbacks are attached with snapshots(), so decoding and
+ * aggregation run off the main thread; only finished, immutable view
+ * state is posted to main().
+ *
+ * Features:
+ * - One background-priority thread, so each listener sees its snapshots
+ *   in order and trackers need no extra locking between them
+ * - main() posts to the main looper; pair it with a ViewStatePublisher
+ *   to render only the newest state
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+public final class AppExecutors {
+
+    private static final Executor SNAPSHOTS = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            // Below the main and render threads, so big snapshots cannot steal frames
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    private static final Executor MAIN = MAIN_HANDLER::post;
+
+    private AppExecutors() {
+    }
+
+    /**
+     * Returns the executor Firestore listeners and callbacks run on.
+     */
+    public static Executor snapshots() {
+        return SNAPSHOTS;
+    }
+
+    /**
+     * Returns an executor that runs tasks on the main thread.
+     */
+    public static Executor main() {
+        return MAIN;
+    }
+}
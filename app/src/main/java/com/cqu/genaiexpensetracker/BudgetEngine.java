@@ -0,0 +1,239 @@
+/**
+ * BudgetEngine.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Live budget status for the signed-in user's current month. Listens to
+ * budget/{uid}_{yyyy-MM} and to that month's expense documents, and feeds
+ * only the DocumentChange deltas of each snapshot into a BudgetTracker.
+ * After the first snapshot, adding an expense costs one map update rather
+ * than a re-read of the month.
+ *
+ * Features:
+ * - Remaining amount, burn rate and safe daily spend after every change
+ * - Pending local writes are counted immediately (Firestore fires them
+ *   from the local cache before the server acknowledges)
+ * - Budget limit is passed on to the InsightsEngine for overrun insights
+ * - Restarts its listeners when the month rolls over
+ * - Starts from the sign-in prefetch when one is ready, so the first
+ *   status is available without waiting for a snapshot
+ * - Snapshots are processed on AppExecutors.snapshots(); only the finished
+ *   BudgetStatus is posted to the main thread, and only the newest one
+ *   is rendered when several arrive within a frame
+ * - Listeners are shared through the SnapshotHub, so a Dashboard that
+ *   comes back within the grace period is replayed the last snapshot
+ *   instead of opening new listeners
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.util.Log;
+
+import com.cqu.genaiexpensetracker.codec.CodecSupport;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+public class BudgetEngine {
+
+    private static final String TAG = "BudgetEngine";
+    static final String COLLECTION_BUDGET = "budget";
+
+    /**
+     * Receives the newest status after budget or expense changes, on the
+     * main thread.
+     */
+    public interface Listener {
+        void onBudgetChanged(BudgetStatus status);
+    }
+
+    private final FirebaseFirestore db;
+    private final String uid;
+    private final InsightsEngine insights;
+    private final TimeZone zone = TimeZone.getDefault();
+
+    // Replaced on the main thread; snapshot handlers use the one they were attached with
+    private volatile BudgetTracker tracker;
+    private ListenerHub.Subscription budgetSubscription;
+    private ListenerHub.Subscription expensesSubscription;
+    private Listener listener;
+    private ViewStatePublisher<BudgetStatus> publisher;
+
+    /**
+     * @param uid      Signed-in user
+     * @param insights Engine to pass the budget limit to, or null
+     */
+    public BudgetEngine(String uid, InsightsEngine insights) {
+        this.db = FirebaseFirestore.getInstance();
+        this.uid = uid;
+        this.insights = insights;
+    }
+
+    /**
+     * Starts listening to the current month. Call from the main thread.
+     */
+    public void start(Listener listener) {
+        this.listener = listener;
+        int month = LedgerMonth.of(System.currentTimeMillis(), zone);
+        BudgetTracker prefetched = SessionPrefetch.takeBudget(uid, month);
+        BudgetTracker current = prefetched != null ? prefetched : new BudgetTracker(month);
+        tracker = current;
+        ViewStatePublisher<BudgetStatus> statuses = new ViewStatePublisher<>(AppExecutors.main(), listener::onBudgetChanged);
+        publisher = statuses;
+
+        SnapshotHub hub = SnapshotHub.get();
+        budgetSubscription = hub.listen(db.collection(COLLECTION_BUDGET).document(Budget.documentId(uid, month)),
+                new ListenerHub.Observer<DocumentSnapshot>() {
+                    @Override
+                    public void onValue(DocumentSnapshot document) {
+                        onBudgetSnapshot(current, statuses, document);
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.w(TAG, "Budget listener failed", e);
+                    }
+                });
+
+        expensesSubscription = hub.listen(db.collection(LedgerStore.COLLECTION_EXPENSES)
+                        .whereEqualTo("uid", uid)
+                        .whereGreaterThanOrEqualTo("createdAt", LedgerMonth.startMillis(month, zone))
+                        .whereLessThan("createdAt", LedgerMonth.endMillis(month, zone)),
+                new ListenerHub.Observer<QuerySnapshot>() {
+                    // The first snapshot may be a replay: its changes are relative to another subscriber
+                    private boolean first = true;
+
+                    @Override
+                    public void onValue(QuerySnapshot snapshot) {
+                        onExpensesSnapshot(current, statuses, snapshot, first);
+                        first = false;
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.w(TAG, "Expense listener failed", e);
+                    }
+                });
+
+        // Sign-in already read this month: show it now, before the listeners report
+        if (prefetched != null) listener.onBudgetChanged(current.getStatus(System.currentTimeMillis(), zone));
+    }
+
+    /**
+     * Leaves both shared listeners (the hub detaches them after its grace
+     * period) and drops any status not yet delivered. Call from the main
+     * thread.
+     */
+    public void stop() {
+        if (budgetSubscription != null) budgetSubscription.unsubscribe();
+        if (expensesSubscription != null) expensesSubscription.unsubscribe();
+        if (publisher != null) publisher.close();
+        budgetSubscription = null;
+        expensesSubscription = null;
+        publisher = null;
+        listener = null;
+    }
+
+    /**
+     * Returns the latest status, or null before start().
+     */
+    public BudgetStatus getStatus() {
+        BudgetTracker current = tracker;
+        return current == null ? null : current.getStatus(System.currentTimeMillis(), zone);
+    }
+
+    // Runs on the snapshot executor
+    private void onBudgetSnapshot(BudgetTracker tracker, ViewStatePublisher<BudgetStatus> statuses,
+                                  DocumentSnapshot document) {
+        long cents = document.exists()
+                ? readBudgetCents(document.getData())
+                : BudgetStatus.NO_BUDGET;
+        tracker.setBudget(cents);
+        if (insights != null) insights.setBudget(uid, tracker.getMonth(), cents);
+        publish(tracker, statuses);
+    }
+
+    // Runs on the snapshot executor
+    private void onExpensesSnapshot(BudgetTracker tracker, ViewStatePublisher<BudgetStatus> statuses,
+                                    QuerySnapshot snapshot, boolean full) {
+        if (full) {
+            // Start from the snapshot's documents; this also drops prefetched ones since deleted
+            Map<String, Long> amounts = new HashMap<>(snapshot.size() * 2);
+            for (DocumentSnapshot document : snapshot.getDocuments()) {
+                if (DeltaSync.isTombstone(document)) continue;
+                amounts.put(document.getId(), readAmountCents(document));
+            }
+            tracker.replaceExpenses(amounts);
+            publish(tracker, statuses);
+            return;
+        }
+
+        // Only the documents that changed since the last snapshot
+        for (DocumentChange change : snapshot.getDocumentChanges()) {
+            String id = change.getDocument().getId();
+            if (DeltaSync.isTombstone(change.getDocument())) {
+                // Deleted on some device: the document stays, marked as a tombstone
+                tracker.onExpenseRemoved(id);
+                continue;
+            }
+            switch (change.getType()) {
+                case ADDED:
+                    tracker.onExpenseAdded(id, readAmountCents(change.getDocument()));
+                    break;
+                case MODIFIED:
+                    tracker.onExpenseModified(id, readAmountCents(change.getDocument()));
+                    break;
+                case REMOVED:
+                    tracker.onExpenseRemoved(id);
+                    break;
+            }
+        }
+        publish(tracker, statuses);
+    }
+
+    private void publish(BudgetTracker tracker, ViewStatePublisher<BudgetStatus> statuses) {
+        long now = System.currentTimeMillis();
+        if (LedgerMonth.of(now, zone) != tracker.getMonth()) {
+            // New month: re-attach to the new budget document and date range
+            AppExecutors.main().execute(() -> {
+                Listener current = listener;
+                if (current == null || this.tracker != tracker) return;
+                stop();
+                start(current);
+            });
+            return;
+        }
+        statuses.publish(tracker.getStatus(now, zone));
+    }
+
+    /**
+     * Reads an expense amount in cents. Expenses written before amountCents
+     * existed only have the decimal amount, which is converted once.
+     */
+    static long readAmountCents(DocumentSnapshot document) {
+        Object value = document.get("amountCents");
+        if (value != null) return CodecSupport.asLong(value);
+        long cents = FirestoreData.toCents(document.get("amount"));
+        return cents != FirestoreData.NO_AMOUNT ? cents : 0;
+    }
+
+    /**
+     * Reads the limit in cents. Budgets written before totalAmountCents
+     * existed only have the decimal totalAmount, which is converted once.
+     */
+    static long readBudgetCents(Map<String, Object> data) {
+        if (data == null) return BudgetStatus.NO_BUDGET;
+        Budget budget = BudgetCodec.INSTANCE.decode(data);
+        if (data.containsKey("totalAmountCents")) return budget.getTotalAmountCents();
+
+        long cents = FirestoreData.toCents(data.get("totalAmount"));
+        return cents != FirestoreData.NO_AMOUNT ? cents : BudgetStatus.NO_BUDGET;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * CircuitBreaker.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Stops calling a backend that keeps failing. After a run of consecutive
+ * transient failures the breaker opens and calls fail at once for a
+ * cool-down period; then a single trial call is let through, which closes
+ * the breaker on success or re-opens it on failure.
+ *
+ * Features:
+ * - CLOSED / OPEN / HALF_OPEN, with one trial call at a time when half-open
+ * - Only failures the caller reports count; user errors (wrong password,
+ *   bad code) should be reported as successes of the backend
+ * - Thread-safe; pure Java with an injectable clock
+ */
+
+package com.cqu.genaiexpensetracker;
+
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Thrown (as a Task failure) instead of calling an open backend.
+     */
+    public static final class OpenException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public OpenException(String name) {
+            super(name + " is unavailable; not retrying for now");
+        }
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final StartupTracer.Clock clock;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * @param name             Backend name, for errors and logs
+     * @param failureThreshold Consecutive failures that open the breaker
+     * @param openMillis       How long to fail fast before a trial call
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this(name, failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis, StartupTracer.Clock clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000;
+        this.clock = clock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Asks to make a call. Every true answer must be followed by
+     * onSuccess() or onFailure().
+     *
+     * @return false if the call should fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.nowNanos() - openedAt < openNanos) return false;
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                // Half-open: only the trial call goes through
+                if (trialInFlight) return false;
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Reports a call that reached the backend.
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Reports a transient failure (timeout, network, unavailable).
+     */
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.nowNanos();
+            failures = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
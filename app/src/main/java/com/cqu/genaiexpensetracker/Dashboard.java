@@ -7,58 +7,123 @@ import androidx.fragment.app.Fragment;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
 
 /**
- * A simple {@link Fragment} subclass.
- * Use the {@link Dashboard#newInstance} factory method to
- * create an instance of this fragment.
+ * Shows this month's income, expense and budget totals.
  */
 public class Dashboard extends Fragment {
 
-    // TODO: Rename parameter arguments, choose names that match
-    // the fragment initialization parameters, e.g. ARG_ITEM_NUMBER
-    private static final String ARG_PARAM1 = "param1";
-    private static final String ARG_PARAM2 = "param2";
+    // Monthly totals
+    private TextView incomeTotal, expenseTotal, balance, budgetRemaining, budgetDetail;
+    private LedgerAggregator aggregator;
+    private BudgetEngine budgetEngine;
+
+    // Reused for every render so redraws do not build new format strings
+    private final StringBuilder amountText = new StringBuilder(24);
 
-    // TODO: Rename and change types of parameters
-    private String mParam1;
-    private String mParam2;
+    // Totals change on the ledger executor; redraw on the main thread
+    private final LedgerAggregator.Listener totalsListener = (uid, month) -> {
+        View view = getView();
+        if (view != null) view.post(this::renderTotals);
+    };
 
     public Dashboard() {
         // Required empty public constructor
     }
 
-    /**
-     * Use this factory method to create a new instance of
-     * this fragment using the provided parameters.
-     *
-     * @param param1 Parameter 1.
-     * @param param2 Parameter 2.
-     * @return A new instance of fragment Dashboard.
-     */
-    // TODO: Rename and change types and number of parameters
-    public static Dashboard newInstance(String param1, String param2) {
-        Dashboard fragment = new Dashboard();
-        Bundle args = new Bundle();
-        args.putString(ARG_PARAM1, param1);
-        args.putString(ARG_PARAM2, param2);
-        fragment.setArguments(args);
-        return fragment;
+    @Override
+    public View onCreateView(LayoutInflater inflater, ViewGroup container,
+                             Bundle savedInstanceState) {
+        // Inflate the layout for this fragment
+        return inflater.inflate(R.layout.fragment_dashboard, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        incomeTotal = view.findViewById(R.id.dashboard_income_total);
+        expenseTotal = view.findViewById(R.id.dashboard_expense_total);
+        balance = view.findViewById(R.id.dashboard_balance);
+        budgetRemaining = view.findViewById(R.id.dashboard_budget_remaining);
+        budgetDetail = view.findViewById(R.id.dashboard_budget_detail);
+        aggregator = LedgerStore.getInstance(requireContext()).getAggregator();
     }
 
     @Override
-    public void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        if (getArguments() != null) {
-            mParam1 = getArguments().getString(ARG_PARAM1);
-            mParam2 = getArguments().getString(ARG_PARAM2);
+    public void onStart() {
+        super.onStart();
+        aggregator.addListener(totalsListener);
+        renderTotals();
+
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user != null) {
+            budgetEngine = new BudgetEngine(user.getUid(),
+                    LedgerStore.getInstance(requireContext()).getInsightsEngine());
+            budgetEngine.start(this::renderBudget);
         }
     }
 
     @Override
-    public View onCreateView(LayoutInflater inflater, ViewGroup container,
-                             Bundle savedInstanceState) {
-        // Inflate the layout for this fragment
-        return inflater.inflate(R.layout.fragment_dashboard, container, false);
+    public void onStop() {
+        aggregator.removeListener(totalsListener);
+        if (budgetEngine != null) {
+            budgetEngine.stop();
+            budgetEngine = null;
+        }
+        super.onStop();
+    }
+
+    /**
+     * Shows this month's totals. Each value is a constant-time lookup in the
+     * aggregator, so this is cheap no matter how long the history is.
+     */
+    private void renderTotals() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null || incomeTotal == null) return;
+
+        int month = LedgerMonth.of(System.currentTimeMillis());
+        long income = aggregator.getIncome(user.getUid(), month);
+        long expenses = aggregator.getExpenses(user.getUid(), month);
+
+        MoneyFormatter formatter = MoneyFormatter.getDefault();
+        showAmount(incomeTotal, formatter, income);
+        showAmount(expenseTotal, formatter, expenses);
+        showAmount(balance, formatter, income - expenses);
+    }
+
+    /**
+     * Shows what is left of this month's budget. Called by the BudgetEngine
+     * on the main thread after every budget or expense change.
+     */
+    private void renderBudget(BudgetStatus status) {
+        if (budgetRemaining == null) return;
+        if (!status.hasBudget()) {
+            budgetRemaining.setText(R.string.dashboard_budget_none);
+            budgetDetail.setVisibility(View.GONE);
+            return;
+        }
+
+        MoneyFormatter formatter = MoneyFormatter.getDefault();
+        showAmount(budgetRemaining, formatter, status.getRemainingCents());
+        budgetRemaining.setTextColor(ContextCompat.getColor(requireContext(),
+                status.isOverBudget() ? R.color.red : R.color.white));
+        budgetDetail.setVisibility(View.VISIBLE);
+        budgetDetail.setText(getString(R.string.dashboard_budget_detail,
+                formatter.formatCents(status.getBudgetCents()),
+                formatter.formatCents(status.getDailyBurnCents()),
+                formatter.formatCents(status.getSafeDailyCents())));
+    }
+
+    private void showAmount(TextView view, MoneyFormatter formatter, long cents) {
+        amountText.setLength(0);
+        view.setText(formatter.appendCents(amountText, cents));
     }
 }
\ No newline at end of file
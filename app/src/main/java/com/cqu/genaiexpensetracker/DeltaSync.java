@@ -0,0 +1,169 @@
+/**
+ * DeltaSync.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Brings the local ledger up to date with Firestore by pulling only the
+ * income and expense documents that changed since the last pull. Each
+ * collection keeps a per-user (updatedAt, document ID) high-water mark in
+ * ledger.db, so a refresh costs one small query per collection plus one
+ * read per changed document, however long the history is.
+ *
+ * Features:
+ * - Pages ordered by updatedAt, then document ID, so ties never skip a document
+ * - Tombstones (deleted = true) remove the local row
+ * - Each page and its checkpoint commit in one SQLite transaction; an
+ *   interrupted pull resumes from the last committed page
+ * - Re-reads a short window before the mark to catch writes from devices
+ *   with a slow clock (updatedAt is stamped on the client), and never
+ *   stores a mark later than this device's clock, so a document from a
+ *   device with a fast clock cannot hide later writes
+ * - Page reads run under GuardedCall.FIRESTORE_BULK_READ with a backstop
+ *   deadline; a stalled read ends the pull and the next request resumes
+ *   from the stored mark
+ * - Reads from the server only, so a cached result never advances the mark
+ * - One pull per user at a time, on a background thread
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public final class DeltaSync {
+
+    private static final String TAG = "DeltaSync";
+
+    static final int PAGE_SIZE = 300;
+
+    // How far before the mark each pull starts again
+    static final long CLOCK_SKEW_MS = 10 * 60_000;
+
+    // Backstop for one page read, beyond the guard's own deadlines and retry
+    static final long PAGE_TIMEOUT_SECONDS = 60;
+
+    private static DeltaSync instance;
+
+    private final LedgerStore store;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    // Users with a pull waiting to start (guarded by itself)
+    private final Set<String> queued = new HashSet<>();
+
+    private DeltaSync(LedgerStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the process-wide delta sync.
+     *
+     * @param context Any context
+     */
+    public static synchronized DeltaSync getInstance(Context context) {
+        if (instance == null) {
+            instance = new DeltaSync(LedgerStore.getInstance(context));
+        }
+        return instance;
+    }
+
+    /**
+     * Returns true if a Firestore document is a tombstone for a deleted entry.
+     */
+    static boolean isTombstone(DocumentSnapshot document) {
+        return Boolean.TRUE.equals(document.getBoolean(LedgerStore.FIELD_DELETED));
+    }
+
+    /**
+     * Pulls the user's income and expense changes in the background.
+     * Requests made while a pull for the same user is waiting are dropped.
+     *
+     * @param uid Signed-in user
+     */
+    public void requestSync(String uid) {
+        synchronized (queued) {
+            if (!queued.add(uid)) return;
+        }
+        worker.execute(() -> {
+            synchronized (queued) {
+                queued.remove(uid);
+            }
+            try {
+                pull(uid, LedgerStore.COLLECTION_INCOME);
+                pull(uid, LedgerStore.COLLECTION_EXPENSES);
+            } catch (ExecutionException e) {
+                // Offline or rejected; the marks still point at the last stored page
+                Log.w(TAG, "Delta sync stopped", e.getCause());
+            } catch (TimeoutException e) {
+                Log.w(TAG, "Delta sync stopped", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Pulls one collection page by page until a short page. Runs on the
+     * worker thread and blocks on each read and each ledger commit.
+     */
+    private void pull(String uid, String collection)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        Query changes = db.collection(collection)
+                .whereEqualTo("uid", uid)
+                .orderBy("updatedAt")
+                .orderBy(FieldPath.documentId())
+                .limit(PAGE_SIZE);
+
+        SyncCheckpoint mark = store.loadCheckpoint(uid, collection).get();
+        SyncCheckpoint cursor = mark.rewind(CLOCK_SKEW_MS);
+        int pulled = 0;
+
+        while (true) {
+            Query page = cursor.docId.isEmpty()
+                    ? changes.startAt(cursor.updatedAt)
+                    : changes.startAfter(cursor.updatedAt, cursor.docId);
+            QuerySnapshot snapshot = Tasks.await(
+                    GuardedCall.run(GuardedCall.FIRESTORE_BULK_READ, () -> page.get(Source.SERVER)),
+                    PAGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (snapshot.isEmpty()) break;
+
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+            DocumentSnapshot last = documents.get(documents.size() - 1);
+            Long lastUpdatedAt = last.getLong("updatedAt");
+            cursor = new SyncCheckpoint(lastUpdatedAt != null ? lastUpdatedAt : cursor.updatedAt, last.getId());
+            mark = SyncCheckpoint.later(mark, cursor).clampTo(System.currentTimeMillis());
+
+            if (LedgerStore.COLLECTION_INCOME.equals(collection)) {
+                store.importDelta(uid, collection, SessionPrefetch.decodeIncome(snapshot),
+                        Collections.emptyList(), mark).get();
+            } else {
+                store.importDelta(uid, collection, Collections.emptyList(),
+                        SessionPrefetch.decodeExpenses(snapshot), mark).get();
+            }
+            pulled += documents.size();
+
+            if (documents.size() < PAGE_SIZE) break;
+        }
+        Log.i(TAG, collection + ": " + pulled + " documents read, now at " + mark);
+    }
+}
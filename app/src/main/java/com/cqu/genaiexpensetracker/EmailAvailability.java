@@ -0,0 +1,223 @@
+/**
+ * EmailAvailability.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Live "is this email registered?" answers for the sign-up and password
+ * reset forms. Keystrokes are debounced, identical lookups share one
+ * request, and answers are cached for a while, so typing costs at most
+ * one index read per distinct address.
+ *
+ * Features:
+ * - Debounce per field: only the last address typed is looked up
+ * - Concurrent lookups of the same address are coalesced
+ * - Registered and available answers are cached with separate TTLs
+ * - Failed lookups report UNKNOWN and are not cached
+ * - Pure Java: lookup, scheduler and clock are injected (ExpenseTrackerApp
+ *   wires in EmailIndex and the main-thread Handler)
+ *
+ * Not thread-safe: call it, and deliver lookups and scheduled tasks, on
+ * one thread (the main thread in the app).
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class EmailAvailability {
+
+    public static final long DEFAULT_DEBOUNCE_MS = 300;
+    // Someone else may register an available address, so that answer expires sooner
+    public static final long DEFAULT_REGISTERED_TTL_MS = 10 * 60_000;
+    public static final long DEFAULT_AVAILABLE_TTL_MS = 30_000;
+
+    private static final int MAX_CACHED = 64;
+
+    public enum Result { REGISTERED, AVAILABLE, UNKNOWN }
+
+    /**
+     * Receives the answer for an address.
+     */
+    public interface Callback {
+        void onResult(String email, Result result);
+    }
+
+    /**
+     * Asks the backend; must call back exactly once. Gets the address
+     * trimmed but as typed, since accounts from before normalization
+     * stored it that way.
+     */
+    public interface Lookup {
+        void lookup(String email, Callback callback);
+    }
+
+    /**
+     * Runs a task after a delay on the service's thread.
+     */
+    public interface Scheduler {
+        /**
+         * @return Cancels the task if it has not run yet
+         */
+        Runnable schedule(Runnable task, long delayMillis);
+    }
+
+    /**
+     * A cached answer and when it stops being trusted.
+     */
+    private static final class Cached {
+        final Result result;
+        final long expiresAtNanos;
+
+        Cached(Result result, long expiresAtNanos) {
+            this.result = result;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final Lookup backend;
+    private final Scheduler scheduler;
+    private final StartupTracer.Clock clock;
+    private final long debounceMillis;
+    private final long registeredTtlNanos;
+    private final long availableTtlNanos;
+
+    private final Map<String, Cached> cache = new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+    private final Map<String, List<Callback>> inFlight = new HashMap<>();
+    private final Map<Object, Runnable> pending = new HashMap<>();
+    private final Map<Object, Object> latest = new HashMap<>();
+
+    private int backendCalls;
+
+    /**
+     * Uses the default debounce and TTLs.
+     */
+    public EmailAvailability(Lookup backend, Scheduler scheduler) {
+        this(backend, scheduler, System::nanoTime, DEFAULT_DEBOUNCE_MS,
+                DEFAULT_REGISTERED_TTL_MS, DEFAULT_AVAILABLE_TTL_MS);
+    }
+
+    EmailAvailability(Lookup backend, Scheduler scheduler, StartupTracer.Clock clock,
+                      long debounceMillis, long registeredTtlMillis, long availableTtlMillis) {
+        this.backend = backend;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.debounceMillis = debounceMillis;
+        this.registeredTtlNanos = registeredTtlMillis * 1_000_000;
+        this.availableTtlNanos = availableTtlMillis * 1_000_000;
+    }
+
+    /**
+     * Checks an address typed into a field. A cached answer is delivered at
+     * once; otherwise the lookup waits for the debounce, and a newer call
+     * for the same field replaces it.
+     *
+     * @param field    Identifies the input (e.g. the EditText)
+     * @param email    Address with a valid format
+     * @param callback Receives the answer unless superseded or cancelled
+     */
+    public void check(Object field, String email, Callback callback) {
+        cancel(field);
+        Object token = new Object();
+        latest.put(field, token);
+
+        String key = EmailKey.normalize(email);
+        Result cached = getCached(key);
+        if (cached != null) {
+            callback.onResult(key, cached);
+            return;
+        }
+
+        pending.put(field, scheduler.schedule(() -> {
+            pending.remove(field);
+            lookup(email, (address, result) -> {
+                // Drop answers for text the user has since changed
+                if (latest.get(field) == token) callback.onResult(address, result);
+            });
+        }, debounceMillis));
+    }
+
+    /**
+     * Drops a field's pending check and any answer still to come for it.
+     * Call when its text stops being a valid address and in onDestroy(),
+     * since the service outlives the screen.
+     */
+    public void cancel(Object field) {
+        latest.remove(field);
+        Runnable cancel = pending.remove(field);
+        if (cancel != null) cancel.run();
+    }
+
+    /**
+     * Looks an address up now, from cache or by joining or starting a
+     * backend request. Use on submit.
+     */
+    public void lookup(String email, Callback callback) {
+        String key = EmailKey.normalize(email);
+        Result cached = getCached(key);
+        if (cached != null) {
+            callback.onResult(key, cached);
+            return;
+        }
+
+        List<Callback> waiting = inFlight.get(key);
+        if (waiting != null) {
+            waiting.add(callback);
+            return;
+        }
+        waiting = new ArrayList<>(2);
+        waiting.add(callback);
+        inFlight.put(key, waiting);
+
+        backendCalls++;
+        backend.lookup(email.trim(), (address, result) -> {
+            List<Callback> callbacks = inFlight.remove(key);
+            if (result != Result.UNKNOWN) remember(key, result);
+            if (callbacks != null) {
+                for (Callback waiter : callbacks) waiter.onResult(key, result);
+            }
+        });
+    }
+
+    /**
+     * Records an answer learned elsewhere, e.g. REGISTERED right after
+     * sign-up created the account.
+     */
+    public void remember(String email, Result result) {
+        long ttl = result == Result.REGISTERED ? registeredTtlNanos : availableTtlNanos;
+        cache.put(EmailKey.normalize(email), new Cached(result, clock.nowNanos() + ttl));
+    }
+
+    /**
+     * Returns a cached answer that has not expired, or null.
+     */
+    public Result getCached(String email) {
+        String key = EmailKey.normalize(email);
+        Cached cached = cache.get(key);
+        if (cached == null) return null;
+        if (clock.nowNanos() - cached.expiresAtNanos >= 0) {
+            cache.remove(key);
+            return null;
+        }
+        return cached.result;
+    }
+
+    /**
+     * Returns how many requests reached the backend (for tests and logs).
+     */
+    int getBackendCalls() {
+        return backendCalls;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * EmailIndex.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Firestore index from normalized email to UID, stored as
+ * emails/{EmailKey} = { uid, email }. Every code path that writes
+ * users/{uid} keeps it in step, in the same batch where it can.
+ *
+ * Features:
+ * - Registration checks are one document get instead of a users query
+ * - Index writes can join a caller's WriteBatch
+ * - Accounts created before the index are found through the old users
+ *   query, matching the address as typed as well as normalized
+ * - A signed-in user found that way queues their own index entry on the
+ *   SyncQueue; everyone else is indexed by sign-in (ProfileSync) or the
+ *   auth-api migrate-emails script, since rules only let a user write
+ *   their own entry
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class EmailIndex {
+
+    static final String COLLECTION_EMAILS = "emails";
+
+    private EmailIndex() {}
+
+    /**
+     * Returns the index document for an email.
+     */
+    static DocumentReference document(FirebaseFirestore db, String email) {
+        return db.collection(COLLECTION_EMAILS).document(EmailKey.of(email));
+    }
+
+    /**
+     * Returns the fields of a user's index entry.
+     */
+    static Map<String, Object> entry(String uid, String email) {
+        Map<String, Object> entry = new HashMap<>(4);
+        entry.put("uid", uid);
+        entry.put("email", EmailKey.normalize(email));
+        return entry;
+    }
+
+    /**
+     * Adds the index entry for a user to a batch.
+     */
+    static void put(WriteBatch batch, FirebaseFirestore db, String uid, String email) {
+        batch.set(document(db, email), entry(uid, email));
+    }
+
+    /**
+     * Checks whether an email belongs to a registered user with one
+     * document read.
+     *
+     * @return Task resolving to true if the index has the email
+     */
+    public static Task<Boolean> isIndexed(String email) {
+        return document(FirebaseFirestore.getInstance(), email).get()
+                .continueWith(task -> task.getResult().exists());
+    }
+
+    /**
+     * Like isIndexed(), but on a miss falls back to the users query for
+     * accounts registered before the index existed. Those stored the
+     * address as typed, so both that and the normalized form are matched.
+     * If the account found is the signed-in user's, their entry is
+     * backfilled through the SyncQueue.
+     *
+     * @param context Any context, for the SyncQueue
+     * @param email   Address as typed; surrounding whitespace is ignored
+     * @return Task resolving to true if the email is registered
+     */
+    public static Task<Boolean> isRegistered(Context context, String email) {
+        Context app = context.getApplicationContext();
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        String typed = email.trim();
+        String normalized = EmailKey.normalize(email);
+        return isIndexed(normalized).continueWithTask(indexed -> {
+            if (indexed.getResult()) return indexed;
+            Query users = db.collection(ProfileSync.COLLECTION_USERS);
+            users = typed.equals(normalized)
+                    ? users.whereEqualTo("email", normalized)
+                    : users.whereIn("email", Arrays.asList(normalized, typed));
+            return users.limit(1)
+                    .get()
+                    .continueWith(query -> {
+                        for (QueryDocumentSnapshot user : query.getResult()) {
+                            // Signed-out screens (SignUp, ForgotPassword) may not write another user's entry
+                            FirebaseUser current = FirebaseAuth.getInstance().getCurrentUser();
+                            if (current != null && current.getUid().equals(user.getId())) {
+                                LedgerStore.getInstance(app).getSyncQueue().submit(QueuedWrite.set(
+                                        COLLECTION_EMAILS, EmailKey.of(normalized), entry(user.getId(), normalized)));
+                            }
+                            return true;
+                        }
+                        return false;
+                    });
+        });
+    }
+}
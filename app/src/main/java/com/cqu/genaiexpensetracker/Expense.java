@@ -7,51 +7,60 @@ import androidx.fragment.app.Fragment;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * A simple {@link Fragment} subclass.
- * Use the {@link Expense#newInstance} factory method to
- * create an instance of this fragment.
+ * Lists the user's expenses, newest first, a page at a time.
  */
 public class Expense extends Fragment {
 
-    // TODO: Rename parameter arguments, choose names that match
-    // the fragment initialization parameters, e.g. ARG_ITEM_NUMBER
-    private static final String ARG_PARAM1 = "param1";
-    private static final String ARG_PARAM2 = "param2";
+    // Paging: the pager outlives the view so loaded rows survive tab switches
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 20;
+    private TransactionPager pager;
+    private TransactionAdapter adapter;
+    private TextView emptyView;
+    private LedgerAggregator aggregator;
 
-    // TODO: Rename and change types of parameters
-    private String mParam1;
-    private String mParam2;
+    // Set when the ledger changes; the list reloads the next time it is on screen
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+    private final LedgerAggregator.Listener ledgerListener = (uid, month) -> {
+        if (stale.compareAndSet(false, true)) AppExecutors.main().execute(this::refreshIfVisible);
+    };
 
     public Expense() {
         // Required empty public constructor
     }
 
-    /**
-     * Use this factory method to create a new instance of
-     * this fragment using the provided parameters.
-     *
-     * @param param1 Parameter 1.
-     * @param param2 Parameter 2.
-     * @return A new instance of fragment Expense.
-     */
-    // TODO: Rename and change types and number of parameters
-    public static Expense newInstance(String param1, String param2) {
-        Expense fragment = new Expense();
-        Bundle args = new Bundle();
-        args.putString(ARG_PARAM1, param1);
-        args.putString(ARG_PARAM2, param2);
-        fragment.setArguments(args);
-        return fragment;
-    }
-
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        if (getArguments() != null) {
-            mParam1 = getArguments().getString(ARG_PARAM1);
-            mParam2 = getArguments().getString(ARG_PARAM2);
+
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user != null) {
+            LedgerStore ledger = LedgerStore.getInstance(requireContext());
+            pager = new TransactionPager(ledger, LedgerStore.COLLECTION_EXPENSES, user.getUid(), document -> {
+                ExpenseEntry entry = ExpenseEntryCodec.INSTANCE.decode(FirestoreData.of(document));
+                if (entry == null) return null;
+                entry.setId(document.getId());
+                return TransactionRow.of(entry);
+            }, PAGE_SIZE, PREFETCH_DISTANCE);
+
+            // Local adds and synced changes from other devices both pass through the aggregator
+            aggregator = ledger.getAggregator();
+            aggregator.addListener(ledgerListener);
         }
     }
 
@@ -61,4 +70,75 @@ public class Expense extends Fragment {
         // Inflate the layout for this fragment
         return inflater.inflate(R.layout.fragment_expense, container, false);
     }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        RecyclerView list = view.findViewById(R.id.expense_list);
+        emptyView = view.findViewById(R.id.expense_empty);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        adapter = new TransactionAdapter();
+        list.setLayoutManager(layoutManager);
+        list.setAdapter(adapter);
+        list.setHasFixedSize(true);
+
+        if (pager == null) return;
+
+        // Ask for the next page well before the last loaded row scrolls into view
+        list.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0) pager.onItemVisible(layoutManager.findLastVisibleItemPosition());
+            }
+        });
+
+        pager.setListener(new TransactionPager.Listener() {
+            @Override
+            public void onRowsLoaded(List<TransactionRow> rows, boolean endReached) {
+                if (adapter == null) return;
+                adapter.submitList(rows);
+                emptyView.setVisibility(rows.isEmpty() && endReached ? View.VISIBLE : View.GONE);
+            }
+
+            @Override
+            public void onLoadFailed(Exception e) {
+                if (getContext() != null) {
+                    Toast.makeText(getContext(), R.string.error_list_load, Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+        pager.start();
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        // NavigationHost resumes the fragment each time its tab is shown again
+        refreshIfVisible();
+    }
+
+    /**
+     * Reloads the list from the first page if the ledger changed since it
+     * was loaded and the list is on screen. A hidden list waits for onResume().
+     */
+    private void refreshIfVisible() {
+        if (pager != null && adapter != null && isResumed() && !isHidden() && stale.getAndSet(false)) {
+            pager.refresh();
+        }
+    }
+
+    @Override
+    public void onDestroyView() {
+        if (pager != null) pager.setListener(null);
+        adapter = null;
+        emptyView = null;
+        super.onDestroyView();
+    }
+
+    @Override
+    public void onDestroy() {
+        if (aggregator != null) aggregator.removeListener(ledgerListener);
+        super.onDestroy();
+    }
 }
\ No newline at end of file
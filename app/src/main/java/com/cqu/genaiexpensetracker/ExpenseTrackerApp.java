@@ -0,0 +1,179 @@
+/**
+ * ExpenseTrackerApp.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Application class. Owns SDK start-up so that only what the first screen
+ * needs runs on the main thread before it draws.
+ *
+ * Features:
+ * - FirebaseAuth starts eagerly; the router reads the session from it
+ * - Firestore and the local ledger are warmed up on a background thread
+ * - Facebook Login and Google Sign-In are created on first use only
+ * - Each SDK's init cost is logged under the "Startup" tag
+ * - Hosts the shared EmailAvailability service used by the auth forms
+ * - Debuggable builds record metrics and export them to files/metrics.txt
+ *   whenever the app goes to the background
+ * - FrameMonitor records per-screen jank from the first activity on, and
+ *   exports it to files/jank.txt at the same moment
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.facebook.FacebookSdk;
+import com.facebook.login.LoginManager;
+import com.google.android.gms.auth.api.signin.GoogleSignIn;
+import com.google.android.gms.auth.api.signin.GoogleSignInClient;
+import com.google.android.gms.auth.api.signin.GoogleSignInOptions;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Source;
+
+public class ExpenseTrackerApp extends Application {
+
+    private static final String TAG = "Startup";
+
+    private SdkInitializer sdks;
+    private SdkInitializer.Lazy<LoginManager> facebookLogin;
+    private SdkInitializer.Lazy<GoogleSignInClient> googleSignIn;
+    private EmailAvailability emailAvailability;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        StartupTracer.get().mark(StartupTracer.APP_CREATE);
+        boolean debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        MetricsRegistry.get().setEnabled(debuggable);
+        FrameMonitor.install(this, debuggable);
+
+        sdks = new SdkInitializer((sdk, stage, thread, micros, error) -> {
+            if (error == null) {
+                Log.i(TAG, "init " + sdk + " (" + stage + ", " + thread + ") " + micros + "us");
+            } else {
+                Log.w(TAG, "init " + sdk + " (" + stage + ") failed after " + micros + "us", error);
+            }
+        });
+
+        // Critical: the router decides between Welcome and navbar from the session
+        sdks.eager("firebase_auth", FirebaseAuth::getInstance);
+
+        // Warm-up: component setup and the first cache open happen off the main thread
+        sdks.background("firestore", this::warmUpFirestore);
+        sdks.background("ledger_store", () -> {
+            LedgerStore store = LedgerStore.getInstance(this);
+            // Anything left queued by an earlier process gets a sync job
+            store.getSyncQueue().requestFlush();
+            return store;
+        });
+
+        // Social login: most launches never touch these
+        facebookLogin = sdks.onDemand("facebook", () -> {
+            // Auto-init is disabled in the manifest: FacebookInitProvider only did the
+            // basic setup, and app events and settings start here
+            FacebookSdk.fullyInitialize();
+            return LoginManager.getInstance();
+        });
+        googleSignIn = sdks.onDemand("google_sign_in", () -> {
+            GoogleSignInOptions options = new GoogleSignInOptions.Builder(GoogleSignInOptions.DEFAULT_SIGN_IN)
+                    .requestIdToken(getString(R.string.default_web_client_id))
+                    .requestEmail()
+                    .build();
+            return GoogleSignIn.getClient(this, options);
+        });
+
+        StartupTracer.get().mark(StartupTracer.APP_READY);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // UI hidden: a good moment to persist what this session measured
+        if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            FrameMonitor monitor = FrameMonitor.get();
+            new Thread(() -> {
+                TaskMetrics.export(this);
+                if (monitor != null) monitor.export(this);
+            }, "metrics-export").start();
+        }
+    }
+
+    /**
+     * Returns the application instance behind any context.
+     */
+    public static ExpenseTrackerApp from(Context context) {
+        return (ExpenseTrackerApp) context.getApplicationContext();
+    }
+
+    /**
+     * Returns the Facebook LoginManager, starting the Facebook SDK on the
+     * first call. Call from the main thread when the user picks Facebook.
+     *
+     * @throws SdkInitializer.InitException if the SDK could not start
+     */
+    public LoginManager getFacebookLogin() {
+        return facebookLogin.get();
+    }
+
+    /**
+     * Returns the Google Sign-In client, building it on the first call.
+     *
+     * @throws SdkInitializer.InitException if the client could not be built
+     */
+    public GoogleSignInClient getGoogleSignIn() {
+        return googleSignIn.get();
+    }
+
+    /**
+     * Returns the email availability service, backed by the emails/{key}
+     * index. Lookups have a deadline and one retry, so an unreachable
+     * Firestore answers UNKNOWN instead of never. Main thread only.
+     */
+    public EmailAvailability getEmailAvailability() {
+        if (emailAvailability == null) {
+            Handler main = new Handler(Looper.getMainLooper());
+            emailAvailability = new EmailAvailability(
+                    (email, callback) -> GuardedCall.run(GuardedCall.FIRESTORE_READ, () -> EmailIndex.isRegistered(this, email))
+                            .addOnCompleteListener(task ->
+                                    callback.onResult(email, !task.isSuccessful() ? EmailAvailability.Result.UNKNOWN
+                                            : Boolean.TRUE.equals(task.getResult()) ? EmailAvailability.Result.REGISTERED
+                                            : EmailAvailability.Result.AVAILABLE)),
+                    (task, delayMillis) -> {
+                        main.postDelayed(task, delayMillis);
+                        return () -> main.removeCallbacks(task);
+                    });
+        }
+        return emailAvailability;
+    }
+
+    /**
+     * Returns per-SDK init timings recorded so far.
+     */
+    public String dumpSdkTimings() {
+        return sdks.dump();
+    }
+
+    /**
+     * Creates the Firestore instance and, for a signed-in user, reads their
+     * profile from the local cache so the persistence layer is open before
+     * the first screen queries it.
+     */
+    private FirebaseFirestore warmUpFirestore() {
+        FirebaseFirestore firestore = FirebaseFirestore.getInstance();
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user != null) {
+            firestore.collection("users").document(user.getUid()).get(Source.CACHE);
+        }
+        return firestore;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * FirestoreData.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Reads a document's fields in the shape the generated codecs expect.
+ * Time fields are stored as epoch millis, but documents written before
+ * that change hold a Firestore Timestamp in createdAt; those are
+ * converted to millis here so decoding never fails on them (the
+ * auth-api migrate-timestamps script rewrites them on the server).
+ * Likewise, entries written before amountCents existed only hold the
+ * decimal amount, which is converted to cents here.
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Date;
+import java.util.Map;
+
+final class FirestoreData {
+
+    // Returned by toCents() for a missing or unreadable amount
+    static final long NO_AMOUNT = Long.MIN_VALUE;
+
+    private FirestoreData() {}
+
+    /**
+     * Returns the document's fields with Timestamp and Date values as
+     * epoch millis, and amountCents filled in from a legacy decimal
+     * amount, or null if the document does not exist.
+     */
+    static Map<String, Object> of(DocumentSnapshot document) {
+        Map<String, Object> data = document.getData();
+        if (data == null) return null;
+        for (Map.Entry<String, Object> field : data.entrySet()) {
+            Object value = field.getValue();
+            if (value instanceof Timestamp) {
+                field.setValue(((Timestamp) value).toDate().getTime());
+            } else if (value instanceof Date) {
+                field.setValue(((Date) value).getTime());
+            }
+        }
+        if (!data.containsKey("amountCents")) {
+            long cents = toCents(data.get("amount"));
+            if (cents != NO_AMOUNT) data.put("amountCents", cents);
+        }
+        return data;
+    }
+
+    /**
+     * Converts a legacy decimal amount, stored as a number or a string,
+     * to cents.
+     *
+     * @return Cents, or {@link #NO_AMOUNT} if the value is missing or unreadable
+     */
+    static long toCents(Object amount) {
+        if (amount instanceof Number) {
+            return new BigDecimal(amount.toString()).movePointRight(2)
+                    .setScale(0, RoundingMode.HALF_UP).longValue();
+        }
+        if (amount instanceof String) {
+            long cents = MoneyParser.parseCents((String) amount);
+            if (cents != MoneyParser.INVALID) return cents;
+        }
+        return NO_AMOUNT;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * FirstFrame.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Marks a StartupTracer phase when an activity's window is about to draw
+ * its first frame, then logs the startup timeline.
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.app.Activity;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+final class FirstFrame {
+
+    private static final String TAG = "Startup";
+
+    private FirstFrame() {}
+
+    /**
+     * Records phase just before the activity's first draw. Call from onCreate().
+     *
+     * @param activity Activity whose first frame is measured
+     * @param phase    StartupTracer phase to record
+     */
+    static void mark(Activity activity, String phase) {
+        StartupTracer tracer = StartupTracer.get();
+        if (tracer.has(phase)) return;
+
+        View decor = activity.getWindow().getDecorView();
+        decor.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                decor.getViewTreeObserver().removeOnPreDrawListener(this);
+                if (tracer.mark(phase)) Log.i(TAG, tracer.dump());
+                return true;
+            }
+        });
+    }
+}
@@ -7,13 +7,16 @@
  * Description:
  * This activity allows users to reset their password by:
  * - Validating email format
- * - Checking user existence in Firestore
+ * - Checking user existence with one read of the emails/{key} index
  * - Sending Firebase reset email if valid
  *
  * Features:
  * - Live email validation with green check indicator
+ * - Live "not registered" feedback from the shared, debounced EmailAvailability
  * - Custom progress dialog for feedback
  * - Integration with Firebase Authentication and Firestore
+ * - Lookups and the reset email run under GuardedCall deadlines, so the
+ *   progress dialog always closes
  */
 
 package com.cqu.genaiexpensetracker;
@@ -32,10 +35,10 @@ import android.widget.*;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
+import com.cqu.genaiexpensetracker.validation.FormValidator;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.Objects;
 
@@ -51,6 +54,7 @@ public class ForgotPassword extends AppCompatActivity {
 
     // Firebase
     private FirebaseAuth mAuth;
+    private EmailAvailability emailAvailability;
 
     /**
      * Initializes the activity and binds views.
@@ -61,6 +65,7 @@ public class ForgotPassword extends AppCompatActivity {
         setContentView(R.layout.activity_forgot_password);
 
         mAuth = FirebaseAuth.getInstance();
+        emailAvailability = ExpenseTrackerApp.from(this).getEmailAvailability();
         initViews();
         setupListeners();
     }
@@ -106,11 +111,13 @@ public class ForgotPassword extends AppCompatActivity {
                 String email = s.toString().trim();
 
                 if (TextUtils.isEmpty(email)) {
+                    emailAvailability.cancel(emailInput);
                     removeGreenTick();
                     emailLayout.setBoxStrokeColor(ContextCompat.getColor(ForgotPassword.this, R.color.red));
                     emailError.setText("Email is required.");
                     emailError.setVisibility(View.VISIBLE);
-                } else if (!android.util.Patterns.EMAIL_ADDRESS.matcher(email).matches()) {
+                } else if (!FormValidator.isEmail(email)) {
+                    emailAvailability.cancel(emailInput);
                     removeGreenTick();
                     emailLayout.setBoxStrokeColor(ContextCompat.getColor(ForgotPassword.this, R.color.red));
                     emailError.setText("Enter a valid email address.");
@@ -118,17 +125,23 @@ public class ForgotPassword extends AppCompatActivity {
                 } else {
                     showGreenTick();
                     clearError();
+                    emailAvailability.check(emailInput, email, (address, result) -> {
+                        if (result == EmailAvailability.Result.AVAILABLE) {
+                            showError("This email is not registered.");
+                            removeGreenTick();
+                        }
+                    });
                 }
             }
         });
     }
 
     /**
-     * Validates input and checks Firestore for existing account.
+     * Validates input and checks the email index for an existing account.
      */
     private void validateAndCheckEmail() {
         String rawEmail = Objects.requireNonNull(emailInput.getText()).toString();
-        String email = rawEmail.trim().toLowerCase();
+        String email = EmailKey.normalize(rawEmail);
 
         if (TextUtils.isEmpty(email)) {
             showError("Email is required.");
@@ -136,34 +149,30 @@ public class ForgotPassword extends AppCompatActivity {
             return;
         }
 
-        if (!android.util.Patterns.EMAIL_ADDRESS.matcher(email).matches()) {
+        if (!FormValidator.isEmail(email)) {
             showError("Enter a valid email address.");
             removeGreenTick();
             return;
         }
 
-        progressDialog.setMessage("Checking email...");
-        progressDialog.show();
-
-        FirebaseFirestore.getInstance()
-                .collection("users")
-                .whereEqualTo("email", email)
-                .get()
-                .addOnCompleteListener(task -> {
-                    progressDialog.dismiss();
-                    if (task.isSuccessful()) {
-                        if (!task.getResult().isEmpty()) {
-                            clearError();
-                            sendResetEmail(email);
-                        } else {
-                            showError("This email is not registered.");
-                            removeGreenTick();
-                        }
-                    } else {
-                        showError("Failed to check registration. Try again.");
-                        removeGreenTick();
-                    }
-                });
+        // Usually answered from the live check's cache; otherwise one read of emails/{key}
+        if (emailAvailability.getCached(email) == null) {
+            progressDialog.setMessage("Checking email...");
+            progressDialog.show();
+        }
+        emailAvailability.lookup(email, (address, result) -> {
+            if (progressDialog.isShowing()) progressDialog.dismiss();
+            if (result == EmailAvailability.Result.REGISTERED) {
+                clearError();
+                sendResetEmail(email);
+            } else if (result == EmailAvailability.Result.AVAILABLE) {
+                showError("This email is not registered.");
+                removeGreenTick();
+            } else {
+                showError("Failed to check registration. Try again.");
+                removeGreenTick();
+            }
+        });
     }
 
     /**
@@ -173,13 +182,18 @@ public class ForgotPassword extends AppCompatActivity {
      */
     private void sendResetEmail(String email) {
         progressDialog.show();
-        mAuth.sendPasswordResetEmail(email)
+        // Not retried: a repeat after a slow success would send a second email
+        GuardedCall.run(GuardedCall.AUTH_ONCE, () ->
+                        TaskMetrics.time(TaskMetrics.AUTH_SEND_RESET_EMAIL, mAuth.sendPasswordResetEmail(email)))
                 .addOnCompleteListener(task -> {
                     progressDialog.dismiss();
                     if (task.isSuccessful()) {
                         Toast.makeText(this, "Password reset email sent!", Toast.LENGTH_LONG).show();
                         startActivity(new Intent(ForgotPassword.this, SignIn.class));
                         finish();
+                    } else if (GuardedCall.isUnavailable(task.getException())) {
+                        showError("The server is not responding. Try again shortly.");
+                        removeGreenTick();
                     } else {
                         showError("Failed to send reset email. Try again.");
                         removeGreenTick();
@@ -239,6 +253,12 @@ public class ForgotPassword extends AppCompatActivity {
         return super.dispatchTouchEvent(ev);
     }
 
+    @Override
+    protected void onDestroy() {
+        emailAvailability.cancel(emailInput);
+        super.onDestroy();
+    }
+
     /**
      * Hides the on-screen keyboard.
      */
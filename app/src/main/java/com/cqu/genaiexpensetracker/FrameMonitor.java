@@ -0,0 +1,261 @@
+/**
+ * FrameMonitor.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Watches the main thread while any screen is in the foreground and
+ * records what it sees in a JankLog against the activity, or the
+ * navbar/drawer fragment, that was showing at the time.
+ *
+ * Features:
+ * - Frame durations come from FrameMetrics (API 24+) for the resumed
+ *   activity's window, so only frames that were actually drawn count and
+ *   an idle screen costs nothing; older devices record no frames
+ * - Each frame is judged against its own deadline (API 31+) or the
+ *   activity display's current refresh rate, so adaptive 60/90/120Hz
+ *   refresh does not show up as jank
+ * - Screens are named "SignIn", "navbar/Dashboard", "navbar/insights"...
+ *   from the activity and the resumed fragment (NavigationHost keeps
+ *   hidden tabs paused, so only the visible one counts)
+ * - Debuggable builds also time every main Looper message and capture
+ *   StrictMode disk and network violations (counted on API 28+, logged
+ *   below it)
+ * - export() writes the summaries to files/jank.txt and warns in the log
+ *   about screens with frozen frames or many slow ones
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.os.StrictMode;
+import android.os.strictmode.NetworkViolation;
+import android.util.Log;
+import android.util.Printer;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentActivity;
+import androidx.fragment.app.FragmentManager;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class FrameMonitor implements Printer, Application.ActivityLifecycleCallbacks {
+
+    private static final String TAG = "Jank";
+    static final String EXPORT_FILE = "jank.txt";
+
+    // A screen visit worth a warning when exported
+    private static final double WARN_SLOW_RATIO = 0.05;
+
+    private static FrameMonitor instance;
+
+    private final JankLog log = new JankLog();
+
+    // FrameMetrics are delivered here rather than on the main thread; null below API 24
+    private final Handler metricsHandler;
+
+    // Main thread only
+    private int resumedActivities;
+    private long messageStartNanos;
+    private final Map<Activity, Window.OnFrameMetricsAvailableListener> frameListeners = new HashMap<>();
+
+    private final FragmentManager.FragmentLifecycleCallbacks fragments = new FragmentManager.FragmentLifecycleCallbacks() {
+        @Override
+        public void onFragmentResumed(@NonNull FragmentManager manager, @NonNull Fragment fragment) {
+            Activity activity = fragment.getActivity();
+            if (activity == null) return;
+            log.setScreen(activity.getClass().getSimpleName() + "/" + fragment.getClass().getSimpleName(),
+                    System.currentTimeMillis());
+        }
+
+        @Override
+        public void onFragmentPaused(@NonNull FragmentManager manager, @NonNull Fragment fragment) {
+            // Until the next fragment resumes, the activity itself is what shows
+            Activity activity = fragment.getActivity();
+            if (activity != null) log.setScreen(activity.getClass().getSimpleName(), System.currentTimeMillis());
+        }
+    };
+
+    private FrameMonitor() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            HandlerThread thread = new HandlerThread("frame-metrics", Process.THREAD_PRIORITY_BACKGROUND);
+            thread.start();
+            metricsHandler = new Handler(thread.getLooper());
+        } else {
+            metricsHandler = null;
+        }
+    }
+
+    /**
+     * Starts monitoring. Call once from Application.onCreate().
+     *
+     * @param app        The application
+     * @param debuggable Also time Looper messages and capture StrictMode violations
+     */
+    public static synchronized FrameMonitor install(Application app, boolean debuggable) {
+        if (instance != null) return instance;
+
+        instance = new FrameMonitor();
+
+        app.registerActivityLifecycleCallbacks(instance);
+        if (debuggable) {
+            // Looper builds a log string per message, so this stays out of release builds
+            Looper.getMainLooper().setMessageLogging(instance);
+            instance.detectViolations();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the installed monitor, or null before install().
+     */
+    public static synchronized FrameMonitor get() {
+        return instance;
+    }
+
+    public JankLog getLog() {
+        return log;
+    }
+
+    /**
+     * Receives the main Looper's ">>>>> Dispatching" and "<<<<< Finished"
+     * lines around each message.
+     */
+    @Override
+    public void println(String line) {
+        if (line.startsWith(">>>>>")) {
+            messageStartNanos = System.nanoTime();
+        } else if (messageStartNanos != 0) {
+            log.onMessage(System.nanoTime() - messageStartNanos);
+            messageStartNanos = 0;
+        }
+    }
+
+    @Override
+    public void onActivityCreated(@NonNull Activity activity, Bundle savedInstanceState) {
+        if (activity instanceof FragmentActivity) {
+            ((FragmentActivity) activity).getSupportFragmentManager()
+                    .registerFragmentLifecycleCallbacks(fragments, true);
+        }
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+        log.setScreen(activity.getClass().getSimpleName(), System.currentTimeMillis());
+        resumedActivities++;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && !frameListeners.containsKey(activity)) {
+            Window.OnFrameMetricsAvailableListener listener = frameListener(activity);
+            frameListeners.put(activity, listener);
+            activity.getWindow().addOnFrameMetricsAvailableListener(listener, metricsHandler);
+        }
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            Window.OnFrameMetricsAvailableListener listener = frameListeners.remove(activity);
+            if (listener != null) activity.getWindow().removeOnFrameMetricsAvailableListener(listener);
+        }
+        if (--resumedActivities > 0) return;
+        resumedActivities = 0;
+        log.setScreen(null, System.currentTimeMillis());
+    }
+
+    @Override
+    public void onActivityStarted(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+    }
+
+    /**
+     * Writes the summaries to files/jank.txt. Does file I/O; call off the
+     * main thread.
+     */
+    public void export(Context context) {
+        StringBuilder report = new StringBuilder(1024);
+        for (JankLog.Summary summary : log.snapshot(System.currentTimeMillis())) {
+            report.append(summary).append('\n');
+            if (summary.frozenFrames > 0 || summary.getSlowRatio() > WARN_SLOW_RATIO) {
+                Log.w(TAG, "Janky screen: " + summary);
+            }
+        }
+
+        File file = new File(context.getFilesDir(), EXPORT_FILE);
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+            out.write(report.toString());
+        } catch (IOException e) {
+            Log.w(TAG, "Could not write " + file, e);
+        }
+    }
+
+    /**
+     * Returns a listener that records each of the activity's frames with
+     * the budget in force when it was drawn.
+     */
+    @RequiresApi(Build.VERSION_CODES.N)
+    private Window.OnFrameMetricsAvailableListener frameListener(Activity activity) {
+        Display display = displayOf(activity);
+        return (window, metrics, dropCount) -> {
+            long budget;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+                budget = metrics.getMetric(FrameMetrics.DEADLINE);
+            } else {
+                float refreshRate = display != null ? display.getRefreshRate() : 60f;
+                budget = (long) (1_000_000_000L / Math.max(refreshRate, 1f));
+            }
+            log.onFrame(metrics.getMetric(FrameMetrics.TOTAL_DURATION), budget);
+        };
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Display displayOf(Activity activity) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) return activity.getDisplay();
+        // Only reached below API 30, where this is the activity's display
+        return activity.getWindowManager().getDefaultDisplay();
+    }
+
+    private void detectViolations() {
+        StrictMode.ThreadPolicy.Builder policy = new StrictMode.ThreadPolicy.Builder()
+                .detectDiskReads()
+                .detectDiskWrites()
+                .detectNetwork();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            policy.penaltyListener(AppExecutors.main(), violation -> log.onViolation(
+                    violation instanceof NetworkViolation ? JankLog.VIOLATION_NETWORK : JankLog.VIOLATION_DISK));
+        } else {
+            policy.penaltyLog();
+        }
+        StrictMode.setThreadPolicy(policy.build());
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * GuardedCall.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Runs a Firebase call under a Policy: a deadline per attempt, a bounded
+ * number of retries with jittered backoff for calls that are safe to
+ * repeat, and a CircuitBreaker per backend that fails fast while it is
+ * unreachable. The result is an ordinary Task that always completes, so
+ * a screen's progress dialog always closes.
+ *
+ * Features:
+ * - Timeouts fail the Task with a TimeoutException (the late result of
+ *   the original call is ignored)
+ * - Only transient failures (timeout, network, UNAVAILABLE,
+ *   DEADLINE_EXCEEDED) are retried and counted by the breaker; answers
+ *   such as an invalid code are passed straight through
+ * - An open breaker fails the Task at once with CircuitBreaker.OpenException
+ * - Timeouts, retries and fast failures are counted in the MetricsRegistry
+ * - Timers run on the main looper; callable from any thread, including
+ *   workers that block on the returned Task
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.firebase.FirebaseNetworkException;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class GuardedCall {
+
+    /**
+     * Starts one attempt of the call.
+     */
+    public interface Call<T> {
+        Task<T> start();
+    }
+
+    /**
+     * How a kind of call is guarded.
+     */
+    public static final class Policy {
+        final String name;
+        final long timeoutMillis;
+        final int maxAttempts;
+        final CircuitBreaker breaker;
+
+        /**
+         * @param name          Metrics prefix
+         * @param timeoutMillis Deadline for each attempt
+         * @param maxAttempts   1 for calls that must not be repeated
+         * @param breaker       Shared by every call to the same backend
+         */
+        Policy(String name, long timeoutMillis, int maxAttempts, CircuitBreaker breaker) {
+            this.name = name;
+            this.timeoutMillis = timeoutMillis;
+            this.maxAttempts = maxAttempts;
+            this.breaker = breaker;
+        }
+    }
+
+    // One breaker per backend
+    static final CircuitBreaker FIRESTORE = new CircuitBreaker("Firestore", 3, 30_000);
+    static final CircuitBreaker AUTH = new CircuitBreaker("Firebase Auth", 3, 30_000);
+
+    // Reads: repeating them is harmless
+    public static final Policy FIRESTORE_READ = new Policy("guard.firestore_read", 5_000, 2, FIRESTORE);
+    // Server-only delta pages of up to DeltaSync.PAGE_SIZE documents
+    public static final Policy FIRESTORE_BULK_READ = new Policy("guard.firestore_bulk_read", 20_000, 2, FIRESTORE);
+    // Batch commits: a WriteBatch can be committed once, so one attempt;
+    // the caller keeps the writes queued and retries with a new batch
+    public static final Policy FIRESTORE_WRITE = new Policy("guard.firestore_write", 30_000, 1, FIRESTORE);
+    // Auth calls with side effects (emails sent, codes consumed): one attempt
+    public static final Policy AUTH_ONCE = new Policy("guard.auth_once", 15_000, 1, AUTH);
+
+    private static final SyncBackoff BACKOFF = new SyncBackoff(1_000, 4_000);
+    private static final Random RANDOM = new Random();
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private GuardedCall() {
+    }
+
+    /**
+     * Runs a call under a policy.
+     *
+     * @return Task with the call's result, or its last failure, a
+     *         TimeoutException or a CircuitBreaker.OpenException
+     */
+    public static <T> Task<T> run(Policy policy, Call<T> call) {
+        TaskCompletionSource<T> result = new TaskCompletionSource<>();
+        attempt(policy, call, result, 1);
+        return result.getTask();
+    }
+
+    /**
+     * Returns true if a failure means the backend could not be reached
+     * rather than that it said no, so screens can say "try again later".
+     */
+    public static boolean isUnavailable(Exception e) {
+        return e instanceof CircuitBreaker.OpenException || isTransient(e);
+    }
+
+    private static <T> void attempt(Policy policy, Call<T> call, TaskCompletionSource<T> result, int attempt) {
+        CircuitBreaker breaker = policy.breaker;
+        if (!breaker.tryAcquire()) {
+            MetricsRegistry.get().increment(policy.name + ".circuit_open");
+            result.trySetException(new CircuitBreaker.OpenException(breaker.getName()));
+            return;
+        }
+
+        // Whichever of the deadline and the task comes first decides the attempt
+        AtomicBoolean settled = new AtomicBoolean();
+        Runnable deadline = () -> {
+            if (!settled.compareAndSet(false, true)) return;
+            MetricsRegistry.get().increment(policy.name + ".timeout");
+            breaker.onFailure();
+            retryOrFail(policy, call, result, attempt,
+                    new TimeoutException(policy.name + " timed out after " + policy.timeoutMillis + "ms"));
+        };
+        MAIN.postDelayed(deadline, policy.timeoutMillis);
+
+        call.start().addOnCompleteListener(Runnable::run, task -> {
+            if (!settled.compareAndSet(false, true)) return;
+            MAIN.removeCallbacks(deadline);
+
+            if (task.isSuccessful()) {
+                breaker.onSuccess();
+                result.trySetResult(task.getResult());
+                return;
+            }
+            Exception e = task.getException() != null ? task.getException() : new CancellationException();
+            if (isTransient(e)) {
+                breaker.onFailure();
+                retryOrFail(policy, call, result, attempt, e);
+            } else {
+                // The backend answered; it is just not the answer we wanted
+                breaker.onSuccess();
+                result.trySetException(e);
+            }
+        });
+    }
+
+    private static <T> void retryOrFail(Policy policy, Call<T> call, TaskCompletionSource<T> result,
+                                        int attempt, Exception e) {
+        if (attempt >= policy.maxAttempts) {
+            result.trySetException(e);
+            return;
+        }
+        MetricsRegistry.get().increment(policy.name + ".retry");
+        MAIN.postDelayed(() -> attempt(policy, call, result, attempt + 1), BACKOFF.delayMillis(attempt, RANDOM));
+    }
+
+    private static boolean isTransient(Exception e) {
+        if (e instanceof TimeoutException || e instanceof FirebaseNetworkException) return true;
+        if (e instanceof FirebaseFirestoreException) {
+            FirebaseFirestoreException.Code code = ((FirebaseFirestoreException) e).getCode();
+            return code == FirebaseFirestoreException.Code.UNAVAILABLE
+                    || code == FirebaseFirestoreException.Code.DEADLINE_EXCEEDED;
+        }
+        return false;
+    }
+}
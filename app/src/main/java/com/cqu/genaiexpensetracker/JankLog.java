@@ -0,0 +1,191 @@
+/**
+ * JankLog.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Per-screen frame and main-thread health. Frame intervals, long main
+ * thread messages and StrictMode violations are counted against the
+ * screen that is showing; when the screen changes its totals become an
+ * immutable Summary in a fixed-size ring buffer, oldest dropped first.
+ *
+ * Features:
+ * - Slow frames (over 1.5 frame budgets), frozen frames (over 700ms),
+ *   dropped vsyncs and the worst frame per screen visit; the budget comes
+ *   with each frame, so refresh-rate changes (60/90/120Hz) are followed
+ * - Long messages (over 100ms) with the worst one
+ * - Disk and network StrictMode violations counted separately
+ * - Bounded memory: CAPACITY summaries, no allocation per frame
+ * - Pure Java; FrameMonitor feeds it from FrameMetrics, the main Looper
+ *   and StrictMode
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class JankLog {
+
+    static final int CAPACITY = 64;
+    static final long FROZEN_FRAME_NANOS = 700_000_000L;
+    static final long LONG_MESSAGE_NANOS = 100_000_000L;
+
+    public static final String VIOLATION_DISK = "disk";
+    public static final String VIOLATION_NETWORK = "network";
+
+    /**
+     * One visit to a screen.
+     */
+    public static final class Summary {
+        public final String screen;
+        public final long startedAtMillis;
+        public final long durationMillis;
+        public final int frames;
+        public final int slowFrames;
+        public final int frozenFrames;
+        public final long droppedFrames;
+        public final long worstFrameMillis;
+        public final int longMessages;
+        public final long worstMessageMillis;
+        public final int diskViolations;
+        public final int networkViolations;
+
+        Summary(JankLog log, long endedAtMillis) {
+            screen = log.screen;
+            startedAtMillis = log.startedAtMillis;
+            durationMillis = endedAtMillis - log.startedAtMillis;
+            frames = log.frames;
+            slowFrames = log.slowFrames;
+            frozenFrames = log.frozenFrames;
+            droppedFrames = log.droppedFrames;
+            worstFrameMillis = log.worstFrameNanos / 1_000_000;
+            longMessages = log.longMessages;
+            worstMessageMillis = log.worstMessageNanos / 1_000_000;
+            diskViolations = log.diskViolations;
+            networkViolations = log.networkViolations;
+        }
+
+        /**
+         * Returns the share of frames that were slow, 0 to 1.
+         */
+        public double getSlowRatio() {
+            return frames == 0 ? 0 : (double) slowFrames / frames;
+        }
+
+        @Override
+        public String toString() {
+            return screen + " " + durationMillis + "ms frames=" + frames
+                    + " slow=" + slowFrames + " frozen=" + frozenFrames
+                    + " dropped=" + droppedFrames + " worst=" + worstFrameMillis + "ms"
+                    + " longMessages=" + longMessages + " worstMessage=" + worstMessageMillis + "ms"
+                    + " disk=" + diskViolations + " network=" + networkViolations;
+        }
+    }
+
+    // Guarded by this
+    private final Summary[] ring = new Summary[CAPACITY];
+    private int next;
+    private int size;
+
+    private String screen;
+    private long startedAtMillis;
+    private int frames;
+    private int slowFrames;
+    private int frozenFrames;
+    private long droppedFrames;
+    private long worstFrameNanos;
+    private int longMessages;
+    private long worstMessageNanos;
+    private int diskViolations;
+    private int networkViolations;
+
+    /**
+     * Closes the current screen's summary and starts counting for another.
+     * Setting the same screen again does nothing.
+     *
+     * @param screen  Screen name, or null while nothing is showing
+     * @param nowMillis Wall-clock time, for the summaries
+     */
+    public synchronized void setScreen(String screen, long nowMillis) {
+        if (screen != null && screen.equals(this.screen)) return;
+        close(nowMillis);
+        this.screen = screen;
+        startedAtMillis = nowMillis;
+    }
+
+    /**
+     * Records one rendered frame.
+     *
+     * @param durationNanos How long the frame took
+     * @param budgetNanos   The display's vsync interval for that frame,
+     *                      e.g. 16_666_667 at 60Hz or 8_333_333 at 120Hz
+     */
+    public synchronized void onFrame(long durationNanos, long budgetNanos) {
+        if (screen == null || budgetNanos <= 0) return;
+        frames++;
+        if (durationNanos > worstFrameNanos) worstFrameNanos = durationNanos;
+        if (durationNanos > budgetNanos * 3 / 2) {
+            slowFrames++;
+            // Vsyncs that passed without a frame
+            droppedFrames += durationNanos / budgetNanos - 1;
+        }
+        if (durationNanos > FROZEN_FRAME_NANOS) frozenFrames++;
+    }
+
+    /**
+     * Records how long one main-thread message took; short ones are ignored.
+     */
+    public synchronized void onMessage(long durationNanos) {
+        if (screen == null || durationNanos < LONG_MESSAGE_NANOS) return;
+        longMessages++;
+        if (durationNanos > worstMessageNanos) worstMessageNanos = durationNanos;
+    }
+
+    /**
+     * Records a StrictMode violation.
+     *
+     * @param kind VIOLATION_DISK or VIOLATION_NETWORK
+     */
+    public synchronized void onViolation(String kind) {
+        if (screen == null) return;
+        if (VIOLATION_NETWORK.equals(kind)) networkViolations++;
+        else diskViolations++;
+    }
+
+    /**
+     * Returns the stored summaries, oldest first, after closing the current
+     * screen's so far (counting for it continues in a new summary).
+     */
+    public synchronized List<Summary> snapshot(long nowMillis) {
+        String current = screen;
+        close(nowMillis);
+        screen = current;
+        startedAtMillis = nowMillis;
+
+        List<Summary> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(ring[(next - size + i + CAPACITY) % CAPACITY]);
+        return out;
+    }
+
+    /**
+     * Renders snapshot() one summary per line.
+     */
+    public String dump(long nowMillis) {
+        StringBuilder out = new StringBuilder(1024);
+        for (Summary summary : snapshot(nowMillis)) out.append(summary).append('\n');
+        return out.toString();
+    }
+
+    private void close(long nowMillis) {
+        if (screen != null && (frames > 0 || longMessages > 0 || diskViolations > 0 || networkViolations > 0)) {
+            ring[next] = new Summary(this, nowMillis);
+            next = (next + 1) % CAPACITY;
+            if (size < CAPACITY) size++;
+        }
+        screen = null;
+        frames = slowFrames = frozenFrames = longMessages = diskViolations = networkViolations = 0;
+        droppedFrames = worstFrameNanos = worstMessageNanos = 0;
+    }
+}
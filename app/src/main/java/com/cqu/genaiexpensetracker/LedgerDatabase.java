@@ -0,0 +1,101 @@
+/**
+ * LedgerDatabase.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * SQLite schema for the on-device ledger. Holds the user's income and
+ * expense rows, the outbound queue of writes waiting for Firestore, and
+ * the delta sync checkpoints for reads coming back.
+ *
+ * Features:
+ * - Write-ahead logging so reads never block the writer
+ * - (uid, created_at) indexes for per-user, time-ordered reads
+ * - Durable sync queue that survives process death, indexed by document
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+public class LedgerDatabase extends SQLiteOpenHelper {
+
+    private static final String DB_NAME = "ledger.db";
+    private static final int DB_VERSION = 3;
+
+    // Table names
+    static final String TABLE_INCOME = "income";
+    static final String TABLE_EXPENSES = "expenses";
+    static final String TABLE_SYNC_QUEUE = "sync_queue";
+    static final String TABLE_SYNC_CHECKPOINT = "sync_checkpoint";
+
+    /**
+     * Creates the helper. The database itself is opened lazily.
+     *
+     * @param context Any context; the application context is retained
+     */
+    public LedgerDatabase(Context context) {
+        super(context.getApplicationContext(), DB_NAME, null, DB_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_INCOME + " ("
+                + "id TEXT PRIMARY KEY, "
+                + "uid TEXT NOT NULL, "
+                + "amount_cents INTEGER NOT NULL, "
+                + "source TEXT, "
+                + "created_at INTEGER NOT NULL, "
+                + "updated_at INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_income_uid_created ON " + TABLE_INCOME + " (uid, created_at)");
+
+        db.execSQL("CREATE TABLE " + TABLE_EXPENSES + " ("
+                + "id TEXT PRIMARY KEY, "
+                + "uid TEXT NOT NULL, "
+                + "amount_cents INTEGER NOT NULL, "
+                + "category TEXT, "
+                + "description TEXT, "
+                + "created_at INTEGER NOT NULL, "
+                + "updated_at INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_expenses_uid_created ON " + TABLE_EXPENSES + " (uid, created_at)");
+
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_QUEUE + " ("
+                + "seq INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "collection TEXT NOT NULL, "
+                + "doc_id TEXT NOT NULL, "
+                + "op TEXT NOT NULL, "
+                + "payload TEXT, "
+                + "queued_at INTEGER NOT NULL)");
+        createSyncQueueIndex(db);
+        createCheckpointTable(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) createSyncQueueIndex(db);
+        if (oldVersion < 3) createCheckpointTable(db);
+    }
+
+    /**
+     * Lets the queue find the write already pending for a document (v2).
+     */
+    private static void createSyncQueueIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_sync_queue_doc ON " + TABLE_SYNC_QUEUE + " (collection, doc_id)");
+    }
+
+    /**
+     * One delta sync high-water mark per user and collection (v3).
+     */
+    private static void createCheckpointTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_SYNC_CHECKPOINT + " ("
+                + "uid TEXT NOT NULL, "
+                + "collection TEXT NOT NULL, "
+                + "updated_at INTEGER NOT NULL, "
+                + "doc_id TEXT NOT NULL, "
+                + "PRIMARY KEY (uid, collection))");
+    }
+}
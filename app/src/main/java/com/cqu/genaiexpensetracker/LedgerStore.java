@@ -0,0 +1,539 @@
+/**
+ * LedgerStore.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Offline-first store for the user's income and expenses. Every write lands
+ * in the local SQLite ledger first and is queued for Firestore in the same
+ * transaction; the SyncQueue ships it to the server in batches.
+ *
+ * Features:
+ * - Local writes return immediately and never wait on the network
+ * - All database work runs on one serial executor, keeping writes ordered
+ * - Client-generated document IDs so local rows and Firestore docs match
+ * - Feeds every insert, edit and delete into the LedgerAggregator
+ *   and, through it, the InsightsEngine
+ * - Builds columnar snapshots of a user's history for analytics
+ * - Hands the list screens the rows that are not on the server yet
+ * - Merges documents fetched from Firestore without re-queueing them
+ * - Deletes are queued as tombstones, and incoming tombstones remove rows
+ * - Stores each delta sync checkpoint in the same transaction as the rows
+ *   it covers
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LedgerStore {
+
+    // Firestore collection names (match auth-api/index.js)
+    static final String COLLECTION_INCOME = "income";
+    static final String COLLECTION_EXPENSES = "expenses";
+
+    // Set on a deleted entry's Firestore document instead of removing it
+    static final String FIELD_DELETED = "deleted";
+
+    private static final String ID_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int ID_LENGTH = 20;
+
+    private static LedgerStore instance;
+
+    /**
+     * Receives a columnar snapshot, on the ledger executor.
+     */
+    public interface ColumnsCallback {
+        void onColumnsLoaded(TransactionColumns columns);
+    }
+
+    /**
+     * Receives a collection's entries that still have a queued Firestore
+     * write, on the ledger executor.
+     */
+    public interface PendingCallback {
+        /**
+         * @param pendingIds IDs of every document with a queued write, deletes included
+         * @param rows       Local rows for those IDs that still exist, in no particular order
+         */
+        void onPendingLoaded(Set<String> pendingIds, List<TransactionRow> rows);
+    }
+
+    private final LedgerDatabase database;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final SyncQueue syncQueue;
+    private final SecureRandom random = new SecureRandom();
+    private final LedgerAggregator aggregator = new LedgerAggregator(TimeZone.getDefault());
+    private final InsightsEngine insightsEngine = new InsightsEngine(aggregator);
+
+    // Last built columns; dropped whenever the ledger changes (executor only)
+    private String columnsUid;
+    private TransactionColumns columns;
+
+    private LedgerStore(Context context) {
+        database = new LedgerDatabase(context);
+        syncQueue = new SyncQueue(context, database, executor);
+
+        // One full scan at startup; every later change updates the totals incrementally
+        executor.execute(() -> aggregator.loadAll(queryIncome(null, null), queryExpenses(null, null)));
+    }
+
+    /**
+     * Returns the process-wide ledger store.
+     *
+     * @param context Any context; the application context is retained
+     * @return Shared LedgerStore instance
+     */
+    public static synchronized LedgerStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new LedgerStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the outbound Firestore queue backing this store.
+     */
+    public SyncQueue getSyncQueue() {
+        return syncQueue;
+    }
+
+    /**
+     * Returns the running monthly totals kept in step with the ledger.
+     */
+    public LedgerAggregator getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * Returns the insights engine fed by this store's aggregator.
+     */
+    public InsightsEngine getInsightsEngine() {
+        return insightsEngine;
+    }
+
+    /**
+     * Loads the user's full history as TransactionColumns. The snapshot is
+     * reused until the next ledger write, so repeat calls are free.
+     *
+     * @param uid      Owner of the transactions
+     * @param callback Called on the ledger executor; post to the UI yourself
+     */
+    public void loadColumns(String uid, ColumnsCallback callback) {
+        executor.execute(() -> {
+            if (columns == null || !uid.equals(columnsUid)) {
+                columns = queryColumns(uid);
+                columnsUid = uid;
+            }
+            callback.onColumnsLoaded(columns);
+        });
+    }
+
+    /**
+     * Loads the user's entries in a collection whose latest write has not
+     * reached Firestore yet, so a list read from the server can show local
+     * changes the server does not have.
+     *
+     * @param collection {@link #COLLECTION_INCOME} or {@link #COLLECTION_EXPENSES}
+     * @param uid        Owner of the entries
+     * @param callback   Called on the ledger executor
+     */
+    public void loadPending(String collection, String uid, PendingCallback callback) {
+        executor.execute(() -> {
+            Set<String> ids = syncQueue.pendingIds(database.getReadableDatabase(), collection);
+            List<TransactionRow> rows = new ArrayList<>();
+            if (!ids.isEmpty()) {
+                String selection = "uid = ? AND id IN (SELECT doc_id FROM " + LedgerDatabase.TABLE_SYNC_QUEUE
+                        + " WHERE collection = ?)";
+                String[] args = {uid, collection};
+                if (COLLECTION_INCOME.equals(collection)) {
+                    for (IncomeEntry entry : queryIncome(selection, args)) rows.add(TransactionRow.of(entry));
+                } else {
+                    for (ExpenseEntry entry : queryExpenses(selection, args)) rows.add(TransactionRow.of(entry));
+                }
+            }
+            callback.onPendingLoaded(ids, rows);
+        });
+    }
+
+    /**
+     * Generates a Firestore-style 20 character document ID locally, so the
+     * row can be written before the device has talked to the server.
+     *
+     * @return New random document ID
+     */
+    public String newId() {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = 0; i < ID_LENGTH; i++) {
+            chars[i] = ID_ALPHABET.charAt(random.nextInt(ID_ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Saves an income entry locally and queues it for Firestore.
+     *
+     * @param entry Entry to save; its ID must already be set
+     */
+    public void addIncome(IncomeEntry entry) {
+        executor.execute(() -> {
+            writeAndQueue(LedgerDatabase.TABLE_INCOME, toValues(entry), COLLECTION_INCOME, entry.getId(), IncomeEntryCodec.INSTANCE.encode(entry));
+            aggregator.onIncomeAdded(entry);
+        });
+    }
+
+    /**
+     * Replaces an existing income entry with the same ID.
+     *
+     * @param entry Updated entry
+     */
+    public void updateIncome(IncomeEntry entry) {
+        executor.execute(() -> {
+            IncomeEntry previous = findIncome(entry.getId());
+            entry.setUpdatedAt(System.currentTimeMillis());
+            writeAndQueue(LedgerDatabase.TABLE_INCOME, toValues(entry), COLLECTION_INCOME, entry.getId(), IncomeEntryCodec.INSTANCE.encode(entry));
+            if (previous != null) aggregator.onIncomeUpdated(previous, entry);
+            else aggregator.onIncomeAdded(entry);
+        });
+    }
+
+    /**
+     * Deletes an income entry locally and queues its Firestore tombstone.
+     *
+     * @param id Document ID of the entry
+     */
+    public void deleteIncome(String id) {
+        executor.execute(() -> {
+            IncomeEntry previous = findIncome(id);
+            if (previous == null) return;
+            deleteAndQueue(LedgerDatabase.TABLE_INCOME, COLLECTION_INCOME, id);
+            aggregator.onIncomeRemoved(previous);
+        });
+    }
+
+    /**
+     * Saves an expense entry locally and queues it for Firestore.
+     *
+     * @param entry Entry to save; its ID must already be set
+     */
+    public void addExpense(ExpenseEntry entry) {
+        executor.execute(() -> {
+            writeAndQueue(LedgerDatabase.TABLE_EXPENSES, toValues(entry), COLLECTION_EXPENSES, entry.getId(), ExpenseEntryCodec.INSTANCE.encode(entry));
+            aggregator.onExpenseAdded(entry);
+        });
+    }
+
+    /**
+     * Replaces an existing expense entry with the same ID.
+     *
+     * @param entry Updated entry
+     */
+    public void updateExpense(ExpenseEntry entry) {
+        executor.execute(() -> {
+            ExpenseEntry previous = findExpense(entry.getId());
+            entry.setUpdatedAt(System.currentTimeMillis());
+            writeAndQueue(LedgerDatabase.TABLE_EXPENSES, toValues(entry), COLLECTION_EXPENSES, entry.getId(), ExpenseEntryCodec.INSTANCE.encode(entry));
+            if (previous != null) aggregator.onExpenseUpdated(previous, entry);
+            else aggregator.onExpenseAdded(entry);
+        });
+    }
+
+    /**
+     * Deletes an expense entry locally and queues its Firestore tombstone.
+     *
+     * @param id Document ID of the entry
+     */
+    public void deleteExpense(String id) {
+        executor.execute(() -> {
+            ExpenseEntry previous = findExpense(id);
+            if (previous == null) return;
+            deleteAndQueue(LedgerDatabase.TABLE_EXPENSES, COLLECTION_EXPENSES, id);
+            aggregator.onExpenseRemoved(previous);
+        });
+    }
+
+    /**
+     * Stores income and expense documents read from Firestore, e.g. by the
+     * sign-in prefetch. Nothing is queued: the server already has them.
+     * Rows with a queued local write are skipped, since the local copy is
+     * newer; unchanged rows are skipped too. Tombstones remove the row.
+     *
+     * @param income   Income documents, with IDs set
+     * @param expenses Expense documents, with IDs set
+     * @param done     Run on the ledger executor once the rows are stored, or null
+     */
+    public void importRemote(List<IncomeEntry> income, List<ExpenseEntry> expenses, Runnable done) {
+        executor.execute(() -> {
+            SQLiteDatabase db = database.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                importRows(db, income, expenses);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            if (done != null) done.run();
+        });
+    }
+
+    /**
+     * Stores one page of a delta sync and advances the collection's
+     * checkpoint in the same transaction, so the mark never gets ahead of
+     * the rows it covers.
+     *
+     * @param uid        Owner of the documents
+     * @param collection {@link #COLLECTION_INCOME} or {@link #COLLECTION_EXPENSES}
+     * @param income     Income documents (tombstones included), with IDs set
+     * @param expenses   Expense documents (tombstones included), with IDs set
+     * @param checkpoint Mark after the last document of the page
+     * @return Completes once the page is committed
+     */
+    Future<?> importDelta(String uid, String collection, List<IncomeEntry> income,
+                          List<ExpenseEntry> expenses, SyncCheckpoint checkpoint) {
+        return executor.submit(() -> {
+            SQLiteDatabase db = database.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                importRows(db, income, expenses);
+                ContentValues values = new ContentValues();
+                values.put("uid", uid);
+                values.put("collection", collection);
+                values.put("updated_at", checkpoint.updatedAt);
+                values.put("doc_id", checkpoint.docId);
+                db.insertWithOnConflict(LedgerDatabase.TABLE_SYNC_CHECKPOINT, null, values,
+                        SQLiteDatabase.CONFLICT_REPLACE);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    /**
+     * Reads a collection's delta sync checkpoint.
+     *
+     * @return Resolves to the stored mark, or {@link SyncCheckpoint#START}
+     */
+    Future<SyncCheckpoint> loadCheckpoint(String uid, String collection) {
+        return executor.submit(() -> {
+            try (Cursor c = database.getReadableDatabase().query(LedgerDatabase.TABLE_SYNC_CHECKPOINT,
+                    new String[]{"updated_at", "doc_id"}, "uid = ? AND collection = ?",
+                    new String[]{uid, collection}, null, null, null)) {
+                return c.moveToFirst() ? new SyncCheckpoint(c.getLong(0), c.getString(1)) : SyncCheckpoint.START;
+            }
+        });
+    }
+
+    /**
+     * Applies remote documents inside the caller's transaction (executor only).
+     */
+    private void importRows(SQLiteDatabase db, List<IncomeEntry> income, List<ExpenseEntry> expenses) {
+        Set<String> pendingIncome = income.isEmpty() ? null : syncQueue.pendingIds(db, COLLECTION_INCOME);
+        Set<String> pendingExpenses = expenses.isEmpty() ? null : syncQueue.pendingIds(db, COLLECTION_EXPENSES);
+        int changed = 0;
+
+        for (IncomeEntry entry : income) {
+            if (pendingIncome.contains(entry.getId())) continue;
+            IncomeEntry previous = findIncome(entry.getId());
+            if (entry.isDeleted()) {
+                if (previous == null) continue;
+                db.delete(LedgerDatabase.TABLE_INCOME, "id = ?", new String[]{entry.getId()});
+                aggregator.onIncomeRemoved(previous);
+            } else {
+                if (previous != null && sameIncome(previous, entry)) continue;
+                db.insertWithOnConflict(LedgerDatabase.TABLE_INCOME, null, toValues(entry),
+                        SQLiteDatabase.CONFLICT_REPLACE);
+                if (previous != null) aggregator.onIncomeUpdated(previous, entry);
+                else aggregator.onIncomeAdded(entry);
+            }
+            changed++;
+        }
+        for (ExpenseEntry entry : expenses) {
+            if (pendingExpenses.contains(entry.getId())) continue;
+            ExpenseEntry previous = findExpense(entry.getId());
+            if (entry.isDeleted()) {
+                if (previous == null) continue;
+                db.delete(LedgerDatabase.TABLE_EXPENSES, "id = ?", new String[]{entry.getId()});
+                aggregator.onExpenseRemoved(previous);
+            } else {
+                if (previous != null && sameExpense(previous, entry)) continue;
+                db.insertWithOnConflict(LedgerDatabase.TABLE_EXPENSES, null, toValues(entry),
+                        SQLiteDatabase.CONFLICT_REPLACE);
+                if (previous != null) aggregator.onExpenseUpdated(previous, entry);
+                else aggregator.onExpenseAdded(entry);
+            }
+            changed++;
+        }
+        if (changed > 0) columns = null;
+    }
+
+    /**
+     * Writes a ledger row and its queued Firestore write in one transaction,
+     * then asks the queue to flush.
+     */
+    private void writeAndQueue(String table, ContentValues values,
+                               String collection, String docId, Map<String, Object> payload) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.insertWithOnConflict(table, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            syncQueue.enqueue(db, collection, docId, SyncQueue.OP_SET, payload);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        columns = null;
+        syncQueue.requestFlush();
+    }
+
+    /**
+     * Deletes a ledger row and queues a tombstone for its Firestore document
+     * in one transaction, then asks the queue to flush. The document is kept
+     * (marked deleted, with a new updatedAt) so other devices' delta sync
+     * sees the delete.
+     */
+    private void deleteAndQueue(String table, String collection, String docId) {
+        Map<String, Object> tombstone = new HashMap<>(4);
+        tombstone.put(FIELD_DELETED, true);
+        tombstone.put("updatedAt", System.currentTimeMillis());
+
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(table, "id = ?", new String[]{docId});
+            syncQueue.enqueue(db, collection, docId, SyncQueue.OP_MERGE, tombstone);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        columns = null;
+        syncQueue.requestFlush();
+    }
+
+    // ---------------------------------------------------------------------
+    // Reads (call on the ledger executor)
+    // ---------------------------------------------------------------------
+
+    private IncomeEntry findIncome(String id) {
+        List<IncomeEntry> rows = queryIncome("id = ?", new String[]{id});
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private ExpenseEntry findExpense(String id) {
+        List<ExpenseEntry> rows = queryExpenses("id = ?", new String[]{id});
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private List<IncomeEntry> queryIncome(String selection, String[] args) {
+        List<IncomeEntry> result = new ArrayList<>();
+        try (Cursor c = database.getReadableDatabase().query(LedgerDatabase.TABLE_INCOME,
+                new String[]{"id", "uid", "amount_cents", "source", "created_at", "updated_at"},
+                selection, args, null, null, null)) {
+            while (c.moveToNext()) {
+                IncomeEntry entry = new IncomeEntry(c.getString(0), c.getString(1), c.getLong(2),
+                        c.getString(3), c.getLong(4));
+                entry.setUpdatedAt(c.getLong(5));
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private List<ExpenseEntry> queryExpenses(String selection, String[] args) {
+        List<ExpenseEntry> result = new ArrayList<>();
+        try (Cursor c = database.getReadableDatabase().query(LedgerDatabase.TABLE_EXPENSES,
+                new String[]{"id", "uid", "amount_cents", "category", "description", "created_at", "updated_at"},
+                selection, args, null, null, null)) {
+            while (c.moveToNext()) {
+                ExpenseEntry entry = new ExpenseEntry(c.getString(0), c.getString(1), c.getLong(2),
+                        c.getString(3), c.getString(4), c.getLong(5));
+                entry.setUpdatedAt(c.getLong(6));
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads a user's income and expenses straight from two cursors, both
+     * ordered by time, merging them into columns without creating entries.
+     */
+    private TransactionColumns queryColumns(String uid) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        String[] args = {uid};
+        try (Cursor income = db.query(LedgerDatabase.TABLE_INCOME,
+                new String[]{"created_at", "amount_cents", "source"},
+                "uid = ?", args, null, null, "created_at");
+             Cursor expenses = db.query(LedgerDatabase.TABLE_EXPENSES,
+                     new String[]{"created_at", "amount_cents", "category"},
+                     "uid = ?", args, null, null, "created_at")) {
+            TransactionColumns.Builder builder =
+                    new TransactionColumns.Builder(income.getCount() + expenses.getCount());
+            boolean hasIncome = income.moveToNext();
+            boolean hasExpense = expenses.moveToNext();
+            while (hasIncome || hasExpense) {
+                if (hasIncome && (!hasExpense || income.getLong(0) <= expenses.getLong(0))) {
+                    builder.addIncome(income.getLong(0), income.getLong(1), income.getString(2));
+                    hasIncome = income.moveToNext();
+                } else {
+                    builder.addExpense(expenses.getLong(0), expenses.getLong(1), expenses.getString(2));
+                    hasExpense = expenses.moveToNext();
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    private static boolean sameIncome(IncomeEntry a, IncomeEntry b) {
+        return a.getAmountCents() == b.getAmountCents() && a.getCreatedAt() == b.getCreatedAt()
+                && a.getUpdatedAt() == b.getUpdatedAt() && Objects.equals(a.getSource(), b.getSource())
+                && Objects.equals(a.getUid(), b.getUid());
+    }
+
+    private static boolean sameExpense(ExpenseEntry a, ExpenseEntry b) {
+        return a.getAmountCents() == b.getAmountCents() && a.getCreatedAt() == b.getCreatedAt()
+                && a.getUpdatedAt() == b.getUpdatedAt() && Objects.equals(a.getCategory(), b.getCategory())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getUid(), b.getUid());
+    }
+
+    private static ContentValues toValues(IncomeEntry entry) {
+        ContentValues values = new ContentValues();
+        values.put("id", entry.getId());
+        values.put("uid", entry.getUid());
+        values.put("amount_cents", entry.getAmountCents());
+        values.put("source", entry.getSource());
+        values.put("created_at", entry.getCreatedAt());
+        values.put("updated_at", entry.getUpdatedAt());
+        return values;
+    }
+
+    private static ContentValues toValues(ExpenseEntry entry) {
+        ContentValues values = new ContentValues();
+        values.put("id", entry.getId());
+        values.put("uid", entry.getUid());
+        values.put("amount_cents", entry.getAmountCents());
+        values.put("category", entry.getCategory());
+        values.put("description", entry.getDescription());
+        values.put("created_at", entry.getCreatedAt());
+        values.put("updated_at", entry.getUpdatedAt());
+        return values;
+    }
+}
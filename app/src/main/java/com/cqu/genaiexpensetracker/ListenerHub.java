@@ -0,0 +1,256 @@
+/**
+ * ListenerHub.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Shares one live listener per key between any number of subscribers.
+ * The first subscriber attaches the listener, later ones join it and are
+ * replayed the latest value straight away, and the listener is detached
+ * only after the last subscriber has been gone for a grace period, so a
+ * screen that stops and starts again (a tab switch) finds it still live.
+ *
+ * Features:
+ * - One attach per key however many screens subscribe
+ * - Late subscribers get the latest value without a new read
+ * - Grace-period detach; a subscribe within the grace period cancels it
+ * - A listener error is passed to every subscriber and drops the entry,
+ *   so the next subscribe attaches afresh
+ * - Thread-safe; pure Java with the source, dispatcher and scheduler
+ *   injected (SnapshotHub wires in Firestore)
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+public final class ListenerHub<K, V> {
+
+    /**
+     * Receives values and errors from a listener.
+     */
+    public interface Observer<V> {
+        void onValue(V value);
+
+        void onError(Exception e);
+    }
+
+    /**
+     * Attaches the real listener for a key.
+     */
+    public interface Source<K, V> {
+        /**
+         * @return Detaches the listener
+         */
+        Runnable attach(K key, Observer<V> observer);
+    }
+
+    /**
+     * Runs a task after a delay.
+     */
+    public interface Scheduler {
+        /**
+         * @return Cancels the task if it has not run yet
+         */
+        Runnable schedule(Runnable task, long delayMillis);
+    }
+
+    /**
+     * Handle returned by subscribe().
+     */
+    public interface Subscription {
+        /**
+         * Stops deliveries to this subscriber. Safe to call more than once.
+         */
+        void unsubscribe();
+    }
+
+    private final Source<K, V> source;
+    private final Executor dispatcher;
+    private final Scheduler scheduler;
+    private final long graceMillis;
+
+    // Guarded by this
+    private final Map<K, Entry> entries = new HashMap<>();
+    private int attaches;
+
+    /**
+     * @param source      Attaches listeners
+     * @param dispatcher  Replays run here; use the thread the source delivers on,
+     *                    so a subscriber sees its values in order
+     * @param scheduler   Runs the delayed detach
+     * @param graceMillis How long a listener outlives its last subscriber
+     */
+    public ListenerHub(Source<K, V> source, Executor dispatcher, Scheduler scheduler, long graceMillis) {
+        this.source = source;
+        this.dispatcher = dispatcher;
+        this.scheduler = scheduler;
+        this.graceMillis = graceMillis;
+    }
+
+    /**
+     * Subscribes to a key, attaching its listener if none is live. The
+     * first value delivered may be a replay of an earlier one, so treat it
+     * as the full current state.
+     */
+    public Subscription subscribe(K key, Observer<V> observer) {
+        Subscriber subscriber = new Subscriber(observer);
+        Entry entry;
+        boolean attach = false;
+        V latest;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key);
+                entries.put(key, entry);
+                attaches++;
+                attach = true;
+            }
+            if (entry.pendingDetach != null) {
+                entry.pendingDetach.run();
+                entry.pendingDetach = null;
+            }
+            entry.subscribers.add(subscriber);
+            subscriber.entry = entry;
+            latest = entry.latest;
+        }
+
+        if (attach) {
+            Runnable detach = source.attach(key, entry);
+            boolean stale;
+            synchronized (this) {
+                stale = entries.get(key) != entry;
+                if (!stale) entry.detach = detach;
+            }
+            // Expired or failed while attaching
+            if (stale) detach.run();
+        }
+        if (latest != null) {
+            V replay = latest;
+            dispatcher.execute(() -> subscriber.replay(replay));
+        }
+        return subscriber;
+    }
+
+    /**
+     * Returns true while a listener for the key is attached, including
+     * during its grace period.
+     */
+    public synchronized boolean isAttached(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Returns how many listeners have been attached (for tests and logs).
+     */
+    synchronized int getAttachCount() {
+        return attaches;
+    }
+
+    private void release(Subscriber subscriber) {
+        synchronized (this) {
+            Entry entry = subscriber.entry;
+            if (!entry.subscribers.remove(subscriber)) return;
+            if (!entry.subscribers.isEmpty() || entries.get(entry.key) != entry) return;
+            entry.pendingDetach = scheduler.schedule(() -> expire(entry), graceMillis);
+        }
+    }
+
+    private void expire(Entry entry) {
+        Runnable detach;
+        synchronized (this) {
+            if (entries.get(entry.key) != entry || !entry.subscribers.isEmpty()) return;
+            entries.remove(entry.key);
+            entry.pendingDetach = null;
+            detach = entry.detach;
+        }
+        if (detach != null) detach.run();
+    }
+
+    /**
+     * One shared listener and its subscribers.
+     */
+    private final class Entry implements Observer<V> {
+        final K key;
+        final List<Subscriber> subscribers = new ArrayList<>(2);
+        V latest;
+        Runnable detach;
+        Runnable pendingDetach;
+
+        Entry(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public void onValue(V value) {
+            List<Subscriber> targets;
+            synchronized (ListenerHub.this) {
+                if (entries.get(key) != this) return;
+                latest = value;
+                targets = new ArrayList<>(subscribers);
+            }
+            for (Subscriber subscriber : targets) subscriber.deliver(value);
+        }
+
+        @Override
+        public void onError(Exception e) {
+            List<Subscriber> targets;
+            Runnable detachNow;
+            synchronized (ListenerHub.this) {
+                if (entries.get(key) != this) return;
+                entries.remove(key);
+                if (pendingDetach != null) pendingDetach.run();
+                pendingDetach = null;
+                targets = new ArrayList<>(subscribers);
+                detachNow = detach;
+            }
+            if (detachNow != null) detachNow.run();
+            for (Subscriber subscriber : targets) subscriber.fail(e);
+        }
+    }
+
+    /**
+     * One subscribe() call.
+     */
+    private final class Subscriber implements Subscription {
+        final Observer<V> observer;
+        Entry entry;
+        volatile boolean active = true;
+        // Only touched on the delivering thread
+        boolean received;
+
+        Subscriber(Observer<V> observer) {
+            this.observer = observer;
+        }
+
+        void deliver(V value) {
+            if (!active) return;
+            received = true;
+            observer.onValue(value);
+        }
+
+        void replay(V value) {
+            // A live value got here first; the replay would be older
+            if (received) return;
+            deliver(value);
+        }
+
+        void fail(Exception e) {
+            if (!active) return;
+            active = false;
+            observer.onError(e);
+        }
+
+        @Override
+        public void unsubscribe() {
+            if (!active) return;
+            active = false;
+            release(this);
+        }
+    }
+}
@@ -1,22 +1,49 @@
+/**
+ * MainActivity.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Launcher entry point. It has no UI of its own (NoDisplay theme): it
+ * decides where the user should go and finishes before drawing anything.
+ *
+ * Features:
+ * - Signed-in users go straight to navbar, skipping Welcome and SignIn
+ * - Everyone else lands on Welcome
+ * - Deep links never pass through here: the password-reset link filter
+ *   is declared on Welcome, which handles them itself
+ * - Records startup phases in StartupTracer
+ * - Starts the month prefetch for signed-in users before navbar is created
+ */
+
 package com.cqu.genaiexpensetracker;
 
+import android.app.Activity;
 import android.content.Intent;
 import android.os.Bundle;
 
-import androidx.activity.EdgeToEdge;
-import androidx.appcompat.app.AppCompatActivity;
-import androidx.core.graphics.Insets;
-import androidx.core.view.ViewCompat;
-import androidx.core.view.WindowInsetsCompat;
+import com.google.firebase.auth.FirebaseAuth;
 
-public class MainActivity extends AppCompatActivity {
+public class MainActivity extends Activity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_main);
-        Intent intent = new Intent(MainActivity.this, Welcome.class);
-        startActivity(intent);
+        StartupTracer.get().mark(StartupTracer.ROUTER_CREATE);
+
+        Intent next;
+        if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+            // Existing session, restored synchronously from local storage
+            SessionPrefetch.start(this, FirebaseAuth.getInstance().getCurrentUser().getUid());
+            next = new Intent(this, navbar.class);
+        } else {
+            next = new Intent(this, Welcome.class);
+        }
 
+        startActivity(next);
+        StartupTracer.get().mark(StartupTracer.ROUTED);
+        finish();
+        overridePendingTransition(0, 0);
     }
-}
\ No newline at end of file
+}
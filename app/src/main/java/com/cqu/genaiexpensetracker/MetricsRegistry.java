@@ -0,0 +1,173 @@
+/**
+ * MetricsRegistry.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Counters, gauges and latency histograms for the app's hot paths (auth
+ * calls, sync batches). Debug builds turn it on at startup; when it is
+ * off every call returns after one volatile read.
+ *
+ * Features:
+ * - Lock-free: metrics are created once per name and updated atomically
+ * - Timers are plain nanoTime pairs; nothing is allocated per sample
+ * - dump() renders count, mean, p50/p95/p99 and max per histogram,
+ *   for the log, a file or a debug screen
+ * - Pure Java with an injectable clock for unit tests
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class MetricsRegistry {
+
+    // Returned by start() while disabled; stop() ignores it
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry(System::nanoTime);
+
+    private final StartupTracer.Clock clock;
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    MetricsRegistry(StartupTracer.Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the process-wide registry.
+     */
+    public static MetricsRegistry get() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Values already recorded are kept.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Adds one to a counter.
+     */
+    public void increment(String name) {
+        if (!enabled) return;
+        counter(name).incrementAndGet();
+    }
+
+    /**
+     * Sets a gauge to its current value.
+     */
+    public void setGauge(String name, long value) {
+        if (!enabled) return;
+        AtomicLong gauge = gauges.get(name);
+        if (gauge == null) {
+            AtomicLong created = new AtomicLong();
+            gauge = gauges.putIfAbsent(name, created);
+            if (gauge == null) gauge = created;
+        }
+        gauge.set(value);
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return Token for stop(), or NOT_TIMED while disabled
+     */
+    public long start() {
+        return enabled ? clock.nowNanos() : NOT_TIMED;
+    }
+
+    /**
+     * Records the time since start() in the named histogram.
+     *
+     * @param name        Histogram name, e.g. "auth.sign_in_email"
+     * @param startNanos  Value returned by start()
+     */
+    public void stop(String name, long startNanos) {
+        if (startNanos == NOT_TIMED || !enabled) return;
+        histogram(name).record((clock.nowNanos() - startNanos) / 1_000);
+    }
+
+    /**
+     * Returns a histogram, creating it on first use.
+     */
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            LatencyHistogram created = new LatencyHistogram();
+            histogram = histograms.putIfAbsent(name, created);
+            if (histogram == null) histogram = created;
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns a counter's value, 0 if it was never incremented.
+     */
+    public long getCount(String name) {
+        AtomicLong counter = counters.get(name);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Returns a gauge's value, 0 if it was never set.
+     */
+    public long getGauge(String name) {
+        AtomicLong gauge = gauges.get(name);
+        return gauge == null ? 0 : gauge.get();
+    }
+
+    /**
+     * Renders every metric, sorted by name, one per line. Latencies are in
+     * milliseconds with one decimal.
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder(256);
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.append(entry.getKey())
+                    .append(" n=").append(histogram.getCount());
+            appendMillis(out.append(" mean="), histogram.getMeanMicros());
+            appendMillis(out.append(" p50="), histogram.percentile(50));
+            appendMillis(out.append(" p95="), histogram.percentile(95));
+            appendMillis(out.append(" p99="), histogram.percentile(99));
+            appendMillis(out.append(" max="), histogram.getMaxMicros());
+            out.append('\n');
+        }
+        for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(counters).entrySet()) {
+            out.append(entry.getKey()).append(" count=").append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(gauges).entrySet()) {
+            out.append(entry.getKey()).append(" gauge=").append(entry.getValue().get()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private AtomicLong counter(String name) {
+        AtomicLong counter = counters.get(name);
+        if (counter == null) {
+            AtomicLong created = new AtomicLong();
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) counter = created;
+        }
+        return counter;
+    }
+
+    private static void appendMillis(StringBuilder out, long micros) {
+        out.append(micros / 1_000).append('.').append(micros % 1_000 / 100).append("ms");
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * NavigationHost.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Switches between top-level fragments in a single container without
+ * destroying them. Each destination is created the first time it is shown
+ * and then kept: switching hides the old fragment and shows the new one,
+ * so views, scroll positions and loaded data survive every tab change.
+ *
+ * Features:
+ * - Lazy creation through a per-destination factory
+ * - Hidden fragments are capped at STARTED (paused); only the visible one
+ *   is RESUMED
+ * - Reuses fragments restored by the FragmentManager after recreation
+ * - Current destination saved and restored with the activity state
+ * - Each switch is committed synchronously, so rapid taps never overlap
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.os.Bundle;
+
+import androidx.annotation.IdRes;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.Lifecycle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class NavigationHost {
+
+    private static final String STATE_CURRENT = "navigation_host_current";
+
+    /**
+     * Creates the fragment for a destination the first time it is needed.
+     */
+    public interface Factory {
+        Fragment create();
+    }
+
+    private final FragmentManager fragmentManager;
+    private final int containerId;
+    private final Map<String, Factory> factories = new HashMap<>();
+    private String current;
+
+    /**
+     * @param fragmentManager Manager that owns the container
+     * @param containerId     View that hosts the destinations
+     */
+    public NavigationHost(FragmentManager fragmentManager, @IdRes int containerId) {
+        this.fragmentManager = fragmentManager;
+        this.containerId = containerId;
+    }
+
+    /**
+     * Registers a destination. Nothing is created until it is first shown.
+     *
+     * @param tag     Fragment tag identifying the destination
+     * @param factory Creates the fragment
+     */
+    public void register(String tag, Factory factory) {
+        factories.put(tag, factory);
+    }
+
+    /**
+     * Shows a destination, creating it on first use and hiding the one that
+     * was visible. Showing the current destination again does nothing.
+     *
+     * @param tag Registered destination tag
+     */
+    public void show(String tag) {
+        if (tag.equals(current) && find(tag) != null) return;
+        Factory factory = factories.get(tag);
+        if (factory == null) throw new IllegalArgumentException("Unknown destination: " + tag);
+
+        FragmentTransaction transaction = fragmentManager.beginTransaction().setReorderingAllowed(true);
+
+        Fragment previous = current != null ? find(current) : null;
+        if (previous != null) {
+            transaction.hide(previous).setMaxLifecycle(previous, Lifecycle.State.STARTED);
+        }
+
+        Fragment target = find(tag);
+        if (target == null) {
+            target = factory.create();
+            transaction.add(containerId, target, tag);
+        } else {
+            transaction.show(target);
+        }
+        transaction.setMaxLifecycle(target, Lifecycle.State.RESUMED);
+
+        // Synchronous, so the next show() finds this fragment by tag even on
+        // a rapid second tap, instead of adding a duplicate or leaving this
+        // one RESUMED behind it
+        transaction.commitNow();
+        current = tag;
+    }
+
+    /**
+     * Returns the tag of the visible destination, or null before the first show().
+     */
+    public String getCurrent() {
+        return current;
+    }
+
+    /**
+     * Returns the fragment for a destination if it has been created.
+     */
+    public Fragment find(String tag) {
+        return fragmentManager.findFragmentByTag(tag);
+    }
+
+    /**
+     * Call from Activity.onSaveInstanceState().
+     */
+    public void saveState(Bundle outState) {
+        outState.putString(STATE_CURRENT, current);
+    }
+
+    /**
+     * Call from Activity.onCreate() after registering destinations.
+     * The FragmentManager has already restored the fragments themselves,
+     * together with their hidden/shown state.
+     *
+     * @return The restored destination tag, or null on a fresh start
+     */
+    public String restoreState(Bundle savedInstanceState) {
+        if (savedInstanceState != null) current = savedInstanceState.getString(STATE_CURRENT);
+        return current;
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * ProfileSync.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Keeps users/{uid} up to date without rewriting it on every sign-in. The
+ * last profile written is cached in SharedPreferences;
+ * a sign-in only writes the fields that differ from it, as a merge.
+ *
+ * Features:
+ * - Unchanged profile: no Firestore write at all
+ * - Changed profile: one merge of just the changed fields
+ * - Emails are stored normalized (see EmailKey); a changed email also
+ *   updates the emails/{key} index in the same queue transaction
+ * - Writes go through the durable SyncQueue, which retries them until they
+ *   reach Firestore; callers navigate without waiting for the server
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ProfileSync {
+
+    private static final String PREFS_NAME = "ProfileCache";
+    static final String COLLECTION_USERS = "users";
+
+    private static ProfileSync instance;
+
+    private final Context context;
+    private final SharedPreferences prefs;
+
+    private ProfileSync(Context context) {
+        this.context = context;
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Returns the process-wide profile sync.
+     *
+     * @param context Any context; the application context is retained
+     */
+    public static synchronized ProfileSync getInstance(Context context) {
+        if (instance == null) {
+            instance = new ProfileSync(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Queues whatever differs between the cached profile and this one.
+     * Returns immediately; the write (if any) ships in the background.
+     * Call from the main thread.
+     *
+     * @param user Profile seen at sign-in
+     * @return true if a write was queued, false if the profile was unchanged
+     */
+    public boolean upsert(User user) {
+        // Stored lower-cased, like sign-up and the index, so the legacy
+        // users query in EmailIndex can match it
+        if (user.getEmail() != null) {
+            user = new User(user.getName(), EmailKey.normalize(user.getEmail()), user.getUid());
+        }
+        User stored = getCached();
+        Map<String, Object> changes = ProfileDiff.changes(stored, user);
+        if (changes.isEmpty()) return false;
+
+        List<QueuedWrite> writes = new ArrayList<>(3);
+        writes.add(QueuedWrite.merge(COLLECTION_USERS, user.getUid(), changes));
+
+        // Keep emails/{key} pointing at this user; drop the old address if it moved
+        Object email = changes.get("email");
+        if (email != null) {
+            writes.add(QueuedWrite.set(EmailIndex.COLLECTION_EMAILS, EmailKey.of((String) email),
+                    EmailIndex.entry(user.getUid(), (String) email)));
+            if (stored != null && user.getUid().equals(stored.getUid()) && stored.getEmail() != null
+                    && !EmailKey.of(stored.getEmail()).equals(EmailKey.of((String) email))) {
+                writes.add(QueuedWrite.delete(EmailIndex.COLLECTION_EMAILS, EmailKey.of(stored.getEmail())));
+            }
+        }
+
+        LedgerStore.getInstance(context).getSyncQueue().submit(writes.toArray(new QueuedWrite[0]));
+        remember(ProfileDiff.merge(stored, changes));
+        return true;
+    }
+
+    /**
+     * Records a profile that is on the server or queued for it, e.g. right
+     * after sign-up queued the full document.
+     */
+    public void remember(User user) {
+        prefs.edit()
+                .putString("uid", user.getUid())
+                .putString("name", user.getName())
+                .putString("email", user.getEmail())
+                .apply();
+    }
+
+    /**
+     * Returns the last profile written or queued, or null if none is cached.
+     */
+    public User getCached() {
+        String uid = prefs.getString("uid", null);
+        if (uid == null) return null;
+        return new User(prefs.getString("name", null), prefs.getString("email", null), uid);
+    }
+}
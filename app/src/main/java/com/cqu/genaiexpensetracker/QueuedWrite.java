@@ -0,0 +1,74 @@
+/**
+ * QueuedWrite.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * One pending Firestore write in the SyncQueue. When a document is edited
+ * again before its earlier write has shipped, the two are folded into a
+ * single write with the same end result, so the queue holds at most one
+ * write per document.
+ *
+ * Features:
+ * - set: replaces the document; merge: updates only the given fields;
+ *   delete: removes it
+ * - A later set or delete supersedes whatever was queued
+ * - A later merge is folded into the queued set or merge field by field
+ * - Pure Java, so the folding rules are unit tested on the JVM
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class QueuedWrite {
+
+    static final String OP_SET = "set";
+    static final String OP_MERGE = "merge";
+    static final String OP_DELETE = "delete";
+
+    final String collection;
+    final String docId;
+    final String op;
+    // Fields for a set or merge; null for a delete
+    final Map<String, Object> payload;
+
+    QueuedWrite(String collection, String docId, String op, Map<String, Object> payload) {
+        this.collection = collection;
+        this.docId = docId;
+        this.op = op;
+        this.payload = payload;
+    }
+
+    static QueuedWrite set(String collection, String docId, Map<String, Object> fields) {
+        return new QueuedWrite(collection, docId, OP_SET, fields);
+    }
+
+    static QueuedWrite merge(String collection, String docId, Map<String, Object> fields) {
+        return new QueuedWrite(collection, docId, OP_MERGE, fields);
+    }
+
+    static QueuedWrite delete(String collection, String docId) {
+        return new QueuedWrite(collection, docId, OP_DELETE, null);
+    }
+
+    /**
+     * Returns one write with the same effect as applying earlier, then later.
+     *
+     * @param earlier Write already queued for the document, or null
+     * @param later   New write for the same document
+     */
+    static QueuedWrite coalesce(QueuedWrite earlier, QueuedWrite later) {
+        if (earlier == null || !OP_MERGE.equals(later.op)) return later;
+
+        // Merging into a deleted document creates it with just these fields
+        if (OP_DELETE.equals(earlier.op)) return set(later.collection, later.docId, later.payload);
+
+        Map<String, Object> fields = new HashMap<>();
+        if (earlier.payload != null) fields.putAll(earlier.payload);
+        if (later.payload != null) fields.putAll(later.payload);
+        return new QueuedWrite(later.collection, later.docId, earlier.op, fields);
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * SdkInitializer.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Starts third-party SDKs in stages and times each one, so startup only
+ * pays for what the first screen needs and the log shows where the rest
+ * of the time goes.
+ *
+ * Features:
+ * - Eager stage: runs inline on the calling (main) thread
+ * - Background stage: runs on one low-priority worker thread, in order
+ * - On-demand stage: a Lazy holder created on first get(), exactly once;
+ *   a failed create is reported and thrown to the caller as an InitException
+ * - Every init is reported with its stage, thread and cost in microseconds
+ * - Pure Java with an injectable clock and reporter for unit tests
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class SdkInitializer {
+
+    // Stage names used in reports
+    public static final String STAGE_EAGER = "eager";
+    public static final String STAGE_BACKGROUND = "background";
+    public static final String STAGE_ON_DEMAND = "on_demand";
+
+    /**
+     * Creates an SDK object; may throw, in which case the failure is reported.
+     */
+    public interface Factory<T> {
+        T create() throws Exception;
+    }
+
+    /**
+     * Thrown by Lazy.get() when the SDK could not be created. The failure
+     * has already been reported; the cause is the factory's exception.
+     */
+    public static final class InitException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InitException(String sdk, Throwable cause) {
+            super(sdk + " failed to start", cause);
+        }
+    }
+
+    /**
+     * Receives one line per initialized SDK.
+     */
+    public interface Reporter {
+        void onInitialized(String sdk, String stage, String thread, long micros, Throwable error);
+    }
+
+    /**
+     * A value created on first use. Thread-safe; the factory runs at most
+     * once unless it fails, in which case get() throws and the next get()
+     * tries again. get() never returns null.
+     */
+    public final class Lazy<T> {
+        private final String sdk;
+        private final Factory<T> factory;
+        private volatile T value;
+
+        private Lazy(String sdk, Factory<T> factory) {
+            this.sdk = sdk;
+            this.factory = factory;
+        }
+
+        /**
+         * @throws InitException if the factory threw or returned null
+         */
+        public T get() {
+            T result = value;
+            if (result != null) return result;
+            synchronized (this) {
+                if (value == null) {
+                    T created = timeOrThrow(sdk, STAGE_ON_DEMAND, factory);
+                    if (created == null) throw new InitException(sdk, new NullPointerException("factory returned null"));
+                    value = created;
+                }
+                return value;
+            }
+        }
+
+        /**
+         * Returns true once get() has created the value.
+         */
+        public boolean isInitialized() {
+            return value != null;
+        }
+    }
+
+    /**
+     * One timing record, kept for dump().
+     */
+    private static final class Timing {
+        final String sdk;
+        final String stage;
+        final long micros;
+
+        Timing(String sdk, String stage, long micros) {
+            this.sdk = sdk;
+            this.stage = stage;
+            this.micros = micros;
+        }
+    }
+
+    private final StartupTracer.Clock clock;
+    private final Reporter reporter;
+    private final List<Timing> timings = new ArrayList<>();
+    private ExecutorService background;
+
+    /**
+     * @param reporter Receives every init timing (the app logs them)
+     */
+    public SdkInitializer(Reporter reporter) {
+        this(System::nanoTime, reporter);
+    }
+
+    SdkInitializer(StartupTracer.Clock clock, Reporter reporter) {
+        this.clock = clock;
+        this.reporter = reporter;
+    }
+
+    /**
+     * Initializes an SDK inline. Use only for what the first screen needs.
+     *
+     * @return What the factory created, or null if it threw
+     */
+    public <T> T eager(String sdk, Factory<T> factory) {
+        return time(sdk, STAGE_EAGER, factory);
+    }
+
+    /**
+     * Queues an SDK for the background worker. Tasks run one at a time in
+     * the order they were queued.
+     */
+    public synchronized void background(String sdk, Factory<?> factory) {
+        if (background == null) {
+            background = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(() -> {
+                    // Stay out of the way of the main and render threads
+                    Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+                    runnable.run();
+                }, "sdk-init");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        background.execute(() -> time(sdk, STAGE_BACKGROUND, factory));
+    }
+
+    /**
+     * Returns a holder that initializes the SDK the first time it is used.
+     */
+    public <T> Lazy<T> onDemand(String sdk, Factory<T> factory) {
+        return new Lazy<>(sdk, factory);
+    }
+
+    /**
+     * Returns microseconds spent initializing an SDK, or -1 if it has not run.
+     */
+    public synchronized long getMicros(String sdk) {
+        for (Timing timing : timings) {
+            if (timing.sdk.equals(sdk)) return timing.micros;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a one-line summary, e.g. "firebase_auth eager 850us, firestore background 4200us".
+     */
+    public synchronized String dump() {
+        StringBuilder out = new StringBuilder();
+        for (Timing timing : timings) {
+            if (out.length() > 0) out.append(", ");
+            out.append(timing.sdk).append(' ').append(timing.stage).append(' ')
+                    .append(timing.micros).append("us");
+        }
+        return out.toString();
+    }
+
+    private <T> T time(String sdk, String stage, Factory<T> factory) {
+        try {
+            return timeOrThrow(sdk, stage, factory);
+        } catch (InitException e) {
+            // A missing or broken SDK must not take startup down with it
+            return null;
+        }
+    }
+
+    private <T> T timeOrThrow(String sdk, String stage, Factory<T> factory) {
+        long start = clock.nowNanos();
+        T value = null;
+        Throwable error = null;
+        try {
+            value = factory.create();
+        } catch (Exception | LinkageError e) {
+            error = e;
+        }
+        long micros = (clock.nowNanos() - start) / 1_000;
+        synchronized (this) {
+            timings.add(new Timing(sdk, stage, micros));
+        }
+        reporter.onInitialized(sdk, stage, Thread.currentThread().getName(), micros, error);
+        if (error != null) throw new InitException(sdk, error);
+        return value;
+    }
+}
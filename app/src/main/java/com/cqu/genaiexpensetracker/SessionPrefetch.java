@@ -0,0 +1,194 @@
+/**
+ * SessionPrefetch.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Loads what the Dashboard shows first as soon as a UID is known, so the
+ * reads overlap with the profile write and the activity transition instead
+ * of starting after navbar is on screen.
+ *
+ * Features:
+ * - This month's income, expenses and budget/{uid}_{yyyy-MM} are requested
+ *   in parallel under GuardedCall.FIRESTORE_READ; each result is applied
+ *   as soon as it arrives
+ * - Transactions land in the local ledger, which updates the monthly totals
+ *   and, through them, the cached insights
+ * - The budget limit goes to the InsightsEngine, and a BudgetTracker built
+ *   from the prefetched expenses seeds the Dashboard's BudgetEngine
+ * - Documents are decoded on AppExecutors.snapshots(), off the main thread
+ * - One prefetch per user and month; repeat calls are ignored unless a
+ *   read of the previous one failed
+ * - Every call also requests a DeltaSync, which fills in the rest of the
+ *   history and picks up edits and deletes made on other devices
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Executor;
+
+public final class SessionPrefetch {
+
+    private static final String TAG = "SessionPrefetch";
+
+    // Decoding happens here rather than on the main thread
+    private static final Executor DECODER = AppExecutors.snapshots();
+
+    private static SessionPrefetch latest;
+
+    private final String uid;
+    private final int month;
+    private final long startedAt = SystemClock.elapsedRealtime();
+
+    // Handed to the first BudgetEngine that asks (guarded by the class lock)
+    private BudgetTracker budget;
+
+    private SessionPrefetch(String uid, int month) {
+        this.uid = uid;
+        this.month = month;
+    }
+
+    /**
+     * Starts loading the user's current month. Call on the main thread as
+     * soon as sign-in returns a UID; it does not wait for anything.
+     *
+     * @param context Any context
+     * @param uid     Signed-in user
+     */
+    public static void start(Context context, String uid) {
+        DeltaSync.getInstance(context).requestSync(uid);
+
+        TimeZone zone = TimeZone.getDefault();
+        int month = LedgerMonth.of(System.currentTimeMillis(), zone);
+        SessionPrefetch prefetch;
+        synchronized (SessionPrefetch.class) {
+            if (latest != null && latest.uid.equals(uid) && latest.month == month) return;
+            prefetch = new SessionPrefetch(uid, month);
+            latest = prefetch;
+        }
+        prefetch.run(LedgerStore.getInstance(context), zone);
+    }
+
+    /**
+     * Returns a BudgetTracker already filled from the prefetch, once. Later
+     * calls (and calls for another user or month) return null.
+     */
+    static synchronized BudgetTracker takeBudget(String uid, int month) {
+        if (latest == null || !latest.uid.equals(uid) || latest.month != month) return null;
+        BudgetTracker tracker = latest.budget;
+        latest.budget = null;
+        return tracker;
+    }
+
+    private void run(LedgerStore store, TimeZone zone) {
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        long from = LedgerMonth.startMillis(month, zone);
+        long to = LedgerMonth.endMillis(month, zone);
+
+        // All three reads are in flight before any result is handled
+        Query incomeQuery = db.collection(LedgerStore.COLLECTION_INCOME)
+                .whereEqualTo("uid", uid)
+                .whereGreaterThanOrEqualTo("createdAt", from)
+                .whereLessThan("createdAt", to);
+        Query expensesQuery = db.collection(LedgerStore.COLLECTION_EXPENSES)
+                .whereEqualTo("uid", uid)
+                .whereGreaterThanOrEqualTo("createdAt", from)
+                .whereLessThan("createdAt", to);
+        DocumentReference budgetRef = db.collection(BudgetEngine.COLLECTION_BUDGET)
+                .document(Budget.documentId(uid, month));
+        Task<QuerySnapshot> income = GuardedCall.run(GuardedCall.FIRESTORE_READ, incomeQuery::get);
+        Task<QuerySnapshot> expenses = GuardedCall.run(GuardedCall.FIRESTORE_READ, expensesQuery::get);
+        Task<DocumentSnapshot> budgetDoc = GuardedCall.run(GuardedCall.FIRESTORE_READ, budgetRef::get);
+
+        income.addOnSuccessListener(DECODER, snapshot ->
+                store.importRemote(decodeIncome(snapshot), Collections.emptyList(),
+                        () -> log("income", snapshot.size())));
+        expenses.addOnSuccessListener(DECODER, snapshot ->
+                store.importRemote(Collections.emptyList(), decodeExpenses(snapshot),
+                        () -> log("expenses", snapshot.size())));
+        budgetDoc.addOnSuccessListener(DECODER, document -> {
+            long cents = document.exists() ? BudgetEngine.readBudgetCents(document.getData()) : BudgetStatus.NO_BUDGET;
+            store.getInsightsEngine().setBudget(uid, month, cents);
+            log("budget", document.exists() ? 1 : 0);
+        });
+
+        // The Dashboard's budget card needs both the limit and the month's expenses
+        Tasks.whenAllSuccess(expenses, budgetDoc).addOnSuccessListener(DECODER, results -> {
+            BudgetTracker tracker = new BudgetTracker(month);
+            for (QueryDocumentSnapshot document : expenses.getResult()) {
+                if (DeltaSync.isTombstone(document)) continue;
+                tracker.onExpenseAdded(document.getId(), BudgetEngine.readAmountCents(document));
+            }
+            DocumentSnapshot document = budgetDoc.getResult();
+            tracker.setBudget(document.exists() ? BudgetEngine.readBudgetCents(document.getData()) : BudgetStatus.NO_BUDGET);
+            synchronized (SessionPrefetch.class) {
+                budget = tracker;
+            }
+        });
+
+        Tasks.whenAllComplete(income, expenses, budgetDoc).addOnCompleteListener(DECODER, all -> {
+            boolean failed = false;
+            for (Task<?> task : all.getResult()) {
+                if (task.isSuccessful()) continue;
+                failed = true;
+                Log.w(TAG, "Prefetch read failed", task.getException());
+            }
+            if (!failed) return;
+            // Let the next start() for this user and month try again
+            synchronized (SessionPrefetch.class) {
+                if (latest == this) latest = null;
+            }
+        });
+    }
+
+    /**
+     * Decodes income documents, tombstones included, with their IDs set.
+     */
+    static List<IncomeEntry> decodeIncome(QuerySnapshot snapshot) {
+        List<IncomeEntry> entries = new ArrayList<>(snapshot.size());
+        for (QueryDocumentSnapshot document : snapshot) {
+            IncomeEntry entry = IncomeEntryCodec.INSTANCE.decode(FirestoreData.of(document));
+            if (entry == null) continue;
+            entry.setId(document.getId());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Decodes expense documents, tombstones included, with their IDs set.
+     */
+    static List<ExpenseEntry> decodeExpenses(QuerySnapshot snapshot) {
+        List<ExpenseEntry> entries = new ArrayList<>(snapshot.size());
+        for (QueryDocumentSnapshot document : snapshot) {
+            ExpenseEntry entry = ExpenseEntryCodec.INSTANCE.decode(FirestoreData.of(document));
+            if (entry == null) continue;
+            entry.setId(document.getId());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private void log(String what, int documents) {
+        Log.i(TAG, what + " ready (" + documents + " docs) after "
+                + (SystemClock.elapsedRealtime() - startedAt) + "ms");
+    }
+}
@@ -12,6 +12,7 @@
  * - Password strength validation
  * - Real-time input feedback
  * - Firebase confirmPasswordReset integration
+ * - confirmPasswordReset has a deadline, so the progress dialog always closes
  * - Redirects to SignIn screen after success
  */
 
@@ -32,6 +33,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
+import com.cqu.genaiexpensetracker.validation.FormValidator;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.auth.FirebaseAuth;
@@ -151,9 +153,9 @@ public class SetNewPassword extends AppCompatActivity {
         if (newPassword.isEmpty()) {
             showError(newPasswordLayout, newPasswordError, "Password is required.");
             isValid = false;
-        } else if (!newPassword.matches("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&]).{8,}$")) {
-            showError(newPasswordLayout, newPasswordError,
-                    "Password must include uppercase, lowercase, digit, special char, and 8+ chars.");
+        } else if (!FormValidator.isStrongPassword(newPassword)) {
+            showError(newPasswordLayout, newPasswordError, "Password must include "
+                    + FormValidator.describeRules(FormValidator.missingPasswordRules(newPassword)) + ".");
             isValid = false;
         } else {
             clearError(newPasswordLayout, newPasswordError);
@@ -174,14 +176,20 @@ public class SetNewPassword extends AppCompatActivity {
 
         if (isValid && oobCode != null) {
             progressDialog.show();
-            mAuth.confirmPasswordReset(oobCode, newPassword)
+            // The code is consumed on success, so a timed-out call is not repeated
+            GuardedCall.run(GuardedCall.AUTH_ONCE, () ->
+                            TaskMetrics.time(TaskMetrics.AUTH_CONFIRM_RESET, mAuth.confirmPasswordReset(oobCode, newPassword)))
                     .addOnSuccessListener(unused -> {
                         progressDialog.dismiss();
                         showSuccessDialog();
                     })
                     .addOnFailureListener(e -> {
                         progressDialog.dismiss();
-                        showDialog("Failed", "Could not update password. Try requesting another link.");
+                        if (GuardedCall.isUnavailable(e)) {
+                            showDialog("Failed", "The server is not responding. Check your connection and try again.");
+                        } else {
+                            showDialog("Failed", "Could not update password. Try requesting another link.");
+                        }
                     });
         } else if (oobCode == null) {
             showDialog("Error", "Reset code missing. Please try again.");
@@ -13,8 +13,10 @@
  * Features:
  * - Live input validation and visual feedback
  * - "Remember Me" support using SharedPreferences
- * - Firestore integration to save user details
+ * - Firestore profile sync that only writes changed fields
  * - Custom loading dialog for smoother transitions
+ * - Google and Facebook SDKs are only started when their button is tapped
+ * - This month's data starts loading the moment a UID is known
  */
 
 package com.cqu.genaiexpensetracker;
@@ -41,6 +43,7 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
+import com.cqu.genaiexpensetracker.validation.FormValidator;
 import com.facebook.*;
 import com.facebook.login.LoginManager;
 import com.facebook.login.LoginResult;
@@ -50,7 +53,6 @@ import com.google.android.gms.tasks.Task;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.auth.*;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.Arrays;
 
@@ -91,19 +93,17 @@ public class SignIn extends AppCompatActivity {
 
         initializeFirebase();
         initializeViews();
-        initializeGoogleSignIn();
-        initializeFacebookLogin();
+        registerGoogleSignInResult();
         setupListeners();
         loadRememberedCredentials();
         updateLoginButtonState();
     }
 
     /**
-     * Initializes FirebaseAuth and Facebook callback manager.
+     * Initializes FirebaseAuth.
      */
     private void initializeFirebase() {
         mAuth = FirebaseAuth.getInstance();
-        callbackManager = CallbackManager.Factory.create();
     }
 
     /**
@@ -156,16 +156,10 @@ public class SignIn extends AppCompatActivity {
     }
 
     /**
-     * Configures Google Sign-In and handles result.
+     * Registers the Google Sign-In result handler. Registration must happen
+     * in onCreate; the client itself is only built when the button is tapped.
      */
-    private void initializeGoogleSignIn() {
-        GoogleSignInOptions gso = new GoogleSignInOptions.Builder(GoogleSignInOptions.DEFAULT_SIGN_IN)
-                .requestIdToken(getString(R.string.default_web_client_id))
-                .requestEmail()
-                .build();
-
-        googleSignInClient = GoogleSignIn.getClient(this, gso);
-
+    private void registerGoogleSignInResult() {
         googleSignInLauncher = registerForActivityResult(
                 new ActivityResultContracts.StartActivityForResult(),
                 result -> {
@@ -177,10 +171,41 @@ public class SignIn extends AppCompatActivity {
     }
 
     /**
-     * Initializes Facebook Login and handles callback events.
+     * Returns the Google Sign-In client, building it on first use.
+     *
+     * @return The client, or null after telling the user it could not be built
      */
-    private void initializeFacebookLogin() {
-        LoginManager.getInstance().registerCallback(callbackManager, new FacebookCallback<LoginResult>() {
+    private GoogleSignInClient googleSignIn() {
+        if (googleSignInClient == null) {
+            try {
+                googleSignInClient = ExpenseTrackerApp.from(this).getGoogleSignIn();
+            } catch (SdkInitializer.InitException e) {
+                Toast.makeText(this, R.string.error_google_login, Toast.LENGTH_SHORT).show();
+                return null;
+            }
+        }
+        return googleSignInClient;
+    }
+
+    /**
+     * Starts the Facebook SDK on first use and registers this screen's
+     * login callbacks.
+     *
+     * @return The Facebook LoginManager, or null after telling the user the
+     *         SDK could not start
+     */
+    private LoginManager facebookLogin() {
+        LoginManager loginManager;
+        try {
+            loginManager = ExpenseTrackerApp.from(this).getFacebookLogin();
+        } catch (SdkInitializer.InitException e) {
+            Toast.makeText(this, R.string.error_facebook_failed, Toast.LENGTH_SHORT).show();
+            return null;
+        }
+        if (callbackManager != null) return loginManager;
+
+        callbackManager = CallbackManager.Factory.create();
+        loginManager.registerCallback(callbackManager, new FacebookCallback<LoginResult>() {
             public void onSuccess(LoginResult loginResult) {
                 showLoader();
                 handleFacebookAccessToken(loginResult.getAccessToken());
@@ -194,6 +219,7 @@ public class SignIn extends AppCompatActivity {
                 Toast.makeText(SignIn.this, R.string.error_facebook_failed, Toast.LENGTH_SHORT).show();
             }
         });
+        return loginManager;
     }
 
     /**
@@ -223,14 +249,19 @@ public class SignIn extends AppCompatActivity {
 
         signInButton.setOnClickListener(v -> validateInputsAndLogin());
 
-        googleSignInButton.setOnClickListener(v ->
-                googleSignInClient.signOut().addOnCompleteListener(task -> {
-                    showLoader();
-                    googleSignInLauncher.launch(googleSignInClient.getSignInIntent());
-                }));
+        googleSignInButton.setOnClickListener(v -> {
+            GoogleSignInClient client = googleSignIn();
+            if (client == null) return;
+            client.signOut().addOnCompleteListener(task -> {
+                showLoader();
+                googleSignInLauncher.launch(client.getSignInIntent());
+            });
+        });
 
-        facebookSignInButton.setOnClickListener(v ->
-                LoginManager.getInstance().logInWithReadPermissions(this, Arrays.asList("email", "public_profile")));
+        facebookSignInButton.setOnClickListener(v -> {
+            LoginManager loginManager = facebookLogin();
+            if (loginManager != null) loginManager.logInWithReadPermissions(this, Arrays.asList("email", "public_profile"));
+        });
 
         passwordInputLayout.setEndIconOnClickListener(v -> togglePasswordVisibility());
     }
@@ -256,8 +287,11 @@ public class SignIn extends AppCompatActivity {
      */
     private void performLogin(String email, String password) {
         showLoader();
-        mAuth.signInWithEmailAndPassword(email, password).addOnCompleteListener(task -> {
+        TaskMetrics.time(TaskMetrics.AUTH_SIGN_IN_EMAIL, mAuth.signInWithEmailAndPassword(email, password)).addOnCompleteListener(task -> {
             if (task.isSuccessful()) {
+                // Start loading this month while the rest of sign-in finishes
+                FirebaseUser user = mAuth.getCurrentUser();
+                if (user != null) SessionPrefetch.start(this, user.getUid());
                 if (rememberMeCheckBox.isChecked()) {
                     sharedPreferences.edit()
                             .putString("email", email)
@@ -285,7 +319,8 @@ public class SignIn extends AppCompatActivity {
             GoogleSignInAccount account = task.getResult(ApiException.class);
             if (account != null && account.getIdToken() != null) {
                 AuthCredential credential = GoogleAuthProvider.getCredential(account.getIdToken(), null);
-                mAuth.signInWithCredential(credential).addOnCompleteListener(this, result -> {
+                Task<AuthResult> signIn = TaskMetrics.time(TaskMetrics.AUTH_SIGN_IN_GOOGLE, mAuth.signInWithCredential(credential));
+                signIn.addOnCompleteListener(this, result -> {
                     if (result.isSuccessful()) {
                         saveUserAndNavigate(mAuth.getCurrentUser());
                     } else {
@@ -307,7 +342,8 @@ public class SignIn extends AppCompatActivity {
      */
     private void handleFacebookAccessToken(AccessToken token) {
         AuthCredential credential = FacebookAuthProvider.getCredential(token.getToken());
-        mAuth.signInWithCredential(credential).addOnCompleteListener(this, task -> {
+        Task<AuthResult> signIn = TaskMetrics.time(TaskMetrics.AUTH_SIGN_IN_FACEBOOK, mAuth.signInWithCredential(credential));
+        signIn.addOnCompleteListener(this, task -> {
             if (task.isSuccessful()) {
                 saveUserAndNavigate(mAuth.getCurrentUser());
             } else {
@@ -318,7 +354,9 @@ public class SignIn extends AppCompatActivity {
     }
 
     /**
-     * Stores user info in Firestore and navigates to Dashboard.
+     * Starts the month prefetch, syncs the user's profile in the background
+     * and navigates to the Dashboard straight away. Only changed fields are written, so a
+     * repeat sign-in usually writes nothing.
      *
      * @param user The authenticated FirebaseUser
      */
@@ -326,18 +364,12 @@ public class SignIn extends AppCompatActivity {
         if (user == null) return;
 
         String uid = user.getUid();
+        SessionPrefetch.start(this, uid);
         String name = user.getDisplayName() != null ? user.getDisplayName() : "Unknown";
         String email = user.getEmail();
 
-        FirebaseFirestore.getInstance()
-                .collection("users")
-                .document(uid)
-                .set(new User(name, email, uid))
-                .addOnSuccessListener(unused -> navigateToDashboard())
-                .addOnFailureListener(e -> {
-                    hideLoader();
-                    Toast.makeText(this, "Firestore error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
+        ProfileSync.getInstance(this).upsert(new User(name, email, uid));
+        navigateToDashboard();
     }
 
     /**
@@ -367,7 +399,9 @@ public class SignIn extends AppCompatActivity {
     @Override
     protected void onActivityResult(int requestCode, int resultCode, Intent data) {
         super.onActivityResult(requestCode, resultCode, data);
-        callbackManager.onActivityResult(requestCode, resultCode, data);
+        // The activity may have been recreated while Facebook was showing
+        if (callbackManager == null && FacebookSdk.isFacebookRequestCode(requestCode)) facebookLogin();
+        if (callbackManager != null) callbackManager.onActivityResult(requestCode, resultCode, data);
     }
 
     /**
@@ -375,7 +409,7 @@ public class SignIn extends AppCompatActivity {
      */
     private void validateEmail() {
         String email = emailInput.getText().toString().trim();
-        boolean isValid = android.util.Patterns.EMAIL_ADDRESS.matcher(email).matches();
+        boolean isValid = FormValidator.isEmail(email);
 
         if (email.isEmpty()) {
             showError(emailInputLayout, emailError, getString(R.string.error_email_required));
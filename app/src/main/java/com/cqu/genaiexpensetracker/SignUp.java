@@ -8,6 +8,8 @@
  * This activity handles user registration using Firebase Authentication and Firestore.
  * It validates inputs (name, email, password, confirm password) with live feedback,
  * enforces strong password rules, and shows a success dialog on successful registration.
+ * Emails already in the emails/{key} index are flagged while typing (debounced and
+ * cached by EmailAvailability) and rejected before an account is attempted.
  */
 
 package com.cqu.genaiexpensetracker;
@@ -29,11 +31,11 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
+import com.cqu.genaiexpensetracker.validation.FormValidator;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthUserCollisionException;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.Objects;
 
@@ -47,7 +49,7 @@ public class SignUp extends AppCompatActivity {
 
     // Firebase
     private FirebaseAuth mAuth;
-    private FirebaseFirestore db;
+    private EmailAvailability emailAvailability;
 
     // Input validation flags
     private boolean isPasswordVisible = false;
@@ -68,7 +70,7 @@ public class SignUp extends AppCompatActivity {
         setContentView(R.layout.activity_signup);
 
         mAuth = FirebaseAuth.getInstance();
-        db = FirebaseFirestore.getInstance();
+        emailAvailability = ExpenseTrackerApp.from(this).getEmailAvailability();
 
         initializeViews();
         setupListeners();
@@ -159,25 +161,46 @@ public class SignUp extends AppCompatActivity {
             String email = Objects.requireNonNull(emailInput.getText()).toString().trim();
             String password = Objects.requireNonNull(passwordInput.getText()).toString();
 
-            mAuth.createUserWithEmailAndPassword(email, password)
-                    .addOnSuccessListener(authResult -> {
-                        String uid = Objects.requireNonNull(mAuth.getCurrentUser()).getUid();
-                        User user = new User(name, email, uid);
-
-                        db.collection("users").document(uid).set(user)
-                                .addOnSuccessListener(unused -> showSuccessDialog())
-                                .addOnFailureListener(e -> Toast.makeText(this, "Firestore error: " + e.getMessage(), Toast.LENGTH_LONG).show());
-                    })
-                    .addOnFailureListener(e -> {
-                        if (e instanceof FirebaseAuthUserCollisionException) {
-                            setError(emailInputLayout, emailErrorText, "This email is already registered.");
-                        } else {
-                            Toast.makeText(this, "Registration failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                        }
-                    });
+            // Usually answered from the live check's cache; otherwise one index read
+            emailAvailability.lookup(email, (address, result) -> {
+                if (result == EmailAvailability.Result.REGISTERED) {
+                    showEmailTaken();
+                } else {
+                    // Available, or the check failed: Firebase Auth has the final say
+                    createAccount(name, email, password);
+                }
+            });
         }
     }
 
+    /**
+     * Creates the Firebase Auth account, then queues users/{uid} and its
+     * emails/{key} index entry. The queue retries them until they reach
+     * Firestore, so the account is usable straight away.
+     */
+    private void createAccount(String name, String email, String password) {
+        TaskMetrics.time(TaskMetrics.AUTH_CREATE_USER, mAuth.createUserWithEmailAndPassword(email, password))
+                .addOnSuccessListener(authResult -> {
+                    String uid = Objects.requireNonNull(mAuth.getCurrentUser()).getUid();
+                    User user = new User(name, EmailKey.normalize(email), uid);
+
+                    LedgerStore.getInstance(this).getSyncQueue().submit(
+                            QueuedWrite.set(ProfileSync.COLLECTION_USERS, uid, UserCodec.INSTANCE.encode(user)),
+                            QueuedWrite.set(EmailIndex.COLLECTION_EMAILS, EmailKey.of(email), EmailIndex.entry(uid, email)));
+                    ProfileSync.getInstance(this).remember(user);
+                    emailAvailability.remember(email, EmailAvailability.Result.REGISTERED);
+                    showSuccessDialog();
+                })
+                .addOnFailureListener(e -> {
+                    if (e instanceof FirebaseAuthUserCollisionException) {
+                        emailAvailability.remember(email, EmailAvailability.Result.REGISTERED);
+                        showEmailTaken();
+                    } else {
+                        Toast.makeText(this, "Registration failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
+                    }
+                });
+    }
+
     /**
      * Displays a success alert dialog after successful registration.
      * Navigates to the main dashboard screen.
@@ -201,8 +224,7 @@ public class SignUp extends AppCompatActivity {
      * Validates the name input to ensure minimum character length and alphabetic characters.
      */
     private void validateName() {
-        String name = nameInput.getText().toString().trim().replaceAll("[^a-zA-Z]", "");
-        if (name.length() < 4) {
+        if (FormValidator.countLetters(nameInput.getText()) < 4) {
             setError(nameInputLayout, nameErrorText, "Name must be at least 4 letters.");
             isNameValid = false;
         } else {
@@ -223,7 +245,7 @@ public class SignUp extends AppCompatActivity {
         if (email.isEmpty()) {
             setError(emailInputLayout, emailErrorText, "Please enter your email.");
             isEmailValid = false;
-        } else if (!android.util.Patterns.EMAIL_ADDRESS.matcher(email).matches()) {
+        } else if (!FormValidator.isEmail(email)) {
             setError(emailInputLayout, emailErrorText, "Invalid email format.");
             isEmailValid = false;
         } else {
@@ -232,19 +254,37 @@ public class SignUp extends AppCompatActivity {
             emailInputLayout.setEndIconDrawable(R.drawable.ic_check_green);
             emailInputLayout.setEndIconTintList(ColorStateList.valueOf(ContextCompat.getColor(this, R.color.green)));
             isEmailValid = true;
+            emailAvailability.check(emailInput, email, (address, result) -> {
+                if (result == EmailAvailability.Result.REGISTERED) showEmailTaken();
+            });
+            return;
         }
+        emailAvailability.cancel(emailInput);
+    }
+
+    /**
+     * Flags the email field as belonging to an existing account.
+     */
+    private void showEmailTaken() {
+        setError(emailInputLayout, emailErrorText, "This email is already registered.");
+        emailInputLayout.setEndIconMode(TextInputLayout.END_ICON_CLEAR_TEXT);
+        emailInputLayout.setEndIconTintList(ColorStateList.valueOf(ContextCompat.getColor(this, R.color.black)));
+        isEmailValid = false;
+        updateSignupButtonState();
     }
 
     /**
      * Validates password complexity based on defined security rules.
      */
     private void validatePassword() {
-        String password = passwordInput.getText().toString();
-        if (password.isEmpty()) {
+        CharSequence password = passwordInput.getText();
+        int missing = FormValidator.missingPasswordRules(password);
+        if (password.length() == 0) {
             setError(passwordInputLayout, passwordErrorText, "Password is required.");
             isPasswordValid = false;
-        } else if (!password.matches("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&]).{8,}$")) {
-            setError(passwordInputLayout, passwordErrorText, "Password must include uppercase, lowercase, digit, special char, and 8+ chars.");
+        } else if (missing != 0) {
+            setError(passwordInputLayout, passwordErrorText,
+                    "Password must include " + FormValidator.describeRules(missing) + ".");
             isPasswordValid = false;
         } else {
             setSuccess(passwordInputLayout, passwordErrorText);
@@ -309,6 +349,12 @@ public class SignUp extends AppCompatActivity {
         signupButton.setTextColor(ContextCompat.getColor(this, enable ? R.color.white : R.color.grey));
     }
 
+    @Override
+    protected void onDestroy() {
+        emailAvailability.cancel(emailInput);
+        super.onDestroy();
+    }
+
     /**
      * Hides the keyboard when called from a form action.
      */
@@ -0,0 +1,96 @@
+/**
+ * SnapshotHub.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * The app's shared Firestore snapshot listeners. Screens subscribe here
+ * instead of calling addSnapshotListener themselves, so navbar re-creating
+ * a fragment on a tab switch joins the listener that is already live
+ * rather than opening a new one and downloading the results again.
+ *
+ * Features:
+ * - One listener per query or document; Firestore's Query and
+ *   DocumentReference equality (collection, filters, order, limit) is the key
+ * - A returning screen is replayed the latest snapshot at once
+ * - Listeners stay attached for GRACE_MS after the last subscriber leaves
+ * - Snapshots arrive on AppExecutors.snapshots(), never the main thread
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+public final class SnapshotHub {
+
+    // Long enough to cover a tab switch or a rotation
+    static final long GRACE_MS = 30_000;
+
+    private static SnapshotHub instance;
+
+    private final ListenerHub<Query, QuerySnapshot> queries;
+    private final ListenerHub<DocumentReference, DocumentSnapshot> documents;
+
+    private SnapshotHub() {
+        Handler main = new Handler(Looper.getMainLooper());
+        ListenerHub.Scheduler scheduler = (task, delayMillis) -> {
+            main.postDelayed(task, delayMillis);
+            return () -> main.removeCallbacks(task);
+        };
+
+        queries = new ListenerHub<>((query, observer) -> {
+            ListenerRegistration registration = query.addSnapshotListener(AppExecutors.snapshots(),
+                    (snapshot, e) -> {
+                        if (e != null) observer.onError(e);
+                        else if (snapshot != null) observer.onValue(snapshot);
+                    });
+            return registration::remove;
+        }, AppExecutors.snapshots(), scheduler, GRACE_MS);
+
+        documents = new ListenerHub<>((document, observer) -> {
+            ListenerRegistration registration = document.addSnapshotListener(AppExecutors.snapshots(),
+                    (snapshot, e) -> {
+                        if (e != null) observer.onError(e);
+                        else if (snapshot != null) observer.onValue(snapshot);
+                    });
+            return registration::remove;
+        }, AppExecutors.snapshots(), scheduler, GRACE_MS);
+    }
+
+    /**
+     * Returns the process-wide hub.
+     */
+    public static synchronized SnapshotHub get() {
+        if (instance == null) instance = new SnapshotHub();
+        return instance;
+    }
+
+    /**
+     * Subscribes to a query's snapshots. The first snapshot delivered may be
+     * a replay, so read its documents rather than its document changes.
+     *
+     * @param query    Query to share; equal queries share one listener
+     * @param observer Called on the snapshot executor
+     */
+    public ListenerHub.Subscription listen(Query query, ListenerHub.Observer<QuerySnapshot> observer) {
+        return queries.subscribe(query, observer);
+    }
+
+    /**
+     * Subscribes to a document's snapshots.
+     *
+     * @param document Document to share; one listener per path
+     * @param observer Called on the snapshot executor
+     */
+    public ListenerHub.Subscription listen(DocumentReference document, ListenerHub.Observer<DocumentSnapshot> observer) {
+        return documents.subscribe(document, observer);
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * StartupTracer.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Records named startup phases (router created, screen created, first
+ * frame drawn...) with monotonic timestamps, so time-to-first-frame can be
+ * logged on every launch and asserted on in tests.
+ *
+ * Features:
+ * - First mark is the origin; later marks are offsets from it
+ * - Each phase is recorded once; repeats (e.g. after rotation) are ignored
+ * - Fixed-size arrays, no allocation per mark
+ * - Pure Java with an injectable clock for unit tests
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class StartupTracer {
+
+    // Phase names used by the app's startup path
+    public static final String APP_CREATE = "app_create";
+    public static final String APP_READY = "app_ready";
+    public static final String ROUTER_CREATE = "router_create";
+    public static final String ROUTED = "routed";
+    public static final String WELCOME_CREATE = "welcome_create";
+    public static final String WELCOME_FIRST_FRAME = "welcome_first_frame";
+    public static final String NAVBAR_CREATE = "navbar_create";
+    public static final String NAVBAR_FIRST_FRAME = "navbar_first_frame";
+
+    private static final int MAX_PHASES = 32;
+
+    /**
+     * Monotonic time source.
+     */
+    public interface Clock {
+        long nowNanos();
+    }
+
+    private static final StartupTracer INSTANCE = new StartupTracer(System::nanoTime);
+
+    private final Clock clock;
+    private final String[] names = new String[MAX_PHASES];
+    private final long[] times = new long[MAX_PHASES];
+    private int size;
+
+    StartupTracer(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the process-wide tracer.
+     */
+    public static StartupTracer get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a phase at the current time, unless it was already recorded.
+     *
+     * @param phase Phase name
+     * @return true if this call recorded it
+     */
+    public synchronized boolean mark(String phase) {
+        if (indexOf(phase) >= 0 || size == MAX_PHASES) return false;
+        names[size] = phase;
+        times[size] = clock.nowNanos();
+        size++;
+        return true;
+    }
+
+    public synchronized boolean has(String phase) {
+        return indexOf(phase) >= 0;
+    }
+
+    /**
+     * Returns milliseconds from the first mark to a phase, or -1 if the
+     * phase has not been recorded.
+     */
+    public synchronized long elapsedMillis(String phase) {
+        int i = indexOf(phase);
+        return i < 0 ? -1 : (times[i] - times[0]) / 1_000_000;
+    }
+
+    /**
+     * Returns milliseconds between two phases, or -1 if either is missing.
+     */
+    public synchronized long betweenMillis(String from, String to) {
+        int a = indexOf(from);
+        int b = indexOf(to);
+        return a < 0 || b < 0 ? -1 : (times[b] - times[a]) / 1_000_000;
+    }
+
+    /**
+     * Returns the recorded phase names in the order they happened.
+     */
+    public synchronized List<String> getPhases() {
+        List<String> phases = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) phases.add(names[i]);
+        return phases;
+    }
+
+    /**
+     * Returns a one-line summary, e.g. "router_create +0ms, routed +3ms".
+     */
+    public synchronized String dump() {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) out.append(", ");
+            out.append(names[i]).append(" +").append((times[i] - times[0]) / 1_000_000).append("ms");
+        }
+        return out.toString();
+    }
+
+    /**
+     * Forgets every phase; the next mark becomes the new origin.
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < size; i++) names[i] = null;
+        size = 0;
+    }
+
+    private int indexOf(String phase) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(phase)) return i;
+        }
+        return -1;
+    }
+}
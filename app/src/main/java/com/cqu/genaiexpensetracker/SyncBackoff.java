@@ -0,0 +1,51 @@
+/**
+ * SyncBackoff.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Delay before the next attempt after a failed sync. The ceiling doubles
+ * with every failure up to a cap, and the delay is drawn at random from the
+ * upper half of it, so devices that failed together (e.g. during a backend
+ * outage) do not all retry at the same moment.
+ *
+ * Features:
+ * - Exponential growth with a cap, no overflow for large attempt counts
+ * - Random jitter from an injected Random, so tests are deterministic
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Random;
+
+final class SyncBackoff {
+
+    private final long baseMillis;
+    private final long maxMillis;
+
+    /**
+     * @param baseMillis Ceiling for the first retry
+     * @param maxMillis  Largest ceiling, however many attempts have failed
+     */
+    SyncBackoff(long baseMillis, long maxMillis) {
+        this.baseMillis = baseMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Returns the delay before a retry.
+     *
+     * @param attempt Failures so far, starting at 1
+     * @param random  Source of jitter
+     * @return Delay in [ceiling / 2, ceiling]
+     */
+    long delayMillis(int attempt, Random random) {
+        long ceiling = baseMillis;
+        for (int i = 1; i < attempt && ceiling < maxMillis; i++) ceiling *= 2;
+        ceiling = Math.min(ceiling, maxMillis);
+
+        long floor = ceiling / 2;
+        return floor + (long) (random.nextDouble() * (ceiling - floor));
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * SyncCheckpoint.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * High-water mark for delta sync: the (updatedAt, document ID) of the last
+ * document pulled from a collection. Documents are pulled in that order,
+ * so everything at or before the mark is already in the local ledger.
+ *
+ * Features:
+ * - The document ID breaks ties between documents with the same updatedAt
+ * - rewind() steps back in time so writes stamped by a device with a slow
+ *   clock are still picked up
+ * - clampTo() keeps a mark from running ahead of this device's clock when
+ *   another device stamped a document with a fast one
+ * - Pure Java value type
+ */
+
+package com.cqu.genaiexpensetracker;
+
+final class SyncCheckpoint implements Comparable<SyncCheckpoint> {
+
+    // Nothing pulled yet
+    static final SyncCheckpoint START = new SyncCheckpoint(0, "");
+
+    final long updatedAt;
+    // "" means "from the start of updatedAt", before every document ID
+    final String docId;
+
+    SyncCheckpoint(long updatedAt, String docId) {
+        this.updatedAt = updatedAt;
+        this.docId = docId;
+    }
+
+    /**
+     * Returns a mark the given time earlier, at the start of that millisecond.
+     */
+    SyncCheckpoint rewind(long millis) {
+        return new SyncCheckpoint(Math.max(0, updatedAt - millis), "");
+    }
+
+    /**
+     * Returns this mark, or the start of nowMillis if the mark is later.
+     * A document stamped in the future must not hide the writes that
+     * correctly-clocked devices make before that time comes.
+     */
+    SyncCheckpoint clampTo(long nowMillis) {
+        return updatedAt > nowMillis ? new SyncCheckpoint(nowMillis, "") : this;
+    }
+
+    /**
+     * Returns whichever mark is further along.
+     */
+    static SyncCheckpoint later(SyncCheckpoint a, SyncCheckpoint b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    @Override
+    public int compareTo(SyncCheckpoint other) {
+        int byTime = Long.compare(updatedAt, other.updatedAt);
+        return byTime != 0 ? byTime : docId.compareTo(other.docId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SyncCheckpoint)) return false;
+        SyncCheckpoint other = (SyncCheckpoint) o;
+        return updatedAt == other.updatedAt && docId.equals(other.docId);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(updatedAt) + docId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return updatedAt + "/" + docId;
+    }
+}
@@ -0,0 +1,424 @@
+/**
+ * SyncQueue.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Durable outbound queue of Firestore writes. Local ledger writes append a
+ * row here in the same SQLite transaction, and the queue later drains to
+ * Firestore in WriteBatch chunks from a WorkManager job (see SyncScheduler).
+ *
+ * Features:
+ * - Survives process death (rows live in ledger.db)
+ * - At most one queued write per document: a new write is folded into the
+ *   queued one (see QueuedWrite)
+ * - Flushes up to 500 writes per WriteBatch commit (Firestore's limit)
+ * - Bursts of local writes collapse into a single pending flush
+ * - A failed flush is retried with jittered exponential backoff
+ * - A write Firestore rejects for good (e.g. PERMISSION_DENIED) is found
+ *   by splitting its batch, logged and dropped, so it cannot hold up the
+ *   writes queued after it
+ * - Commits are awaited off the ledger executor with a deadline, so an
+ *   offline network never blocks local ledger work; they run under
+ *   GuardedCall.FIRESTORE_WRITE and fail fast while Firestore is down
+ * - Batch commit latency and the rows left after a flush are recorded in
+ *   the MetricsRegistry
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SyncQueue {
+
+    private static final String TAG = "SyncQueue";
+    static final String GAUGE_PENDING = "sync.pending_writes";
+    static final String COUNTER_REJECTED = "sync.rejected_writes";
+
+    // Firestore rejects batches with more than 500 writes
+    static final int MAX_BATCH_SIZE = 500;
+
+    // A commit only completes when the server acknowledges it; give up and retry later after this
+    static final long COMMIT_TIMEOUT_SECONDS = 60;
+
+    // Queue operations
+    static final String OP_SET = QueuedWrite.OP_SET;
+    static final String OP_MERGE = QueuedWrite.OP_MERGE;
+    static final String OP_DELETE = QueuedWrite.OP_DELETE;
+
+    private final Context context;
+    private final LedgerDatabase database;
+    private final Executor executor;
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+
+    /**
+     * @param context  Application context, for scheduling the sync job
+     * @param database Ledger database that owns the queue table
+     * @param executor Serial executor shared with the ledger writer
+     */
+    SyncQueue(Context context, LedgerDatabase database, Executor executor) {
+        this.context = context;
+        this.database = database;
+        this.executor = executor;
+    }
+
+    /**
+     * Appends a write to the queue. Must be called inside the caller's
+     * transaction so the local row and its queued write commit together.
+     *
+     * @param db         Open writable database
+     * @param collection Firestore collection name
+     * @param docId      Firestore document ID
+     * @param op         {@link #OP_SET}, {@link #OP_MERGE} or {@link #OP_DELETE}
+     * @param payload    Document fields for a set or merge, or null for a delete
+     */
+    void enqueue(SQLiteDatabase db, String collection, String docId, String op, Map<String, Object> payload) {
+        enqueue(db, new QueuedWrite(collection, docId, op, payload));
+    }
+
+    private void enqueue(SQLiteDatabase db, QueuedWrite write) {
+        String[] doc = {write.collection, write.docId};
+        QueuedWrite queued = null;
+        try (Cursor cursor = db.query(LedgerDatabase.TABLE_SYNC_QUEUE, new String[]{"op", "payload"},
+                "collection = ? AND doc_id = ?", doc, null, null, "seq DESC", "1")) {
+            if (cursor.moveToFirst()) {
+                queued = new QueuedWrite(write.collection, write.docId, cursor.getString(0), fromJson(cursor.getString(1)));
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Corrupt queued payload for " + write.collection + "/" + write.docId, e);
+        }
+
+        // The folded write takes a new seq, so it still ships after anything queued before it
+        QueuedWrite folded = QueuedWrite.coalesce(queued, write);
+        db.delete(LedgerDatabase.TABLE_SYNC_QUEUE, "collection = ? AND doc_id = ?", doc);
+
+        ContentValues values = new ContentValues();
+        values.put("collection", folded.collection);
+        values.put("doc_id", folded.docId);
+        values.put("op", folded.op);
+        values.put("payload", folded.payload != null ? new JSONObject(folded.payload).toString() : null);
+        values.put("queued_at", System.currentTimeMillis());
+        db.insert(LedgerDatabase.TABLE_SYNC_QUEUE, null, values);
+    }
+
+    /**
+     * Queues writes that have no local ledger row, such as the user's
+     * profile, in one transaction, then asks for a flush. Returns at once.
+     */
+    void submit(QueuedWrite... writes) {
+        executor.execute(() -> {
+            SQLiteDatabase db = database.getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (QueuedWrite write : writes) enqueue(db, write);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            requestFlush();
+        });
+    }
+
+    /**
+     * Returns the IDs of documents in a collection that still have a queued
+     * write. Their local rows are newer than anything on the server.
+     *
+     * @param db         Open database
+     * @param collection Firestore collection name
+     */
+    Set<String> pendingIds(SQLiteDatabase db, String collection) {
+        Set<String> ids = new HashSet<>();
+        try (Cursor cursor = db.query(true, LedgerDatabase.TABLE_SYNC_QUEUE, new String[]{"doc_id"},
+                "collection = ?", new String[]{collection}, null, null, null, null)) {
+            while (cursor.moveToNext()) ids.add(cursor.getString(0));
+        }
+        return ids;
+    }
+
+    /**
+     * Schedules the sync job if anything is queued. Calls made while one is
+     * already being scheduled are dropped, and the job waits a short batching
+     * window, so a burst of writes ships as one batch on one radio wake-up.
+     */
+    public void requestFlush() {
+        if (flushPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushPending.set(false);
+                SQLiteDatabase db = database.getReadableDatabase();
+                if (pendingCount(db) > 0) SyncScheduler.schedule(context, pendingBytes(db));
+            });
+        }
+    }
+
+    /**
+     * Drains the queue and waits for it. Called by SyncWorker on its own
+     * thread; if a commit fails or times out, or the queue cannot be read,
+     * schedules the next attempt after a backoff.
+     *
+     * @param attempt Failed attempts before this one
+     * @return true if the queue is now empty
+     */
+    boolean flushNow(int attempt) throws InterruptedException {
+        try {
+            if (flush()) return true;
+            long bytes = onLedger(() -> pendingBytes(database.getReadableDatabase()));
+            SyncScheduler.retry(context, attempt + 1, bytes);
+            return false;
+        } catch (ExecutionException e) {
+            // A local read or delete failed; the worker always succeeds, so
+            // without a retry the queue would wait for the next local edit.
+            // The queue size is unknown here, so only require a connection.
+            Log.e(TAG, "Flush failed", e.getCause());
+            SyncScheduler.retry(context, attempt + 1, 0);
+            return false;
+        }
+    }
+
+    /**
+     * One queued row, read for a flush.
+     */
+    private static final class Row {
+        final long seq;
+        final DocumentReference document;
+        final String op;
+        final Map<String, Object> fields;
+
+        Row(long seq, DocumentReference document, String op, Map<String, Object> fields) {
+            this.seq = seq;
+            this.document = document;
+            this.op = op;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Drains the queue in WriteBatch chunks and stops at the first commit
+     * that fails in a way a retry could fix, so the remaining rows stay
+     * queued. A chunk the server rejects for good is split by
+     * SyncSplitter until the bad rows are found; those are logged and
+     * dropped, and the rest ship. Rows are read and deleted in short tasks
+     * on the ledger executor; each commit is awaited on the calling
+     * thread, with a deadline, so a slow or offline network never holds up
+     * local reads and writes.
+     *
+     * A row folded by enqueue() while its chunk is in flight gets a new seq,
+     * so it survives the delete below and ships again with the later fields.
+     *
+     * @return true if every queued write was committed or dropped
+     */
+    private boolean flush() throws InterruptedException, ExecutionException {
+        FirebaseFirestore firestore = FirebaseFirestore.getInstance();
+
+        SyncSplitter.Sink<Row> sink = new SyncSplitter.Sink<Row>() {
+            @Override
+            public void onCommitted(List<Row> rows) throws InterruptedException, ExecutionException {
+                onLedger(() -> delete(rows));
+            }
+
+            @Override
+            public void onRejected(Row row) throws InterruptedException, ExecutionException {
+                // Retrying can never fix it, so drop the row rather than block the queue
+                Log.e(TAG, "Dropping write rejected by Firestore: " + row.op + " " + row.document.getPath());
+                MetricsRegistry.get().increment(COUNTER_REJECTED);
+                onLedger(() -> delete(Collections.singletonList(row)));
+            }
+        };
+
+        while (true) {
+            List<Row> chunk = onLedger(() -> readChunk(firestore));
+            if (chunk == null) {
+                MetricsRegistry.get().setGauge(GAUGE_PENDING, 0);
+                return true;
+            }
+
+            if (!SyncSplitter.drain(chunk, rows -> commit(firestore, rows), sink)) {
+                MetricsRegistry.get().setGauge(GAUGE_PENDING,
+                        onLedger(() -> pendingCount(database.getReadableDatabase())));
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Commits rows as one WriteBatch and waits for the server.
+     */
+    private SyncSplitter.Outcome commit(FirebaseFirestore firestore, List<Row> rows) throws InterruptedException {
+        WriteBatch batch = firestore.batch();
+        for (Row row : rows) {
+            if (OP_DELETE.equals(row.op)) batch.delete(row.document);
+            else if (OP_MERGE.equals(row.op)) batch.set(row.document, row.fields, SetOptions.merge());
+            else batch.set(row.document, row.fields);
+        }
+
+        try {
+            Tasks.await(GuardedCall.run(GuardedCall.FIRESTORE_WRITE,
+                            () -> TaskMetrics.time(TaskMetrics.SYNC_BATCH_COMMIT, batch.commit())),
+                    COMMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return SyncSplitter.Outcome.COMMITTED;
+        } catch (ExecutionException e) {
+            if (isRejected(e.getCause())) {
+                Log.w(TAG, "Batch of " + rows.size() + " writes rejected", e.getCause());
+                return SyncSplitter.Outcome.REJECTED;
+            }
+            Log.w(TAG, "Batch commit failed, " + rows.size() + " writes left queued", e);
+            return SyncSplitter.Outcome.FAILED;
+        } catch (TimeoutException e) {
+            // The commit may still land later; re-sending the same fields is harmless
+            Log.w(TAG, "Batch commit timed out, " + rows.size() + " writes left queued", e);
+            return SyncSplitter.Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Returns true if Firestore refused a batch for good. PERMISSION_DENIED
+     * only counts while someone is signed in: signed out, every write is
+     * denied, and the rows must wait for the next sign-in instead.
+     */
+    static boolean isRejected(Throwable error) {
+        if (!(error instanceof FirebaseFirestoreException)) return false;
+        switch (((FirebaseFirestoreException) error).getCode()) {
+            case PERMISSION_DENIED:
+                return FirebaseAuth.getInstance().getCurrentUser() != null;
+            case INVALID_ARGUMENT:
+            case NOT_FOUND:
+            case ALREADY_EXISTS:
+            case FAILED_PRECONDITION:
+            case OUT_OF_RANGE:
+            case UNIMPLEMENTED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Reads up to MAX_BATCH_SIZE of the oldest queued rows, dropping
+     * corrupt ones. Runs on the ledger executor.
+     *
+     * @return Rows in queue order (empty if all were corrupt), or null if
+     *         the queue is empty
+     */
+    private List<Row> readChunk(FirebaseFirestore firestore) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        List<Row> rows = new ArrayList<>();
+        List<String> corrupt = new ArrayList<>();
+
+        try (Cursor cursor = db.query(LedgerDatabase.TABLE_SYNC_QUEUE,
+                new String[]{"seq", "collection", "doc_id", "op", "payload"},
+                null, null, null, null, "seq ASC", String.valueOf(MAX_BATCH_SIZE))) {
+            if (cursor.getCount() == 0) return null;
+            while (cursor.moveToNext()) {
+                long seq = cursor.getLong(0);
+                DocumentReference document = firestore.collection(cursor.getString(1)).document(cursor.getString(2));
+                String op = cursor.getString(3);
+
+                Map<String, Object> fields = null;
+                if (!OP_DELETE.equals(op)) {
+                    try {
+                        fields = fromJson(cursor.getString(4));
+                    } catch (JSONException e) {
+                        // Retrying can never fix it, so drop the row rather than block the queue
+                        Log.e(TAG, "Dropping corrupt queued payload for " + document.getPath(), e);
+                        corrupt.add(String.valueOf(seq));
+                        continue;
+                    }
+                }
+                rows.add(new Row(seq, document, op, fields));
+            }
+        }
+
+        for (String seq : corrupt) db.delete(LedgerDatabase.TABLE_SYNC_QUEUE, "seq = ?", new String[]{seq});
+        return rows;
+    }
+
+    /**
+     * Removes shipped or dropped rows by seq. Runs on the ledger executor.
+     */
+    private Void delete(List<Row> rows) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Row row : rows) {
+                db.delete(LedgerDatabase.TABLE_SYNC_QUEUE, "seq = ?", new String[]{String.valueOf(row.seq)});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return null;
+    }
+
+    /**
+     * Runs a short database task on the ledger executor and waits for it.
+     */
+    private <T> T onLedger(Callable<T> work) throws InterruptedException, ExecutionException {
+        FutureTask<T> task = new FutureTask<>(work);
+        executor.execute(task);
+        return task.get();
+    }
+
+    /**
+     * Returns how many writes are queued.
+     */
+    private static long pendingCount(SQLiteDatabase db) {
+        return DatabaseUtils.queryNumEntries(db, LedgerDatabase.TABLE_SYNC_QUEUE);
+    }
+
+    /**
+     * Returns the approximate upload size of the queued writes.
+     */
+    private static long pendingBytes(SQLiteDatabase db) {
+        return DatabaseUtils.longForQuery(db,
+                "SELECT IFNULL(SUM(LENGTH(payload)), 0) FROM " + LedgerDatabase.TABLE_SYNC_QUEUE, null);
+    }
+
+    /**
+     * Rebuilds a Firestore field map from its queued JSON form.
+     */
+    private static Map<String, Object> fromJson(String json) throws JSONException {
+        Map<String, Object> map = new HashMap<>();
+        if (json == null) return map;
+
+        JSONObject object = new JSONObject(json);
+        Iterator<String> keys = object.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = object.get(key);
+            map.put(key, value == JSONObject.NULL ? null : value);
+        }
+        return map;
+    }
+}
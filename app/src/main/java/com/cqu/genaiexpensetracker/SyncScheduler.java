@@ -0,0 +1,87 @@
+/**
+ * SyncScheduler.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Decides when the SyncQueue is uploaded. All uploads go through one
+ * unique WorkManager job, so they survive process death and reboots, and
+ * the system can line them up with other network traffic.
+ *
+ * Features:
+ * - One job at a time: writes made while a job is waiting join it
+ * - A short batching window before each upload
+ * - Waits for any connection, or for an unmetered one when the queued
+ *   upload is large
+ * - Failed uploads are retried with jittered exponential backoff
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public final class SyncScheduler {
+
+    private static final String TAG = "SyncScheduler";
+
+    static final String UNIQUE_WORK = "ledger-sync";
+
+    // Writes made within this window after the first one ship together
+    static final long BATCH_WINDOW_MS = 5_000;
+
+    // Queued payloads at least this large wait for Wi-Fi or another unmetered network
+    static final long LARGE_UPLOAD_BYTES = 256 * 1024;
+
+    private static final SyncBackoff BACKOFF = new SyncBackoff(30_000, 60 * 60_000);
+    private static final Random RANDOM = new Random();
+
+    private SyncScheduler() {}
+
+    /**
+     * Schedules an upload after the batching window, unless one is already
+     * waiting or running.
+     *
+     * @param pendingBytes Approximate size of the queued writes
+     */
+    static void schedule(Context context, long pendingBytes) {
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_WORK, ExistingWorkPolicy.KEEP,
+                request(0, BATCH_WINDOW_MS, pendingBytes));
+    }
+
+    /**
+     * Schedules the next attempt after a failed upload. Called from inside
+     * the running job, so the retry is appended to it.
+     *
+     * @param attempt      Failed attempts so far
+     * @param pendingBytes Approximate size of the writes still queued
+     */
+    static void retry(Context context, int attempt, long pendingBytes) {
+        long delay = BACKOFF.delayMillis(attempt, RANDOM);
+        Log.i(TAG, "Sync attempt " + attempt + " failed; retrying in " + delay / 1000 + "s");
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_WORK, ExistingWorkPolicy.APPEND_OR_REPLACE,
+                request(attempt, delay, pendingBytes));
+    }
+
+    private static OneTimeWorkRequest request(int attempt, long delayMillis, long pendingBytes) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(pendingBytes >= LARGE_UPLOAD_BYTES ? NetworkType.UNMETERED : NetworkType.CONNECTED)
+                .build();
+        return new OneTimeWorkRequest.Builder(SyncWorker.class)
+                .setConstraints(constraints)
+                .setInitialDelay(delayMillis, TimeUnit.MILLISECONDS)
+                .setInputData(new Data.Builder().putInt(SyncWorker.KEY_ATTEMPT, attempt).build())
+                .build();
+    }
+}
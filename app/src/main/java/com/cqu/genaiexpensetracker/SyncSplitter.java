@@ -0,0 +1,89 @@
+/**
+ * SyncSplitter.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Commits a chunk of queued writes and, when the server rejects it for
+ * good, finds the offending writes by splitting the chunk in halves. A
+ * WriteBatch is all-or-nothing, so one bad write would otherwise fail
+ * every batch it is in and hold up everything queued after it.
+ *
+ * Features:
+ * - A chunk that commits costs one call; k bad writes in n cost about
+ *   2k log2(n) extra calls
+ * - Rejected writes are handed back one at a time to be dropped
+ * - A retryable failure stops at once, so later writes still ship after
+ *   earlier ones
+ * - No Firestore types, so it is tested on the JVM
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+final class SyncSplitter {
+
+    /**
+     * How a commit of some writes ended.
+     */
+    enum Outcome {
+        /** Every write was applied. */
+        COMMITTED,
+        /** Refused for good (e.g. PERMISSION_DENIED); retrying cannot help. */
+        REJECTED,
+        /** Timed out or could not reach the server; retry later. */
+        FAILED
+    }
+
+    /**
+     * Commits writes as one atomic batch.
+     */
+    interface Committer<T> {
+        Outcome commit(List<T> writes) throws InterruptedException, ExecutionException;
+    }
+
+    /**
+     * Told what happened to each write.
+     */
+    interface Sink<T> {
+        void onCommitted(List<T> writes) throws InterruptedException, ExecutionException;
+
+        void onRejected(T write) throws InterruptedException, ExecutionException;
+    }
+
+    private SyncSplitter() {}
+
+    /**
+     * Commits writes in order, splitting rejected batches until each bad
+     * write is isolated.
+     *
+     * @param writes    Writes in queue order
+     * @param committer Commits one batch
+     * @param sink      Receives committed batches and rejected writes, in queue order
+     * @return true if every write was committed or rejected, false if a
+     *         retryable failure stopped the drain
+     */
+    static <T> boolean drain(List<T> writes, Committer<T> committer, Sink<T> sink)
+            throws InterruptedException, ExecutionException {
+        if (writes.isEmpty()) return true;
+
+        switch (committer.commit(writes)) {
+            case COMMITTED:
+                sink.onCommitted(writes);
+                return true;
+            case REJECTED:
+                if (writes.size() == 1) {
+                    sink.onRejected(writes.get(0));
+                    return true;
+                }
+                int mid = writes.size() / 2;
+                return drain(writes.subList(0, mid), committer, sink)
+                        && drain(writes.subList(mid, writes.size()), committer, sink);
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * SyncWorker.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * WorkManager job that drains the SyncQueue to Firestore. Scheduled only
+ * by SyncScheduler.
+ *
+ * Features:
+ * - Runs once its network constraint is met, even after process death
+ * - A failed upload schedules its own retry, so the job itself always
+ *   succeeds and never uses WorkManager's un-jittered backoff
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+public class SyncWorker extends Worker {
+
+    static final String KEY_ATTEMPT = "attempt";
+
+    public SyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        SyncQueue queue = LedgerStore.getInstance(getApplicationContext()).getSyncQueue();
+        try {
+            queue.flushNow(getInputData().getInt(KEY_ATTEMPT, 0));
+        } catch (InterruptedException e) {
+            // Stopped by WorkManager; whatever is left stays queued for the next run
+            Thread.currentThread().interrupt();
+        }
+        return Result.success();
+    }
+}
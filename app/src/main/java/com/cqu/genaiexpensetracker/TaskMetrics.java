@@ -0,0 +1,94 @@
+/**
+ * TaskMetrics.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Times Firebase Task calls into the MetricsRegistry and writes the
+ * registry to a file for offline inspection. Call sites wrap the Task as
+ * they create it and keep their own listeners unchanged.
+ *
+ * Features:
+ * - Latency histogram per operation, from the call to task completion
+ * - <op>.ok / <op>.failed counters, plus <op>.failed.<Exception> so the
+ *   causes behind the error Toasts are countable
+ * - When the registry is disabled the Task is returned untouched
+ * - export() writes metrics.txt in the app's files dir (adb pull-able)
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+public final class TaskMetrics {
+
+    private static final String TAG = "Metrics";
+    static final String EXPORT_FILE = "metrics.txt";
+
+    // Operation names, one histogram each
+    public static final String AUTH_SIGN_IN_EMAIL = "auth.sign_in_email";
+    public static final String AUTH_SIGN_IN_GOOGLE = "auth.sign_in_google";
+    public static final String AUTH_SIGN_IN_FACEBOOK = "auth.sign_in_facebook";
+    public static final String AUTH_CREATE_USER = "auth.create_user";
+    public static final String AUTH_SEND_RESET_EMAIL = "auth.send_reset_email";
+    public static final String AUTH_CONFIRM_RESET = "auth.confirm_reset";
+    public static final String SYNC_BATCH_COMMIT = "firestore.sync_batch_commit";
+
+    private TaskMetrics() {
+    }
+
+    /**
+     * Records how long a Task takes and how it ends.
+     *
+     * @param operation Histogram and counter prefix
+     * @param task      Task just returned by the Firebase call
+     * @return The same task
+     */
+    public static <T> Task<T> time(String operation, Task<T> task) {
+        MetricsRegistry metrics = MetricsRegistry.get();
+        long start = metrics.start();
+        if (start == MetricsRegistry.NOT_TIMED) return task;
+
+        // Runs inline on whichever thread completes the task
+        task.addOnCompleteListener(Runnable::run, done -> {
+            metrics.stop(operation, start);
+            if (done.isSuccessful()) {
+                metrics.increment(operation + ".ok");
+            } else {
+                metrics.increment(operation + ".failed");
+                Exception e = done.getException();
+                if (e != null) metrics.increment(operation + ".failed." + e.getClass().getSimpleName());
+            }
+        });
+        return task;
+    }
+
+    /**
+     * Writes the current metrics to files/metrics.txt and the log. Does
+     * file I/O; call off the main thread.
+     */
+    public static void export(Context context) {
+        MetricsRegistry metrics = MetricsRegistry.get();
+        if (!metrics.isEnabled()) return;
+
+        String report = metrics.dump();
+        Log.i(TAG, report);
+        File file = new File(context.getFilesDir(), EXPORT_FILE);
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+            out.write(report);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not write " + file, e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * TransactionAdapter.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * RecyclerView adapter for the Income and Expense lists. Extends ListAdapter,
+ * so each submitted list is diffed against the previous one on a background
+ * thread and only the changed rows are rebound on the main thread.
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.text.format.DateUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+public class TransactionAdapter extends ListAdapter<TransactionRow, TransactionAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<TransactionRow> DIFF = new DiffUtil.ItemCallback<TransactionRow>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TransactionRow oldItem, @NonNull TransactionRow newItem) {
+            return oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TransactionRow oldItem, @NonNull TransactionRow newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    public TransactionAdapter() {
+        super(DIFF);
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_transaction, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.bind(getItem(position));
+    }
+
+    /**
+     * Holds the views of a single transaction row.
+     */
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        private final TextView title, subtitle, amount, date;
+        // Reused on every bind; TextView copies the characters it is given
+        private final StringBuilder amountText = new StringBuilder(24);
+
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            title = itemView.findViewById(R.id.transaction_title);
+            subtitle = itemView.findViewById(R.id.transaction_subtitle);
+            amount = itemView.findViewById(R.id.transaction_amount);
+            date = itemView.findViewById(R.id.transaction_date);
+        }
+
+        void bind(TransactionRow row) {
+            title.setText(row.getTitle());
+            subtitle.setText(row.getSubtitle());
+            subtitle.setVisibility(row.getSubtitle() == null || row.getSubtitle().isEmpty() ? View.GONE : View.VISIBLE);
+
+            long cents = row.getAmountCents();
+            amountText.setLength(0);
+            amount.setText(MoneyFormatter.getDefault().append(amountText,
+                    row.isIncome() ? cents : -cents, Money.DEFAULT_CURRENCY, true));
+            amount.setTextColor(ContextCompat.getColor(itemView.getContext(), row.isIncome() ? R.color.green : R.color.red));
+
+            date.setText(DateUtils.formatDateTime(itemView.getContext(), row.getCreatedAt(),
+                    DateUtils.FORMAT_SHOW_DATE | DateUtils.FORMAT_ABBREV_MONTH));
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * TransactionPager.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Loads a user's income or expense documents from Firestore one page at a
+ * time using startAfter cursors, newest first. The list screens call
+ * {@link #onItemVisible(int)} while scrolling and the next page is fetched
+ * before the user reaches the end of what is already loaded.
+ *
+ * Features:
+ * - where uid == / orderBy createdAt desc / limit / startAfter queries
+ * - Prefetches the next page a configurable distance ahead of the scroll
+ * - Never more than one page request in flight; each runs under
+ *   GuardedCall.FIRESTORE_READ, so a stalled page fails and can be retried
+ * - Pages are mapped to rows, and the combined list is built, on
+ *   AppExecutors.snapshots(); the main thread only receives the finished,
+ *   unmodifiable list
+ * - Entries with a write still in the SyncQueue are taken from the local
+ *   ledger instead of the server, so a new entry is listed before it syncs
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TransactionPager {
+
+    private static final String TAG = "TransactionPager";
+
+    private static final Comparator<TransactionRow> NEWEST_FIRST =
+            (a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt());
+
+    /**
+     * Converts a Firestore document into a list row. Runs on the snapshot
+     * executor, not the main thread.
+     */
+    public interface RowMapper {
+        TransactionRow map(DocumentSnapshot document);
+    }
+
+    /**
+     * Receives the full list of loaded rows after every page, on the main
+     * thread.
+     */
+    public interface Listener {
+        void onRowsLoaded(List<TransactionRow> rows, boolean endReached);
+
+        void onLoadFailed(Exception e);
+    }
+
+    private final LedgerStore ledger;
+    private final String collection;
+    private final String uid;
+    private final Query baseQuery;
+    private final RowMapper mapper;
+    private final int pageSize;
+    private final int prefetchDistance;
+
+    // Unmodifiable; replaced, never changed, so it can be handed to the adapter as is
+    private List<TransactionRow> rows = Collections.emptyList();
+    private DocumentSnapshot lastDocument;
+    private boolean loading;
+    private boolean endReached;
+    private int generation;
+    private Listener listener;
+
+    /**
+     * @param ledger           Local ledger holding writes not yet synced
+     * @param collection       Firestore collection ("income" or "expenses")
+     * @param uid              Owner whose documents are listed
+     * @param mapper           Document to row conversion
+     * @param pageSize         Documents per page
+     * @param prefetchDistance Start loading when this many rows remain below the viewport
+     */
+    public TransactionPager(LedgerStore ledger, String collection, String uid, RowMapper mapper,
+                            int pageSize, int prefetchDistance) {
+        this.ledger = ledger;
+        this.collection = collection;
+        this.uid = uid;
+        this.baseQuery = FirebaseFirestore.getInstance()
+                .collection(collection)
+                .whereEqualTo("uid", uid)
+                .orderBy("createdAt", Query.Direction.DESCENDING)
+                .limit(pageSize);
+        this.mapper = mapper;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Loads the first page if nothing has been loaded yet; otherwise
+     * re-delivers the rows already in memory.
+     */
+    public void start() {
+        if (rows.isEmpty() && !endReached) {
+            loadNextPage();
+        } else if (listener != null) {
+            listener.onRowsLoaded(rows, endReached);
+        }
+    }
+
+    /**
+     * Called as list positions become visible. Triggers the next page once
+     * the user scrolls within {@code prefetchDistance} rows of the end.
+     *
+     * @param position Adapter position of the last visible row
+     */
+    public void onItemVisible(int position) {
+        if (position >= rows.size() - prefetchDistance) {
+            loadNextPage();
+        }
+    }
+
+    /**
+     * Drops all loaded rows and starts again from the first page. The list
+     * screens call this when they are shown after the ledger changed.
+     */
+    public void refresh() {
+        generation++;
+        rows = Collections.emptyList();
+        lastDocument = null;
+        endReached = false;
+        loading = false;
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loading || endReached) return;
+        loading = true;
+
+        Query query = lastDocument == null ? baseQuery : baseQuery.startAfter(lastDocument);
+        int requestGeneration = generation;
+        List<TransactionRow> loaded = rows;
+
+        // Read the queued writes before the page: a write that syncs in
+        // between is then still taken from the ledger rather than missed
+        ledger.loadPending(collection, uid, (pendingIds, pendingRows) ->
+                GuardedCall.run(GuardedCall.FIRESTORE_READ, query::get)
+                        .addOnSuccessListener(AppExecutors.snapshots(), snapshot -> {
+                            // Decode and build the next list here, off the main thread
+                            List<DocumentSnapshot> documents = snapshot.getDocuments();
+                            boolean end = documents.size() < pageSize;
+                            List<TransactionRow> page = Collections.unmodifiableList(
+                                    buildPage(loaded, documents, pendingIds, pendingRows, end));
+                            DocumentSnapshot last = documents.isEmpty() ? null : documents.get(documents.size() - 1);
+
+                            AppExecutors.main().execute(() -> {
+                                // A refresh happened while this page was in flight
+                                if (requestGeneration != generation) return;
+                                loading = false;
+                                rows = page;
+                                if (last != null) lastDocument = last;
+                                endReached = end;
+                                if (listener != null) listener.onRowsLoaded(rows, endReached);
+                            });
+                        })
+                        .addOnFailureListener(e -> {
+                            if (requestGeneration != generation) return;
+                            loading = false;
+                            Log.w(TAG, "Page load failed", e);
+                            if (listener != null) listener.onLoadFailed(e);
+                        }));
+    }
+
+    /**
+     * Appends a server page to the loaded rows. Documents with a queued
+     * write are replaced by their local row, and unsynced local rows that
+     * fall within the loaded range are slotted in by date. Runs on the
+     * snapshot executor.
+     */
+    private List<TransactionRow> buildPage(List<TransactionRow> loaded, List<DocumentSnapshot> documents,
+                                           Set<String> pendingIds, List<TransactionRow> pendingRows,
+                                           boolean end) {
+        List<TransactionRow> next = new ArrayList<>(loaded.size() + documents.size());
+        next.addAll(loaded);
+        Set<String> listed = new HashSet<>((loaded.size() + documents.size()) * 2);
+        for (TransactionRow row : loaded) listed.add(row.getId());
+        Set<String> replaced = new HashSet<>();
+        long oldest = Long.MAX_VALUE;
+        for (DocumentSnapshot document : documents) {
+            if (pendingIds.contains(document.getId())) {
+                replaced.add(document.getId());
+                continue;
+            }
+            if (DeltaSync.isTombstone(document)) continue;
+            TransactionRow row;
+            try {
+                row = mapper.map(document);
+            } catch (RuntimeException e) {
+                // One malformed document must not lose the page or leave loading stuck
+                Log.w(TAG, "Skipping undecodable document " + document.getId(), e);
+                continue;
+            }
+            // An unsynced row shown on an earlier page may have synced since
+            if (row != null && listed.add(row.getId())) {
+                next.add(row);
+                oldest = Math.min(oldest, row.getCreatedAt());
+            }
+        }
+        if (pendingRows.isEmpty()) return next;
+
+        for (TransactionRow row : pendingRows) {
+            if (replaced.contains(row.getId())) oldest = Math.min(oldest, row.getCreatedAt());
+        }
+        // Unsynced rows older than this page belong to a later one, unless there is none
+        long cutoff = end ? Long.MIN_VALUE : oldest;
+        boolean added = false;
+        for (TransactionRow row : pendingRows) {
+            if ((row.getCreatedAt() >= cutoff || replaced.contains(row.getId())) && listed.add(row.getId())) {
+                next.add(row);
+                added = true;
+            }
+        }
+        if (added) Collections.sort(next, NEWEST_FIRST);
+        return next;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * ViewStatePublisher.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Hands view state built on a background thread to a UI sink. Only the
+ * newest state is delivered: if several snapshots are processed before the
+ * main thread gets round to the first post, the older states are dropped
+ * and the screen renders once.
+ *
+ * Features:
+ * - publish() may be called from any thread and never blocks
+ * - At most one delivery queued on the UI executor at a time
+ * - close() drops anything not yet delivered, so a stopped screen is
+ *   never called back
+ * - Pure Java: the UI executor is injected (AppExecutors.main() in the app)
+ *
+ * States must be immutable; they are read on another thread.
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.concurrent.Executor;
+
+public final class ViewStatePublisher<T> {
+
+    /**
+     * Renders a state, on the UI executor.
+     */
+    public interface Sink<T> {
+        void render(T state);
+    }
+
+    private final Executor ui;
+    private final Sink<T> sink;
+
+    // Guarded by this
+    private T latest;
+    private boolean posted;
+    private boolean closed;
+
+    private final Runnable deliver = this::deliver;
+
+    /**
+     * @param ui   Executor the sink runs on
+     * @param sink Receives the newest state
+     */
+    public ViewStatePublisher(Executor ui, Sink<T> sink) {
+        this.ui = ui;
+        this.sink = sink;
+    }
+
+    /**
+     * Replaces the state waiting to be rendered and schedules a delivery if
+     * none is queued.
+     *
+     * @param state Immutable view state
+     */
+    public void publish(T state) {
+        synchronized (this) {
+            if (closed) return;
+            latest = state;
+            if (posted) return;
+            posted = true;
+        }
+        ui.execute(deliver);
+    }
+
+    /**
+     * Stops deliveries, including one already queued.
+     */
+    public synchronized void close() {
+        closed = true;
+        latest = null;
+    }
+
+    private void deliver() {
+        T state;
+        synchronized (this) {
+            posted = false;
+            state = latest;
+            latest = null;
+            if (closed || state == null) return;
+        }
+        sink.render(state);
+    }
+}
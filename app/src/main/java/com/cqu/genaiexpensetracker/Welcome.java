@@ -12,6 +12,7 @@
  * - Navigates to SignIn when user taps "Get Started"
  * - Detects dynamic link with `mode=resetPassword` and extracts `oobCode`
  * - Redirects to SetNewPassword screen with `oobCode` if present
+ * - Only asks the Dynamic Links SDK when the intent carries a link
  */
 
 package com.cqu.genaiexpensetracker;
@@ -34,23 +35,13 @@ public class Welcome extends AppCompatActivity {
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupTracer.get().mark(StartupTracer.WELCOME_CREATE);
         setContentView(R.layout.activity_welcome);
+        FirstFrame.mark(this, StartupTracer.WELCOME_FIRST_FRAME);
 
-        // Case 1: Handle cold start or intent URI
+        // Plain launches have no data, so the Dynamic Links SDK is never touched
         handleIntent(getIntent());
 
-        // Case 2: Handle dynamic links via FirebaseDynamicLinks
-        FirebaseDynamicLinks.getInstance()
-                .getDynamicLink(getIntent())
-                .addOnSuccessListener(this, pendingDynamicLinkData -> {
-                    if (pendingDynamicLinkData != null && pendingDynamicLinkData.getLink() != null) {
-                        handleDynamicLink(pendingDynamicLinkData.getLink());
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    e.printStackTrace(); // Optional: log or report
-                });
-
         // "Get Started" button → SignIn screen
         Button getStartedButton = findViewById(R.id.btn_start);
         getStartedButton.setOnClickListener(v -> {
@@ -77,18 +68,32 @@ public class Welcome extends AppCompatActivity {
      */
     private void handleIntent(Intent intent) {
         Uri data = intent.getData();
-        if (data != null) {
-            handleDynamicLink(data);
-        }
+        if (data == null) return;
+
+        // Case 1: the URI already carries the reset parameters
+        if (handleDynamicLink(data)) return;
+
+        // Case 2: short dynamic link, resolved by FirebaseDynamicLinks
+        FirebaseDynamicLinks.getInstance()
+                .getDynamicLink(intent)
+                .addOnSuccessListener(this, pendingDynamicLinkData -> {
+                    if (pendingDynamicLinkData != null && pendingDynamicLinkData.getLink() != null) {
+                        handleDynamicLink(pendingDynamicLinkData.getLink());
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    e.printStackTrace(); // Optional: log or report
+                });
     }
 
     /**
      * Parses the deep link and navigates if it's a reset password link.
      *
      * @param deepLink the parsed URI from Firebase
+     * @return true if the link was a password reset and was handled
      */
-    private void handleDynamicLink(Uri deepLink) {
-        if (deepLink != null) {
+    private boolean handleDynamicLink(Uri deepLink) {
+        if (deepLink != null && deepLink.isHierarchical()) {
             String mode = deepLink.getQueryParameter("mode");
             String oobCode = deepLink.getQueryParameter("oobCode");
 
@@ -98,7 +103,9 @@ public class Welcome extends AppCompatActivity {
                 intent.putExtra("oobCode", oobCode);
                 startActivity(intent);
                 finish();
+                return true;
             }
         }
+        return false;
     }
 }
@@ -7,58 +7,75 @@ import androidx.fragment.app.Fragment;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.material.textfield.TextInputEditText;
+import com.google.android.material.textfield.TextInputLayout;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+
+import java.util.Objects;
 
 /**
- * A simple {@link Fragment} subclass.
- * Use the {@link addExpense#newInstance} factory method to
- * create an instance of this fragment.
+ * Form that adds one expense entry to the local ledger.
  */
 public class addExpense extends Fragment {
 
-    // TODO: Rename parameter arguments, choose names that match
-    // the fragment initialization parameters, e.g. ARG_ITEM_NUMBER
-    private static final String ARG_PARAM1 = "param1";
-    private static final String ARG_PARAM2 = "param2";
-
-    // TODO: Rename and change types of parameters
-    private String mParam1;
-    private String mParam2;
+    // Form inputs
+    private TextInputEditText amountInput, categoryInput, descriptionInput;
+    private TextInputLayout amountLayout, categoryLayout;
 
     public addExpense() {
         // Required empty public constructor
     }
 
-    /**
-     * Use this factory method to create a new instance of
-     * this fragment using the provided parameters.
-     *
-     * @param param1 Parameter 1.
-     * @param param2 Parameter 2.
-     * @return A new instance of fragment addExpense.
-     */
-    // TODO: Rename and change types and number of parameters
-    public static addExpense newInstance(String param1, String param2) {
-        addExpense fragment = new addExpense();
-        Bundle args = new Bundle();
-        args.putString(ARG_PARAM1, param1);
-        args.putString(ARG_PARAM2, param2);
-        fragment.setArguments(args);
-        return fragment;
-    }
-
-    @Override
-    public void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        if (getArguments() != null) {
-            mParam1 = getArguments().getString(ARG_PARAM1);
-            mParam2 = getArguments().getString(ARG_PARAM2);
-        }
-    }
-
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
         // Inflate the layout for this fragment
         return inflater.inflate(R.layout.fragment_add_expense, container, false);
     }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        amountInput = view.findViewById(R.id.expense_amount);
+        categoryInput = view.findViewById(R.id.expense_category);
+        descriptionInput = view.findViewById(R.id.expense_description);
+        amountLayout = view.findViewById(R.id.expense_amount_layout);
+        categoryLayout = view.findViewById(R.id.expense_category_layout);
+
+        view.findViewById(R.id.expense_save_btn).setOnClickListener(v -> saveExpense());
+    }
+
+    /**
+     * Validates the form and writes the entry to the local ledger.
+     * The write is queued for Firestore, so no network wait is needed.
+     */
+    private void saveExpense() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) return;
+
+        String category = Objects.requireNonNull(categoryInput.getText()).toString().trim();
+        String description = Objects.requireNonNull(descriptionInput.getText()).toString().trim();
+
+        // Parsed straight from the Editable, no intermediate String
+        long amountCents = MoneyParser.parseCents(amountInput.getText());
+        amountLayout.setError(amountCents <= 0 ? getString(R.string.error_amount_invalid) : null);
+        categoryLayout.setError(category.isEmpty() ? getString(R.string.error_field_required) : null);
+        if (amountCents <= 0 || category.isEmpty()) return;
+
+        LedgerStore store = LedgerStore.getInstance(requireContext());
+        store.addExpense(new ExpenseEntry(store.newId(), user.getUid(), amountCents, category,
+                description, System.currentTimeMillis()));
+
+        amountInput.setText(null);
+        categoryInput.setText(null);
+        descriptionInput.setText(null);
+        Toast.makeText(requireContext(), R.string.expense_saved, Toast.LENGTH_SHORT).show();
+    }
 }
\ No newline at end of file
@@ -7,58 +7,190 @@ import androidx.fragment.app.Fragment;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+
+import java.text.DateFormatSymbols;
+import java.util.List;
+import java.util.TimeZone;
 
 /**
- * A simple {@link Fragment} subclass.
- * Use the {@link insights#newInstance} factory method to
- * create an instance of this fragment.
+ * Shows spending insights, top categories and recent months computed on the device.
  */
 public class insights extends Fragment {
 
-    // TODO: Rename parameter arguments, choose names that match
-    // the fragment initialization parameters, e.g. ARG_ITEM_NUMBER
-    private static final String ARG_PARAM1 = "param1";
-    private static final String ARG_PARAM2 = "param2";
+    // Number of months shown in the monthly breakdown
+    private static final int MONTHS_SHOWN = 6;
 
-    // TODO: Rename and change types of parameters
-    private String mParam1;
-    private String mParam2;
+    private TextView insightsText, categoriesText, monthsText;
+    private InsightsEngine engine;
+
+    // Insights change on the ledger executor; redraw on the main thread
+    private final InsightsEngine.Listener insightsListener = (uid, month) -> {
+        View view = getView();
+        if (view != null && month == LedgerMonth.of(System.currentTimeMillis())) view.post(this::renderInsights);
+    };
 
     public insights() {
         // Required empty public constructor
     }
 
+    @Override
+    public View onCreateView(LayoutInflater inflater, ViewGroup container,
+                             Bundle savedInstanceState) {
+        // Inflate the layout for this fragment
+        return inflater.inflate(R.layout.fragment_insights, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        engine = LedgerStore.getInstance(requireContext()).getInsightsEngine();
+        insightsText = view.findViewById(R.id.insights_list);
+        categoriesText = view.findViewById(R.id.insights_categories);
+        monthsText = view.findViewById(R.id.insights_months);
+    }
+
+    @Override
+    public void onStart() {
+        super.onStart();
+        engine.addListener(insightsListener);
+        renderInsights();
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        // Runs each time the tab is shown again; the columns are cached by
+        // the store until the ledger changes, so an unchanged ledger is free
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) return;
+
+        // Scans run on the ledger executor; only the finished text is posted back
+        LedgerStore.getInstance(requireContext()).loadColumns(user.getUid(), columns -> {
+            CharSequence byCategory = describeCategories(columns);
+            CharSequence byMonth = describeMonths(columns);
+            View view = getView();
+            if (view != null) view.post(() -> {
+                if (byCategory.length() > 0) categoriesText.setText(byCategory);
+                else categoriesText.setText(R.string.insights_empty);
+                monthsText.setText(byMonth);
+            });
+        });
+    }
+
+    @Override
+    public void onStop() {
+        engine.removeListener(insightsListener);
+        super.onStop();
+    }
+
     /**
-     * Use this factory method to create a new instance of
-     * this fragment using the provided parameters.
-     *
-     * @param param1 Parameter 1.
-     * @param param2 Parameter 2.
-     * @return A new instance of fragment insights.
+     * Shows this month's insights. They are kept up to date by the engine
+     * as transactions arrive, so this is a cache read.
      */
-    // TODO: Rename and change types and number of parameters
-    public static insights newInstance(String param1, String param2) {
-        insights fragment = new insights();
-        Bundle args = new Bundle();
-        args.putString(ARG_PARAM1, param1);
-        args.putString(ARG_PARAM2, param2);
-        fragment.setArguments(args);
-        return fragment;
+    private void renderInsights() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null || insightsText == null || !isAdded()) return;
+
+        List<Insight> insights = engine.getInsights(user.getUid(), LedgerMonth.of(System.currentTimeMillis()));
+        if (insights.isEmpty()) {
+            insightsText.setText(R.string.insights_none);
+            return;
+        }
+        StringBuilder out = new StringBuilder();
+        for (Insight insight : insights) {
+            if (out.length() > 0) out.append('\n');
+            out.append("\u2022 ").append(describe(insight));
+        }
+        insightsText.setText(out);
     }
 
-    @Override
-    public void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        if (getArguments() != null) {
-            mParam1 = getArguments().getString(ARG_PARAM1);
-            mParam2 = getArguments().getString(ARG_PARAM2);
+    /**
+     * Turns an insight into a sentence using the string resources.
+     */
+    private String describe(Insight insight) {
+        MoneyFormatter formatter = MoneyFormatter.getDefault();
+        String current = formatter.formatCents(insight.getCurrent());
+        String previous = formatter.formatCents(insight.getPrevious());
+        switch (insight.getType()) {
+            case CATEGORY_NEW:
+                return getString(R.string.insight_category_new, insight.getCategory(), current);
+            case CATEGORY_UP:
+                return getString(R.string.insight_category_up, insight.getCategory(),
+                        insight.getChangePercent(), current, previous);
+            case CATEGORY_DOWN:
+                return getString(R.string.insight_category_down, insight.getCategory(),
+                        -insight.getChangePercent(), current, previous);
+            case BUDGET_EXCEEDED:
+                return getString(R.string.insight_budget_exceeded,
+                        formatter.formatCents(insight.getCurrent() - insight.getPrevious()), previous);
+            case BUDGET_NEARLY_USED:
+                return getString(R.string.insight_budget_nearly_used,
+                        (int) (insight.getCurrent() * 100 / insight.getPrevious()),
+                        formatter.formatCents(insight.getPrevious() - insight.getCurrent()));
+            case SAVINGS_RATE_UP:
+                return getString(R.string.insight_savings_up,
+                        (int) (insight.getCurrent() / 100), (int) (insight.getPrevious() / 100));
+            case SAVINGS_RATE_DOWN:
+            default:
+                return getString(R.string.insight_savings_down,
+                        (int) (insight.getCurrent() / 100), (int) (insight.getPrevious() / 100));
         }
     }
 
-    @Override
-    public View onCreateView(LayoutInflater inflater, ViewGroup container,
-                             Bundle savedInstanceState) {
-        // Inflate the layout for this fragment
-        return inflater.inflate(R.layout.fragment_insights, container, false);
+    /**
+     * Lists this year's expense categories, largest first.
+     */
+    private static CharSequence describeCategories(TransactionColumns columns) {
+        TimeZone zone = TimeZone.getDefault();
+        int month = LedgerMonth.of(System.currentTimeMillis(), zone);
+        long from = LedgerMonth.startMillis((month / 100) * 100 + 1, zone);
+        long to = LedgerMonth.endMillis(month, zone);
+
+        long[] totals = columns.expensesByCategory(from, to);
+        StringBuilder out = new StringBuilder();
+        MoneyFormatter formatter = MoneyFormatter.getDefault();
+        // Few distinct categories, so repeatedly picking the largest is fine
+        while (true) {
+            int best = -1;
+            for (int id = 0; id < totals.length; id++) {
+                if (totals[id] > 0 && (best < 0 || totals[id] > totals[best])) best = id;
+            }
+            if (best < 0) break;
+            if (out.length() > 0) out.append('\n');
+            String name = columns.getDictionary().get(best);
+            out.append(name.isEmpty() ? LedgerAggregator.UNCATEGORIZED : name).append("  ");
+            formatter.appendCents(out, totals[best]);
+            totals[best] = 0;
+        }
+        return out;
+    }
+
+    /**
+     * Lists total expenses for each of the last few months, oldest first.
+     */
+    private static CharSequence describeMonths(TransactionColumns columns) {
+        TimeZone zone = TimeZone.getDefault();
+        int first = LedgerMonth.of(System.currentTimeMillis(), zone);
+        for (int i = 1; i < MONTHS_SHOWN; i++) first = LedgerMonth.previous(first);
+
+        long[] totals = columns.expensesByMonth(first, MONTHS_SHOWN, zone);
+        String[] names = DateFormatSymbols.getInstance().getShortMonths();
+        StringBuilder out = new StringBuilder();
+        MoneyFormatter formatter = MoneyFormatter.getDefault();
+        int month = first;
+        for (int i = 0; i < MONTHS_SHOWN; i++) {
+            if (i > 0) out.append('\n');
+            out.append(names[month % 100 - 1]).append(' ').append(month / 100).append("  ");
+            formatter.appendCents(out, totals[i]);
+            month = LedgerMonth.next(month);
+        }
+        return out;
     }
-}
\ No newline at end of file
+}
@@ -22,21 +22,24 @@ public class navbar extends AppCompatActivity {
     ImageButton buttondrawerToggle;
     NavigationView navigationView;
 
-    addIncome addIncome = new addIncome();
-    addExpense addExpense = new addExpense();
-    profile profile = new profile();
-    insights insights = new insights();
-
-    Dashboard dashboard = new Dashboard();
-    Income income = new Income();
-    Expense expense = new Expense();
+    // Destination tags used by the NavigationHost
+    static final String TAG_DASHBOARD = "dashboard";
+    static final String TAG_INCOME = "income";
+    static final String TAG_EXPENSE = "expense";
+    static final String TAG_ADD_INCOME = "add_income";
+    static final String TAG_ADD_EXPENSE = "add_expense";
+    static final String TAG_INSIGHTS = "insights";
+    static final String TAG_PROFILE = "profile";
 
     BottomNavigationView bottomNavigationView;
+    NavigationHost navigationHost;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupTracer.get().mark(StartupTracer.NAVBAR_CREATE);
         setContentView(R.layout.activity_navbar);
+        FirstFrame.mark(this, StartupTracer.NAVBAR_FIRST_FRAME);
 
         // Set system insets for edge-to-edge UI
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
@@ -45,6 +48,16 @@ public class navbar extends AppCompatActivity {
             return insets;
         });
 
+        // Fragments are created on first use and kept alive with show/hide
+        navigationHost = new NavigationHost(getSupportFragmentManager(), R.id.main_frame);
+        navigationHost.register(TAG_DASHBOARD, Dashboard::new);
+        navigationHost.register(TAG_INCOME, Income::new);
+        navigationHost.register(TAG_EXPENSE, Expense::new);
+        navigationHost.register(TAG_ADD_INCOME, addIncome::new);
+        navigationHost.register(TAG_ADD_EXPENSE, addExpense::new);
+        navigationHost.register(TAG_INSIGHTS, insights::new);
+        navigationHost.register(TAG_PROFILE, profile::new);
+
         // Initialize drawer components
         drawerLayout = findViewById(R.id.drawer_layout);
         buttondrawerToggle = findViewById(R.id.buttondrawertoogle);
@@ -56,13 +69,13 @@ public class navbar extends AppCompatActivity {
             int itemId = item.getItemId();
 
             if (itemId == R.id.income_menu) {
-                getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, addIncome).commit();
+                navigationHost.show(TAG_ADD_INCOME);
             } else if (itemId == R.id.expense_menu) {
-                getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, addExpense).commit();
+                navigationHost.show(TAG_ADD_EXPENSE);
             } else if (itemId == R.id.insights_menu) {
-                getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, profile).commit();
+                navigationHost.show(TAG_INSIGHTS);
             } else if (itemId == R.id.profile_menu) {
-                getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, insights).commit();
+                navigationHost.show(TAG_PROFILE);
             }
 
             drawerLayout.close();
@@ -71,20 +84,36 @@ public class navbar extends AppCompatActivity {
 
         // Initialize bottom navigation
         bottomNavigationView = findViewById(R.id.bottom_navigation);
-        getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, dashboard).commit();
+        if (navigationHost.restoreState(savedInstanceState) == null) {
+            navigationHost.show(TAG_DASHBOARD);
+        }
 
         bottomNavigationView.setOnItemSelectedListener(item -> {
-            int id = item.getItemId();
-
-            if (id == R.id.navigation_dashboard) {
-                getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, dashboard).commit();
-            } else if (id == R.id.navigation_income) {
-                getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, income).commit();
-            } else if (id == R.id.navigation_expense) {
-                getSupportFragmentManager().beginTransaction().replace(R.id.main_frame, expense).commit();
-            }
-
+            String tag = tabTag(item.getItemId());
+            if (tag != null) navigationHost.show(tag);
             return true;
         });
+
+        // Re-tapping the selected tab returns to it after visiting a drawer screen
+        bottomNavigationView.setOnItemReselectedListener(item -> {
+            String tag = tabTag(item.getItemId());
+            if (tag != null) navigationHost.show(tag);
+        });
+    }
+
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        navigationHost.saveState(outState);
+    }
+
+    /**
+     * Maps a bottom navigation item to its destination tag.
+     */
+    private static String tabTag(int itemId) {
+        if (itemId == R.id.navigation_dashboard) return TAG_DASHBOARD;
+        if (itemId == R.id.navigation_income) return TAG_INCOME;
+        if (itemId == R.id.navigation_expense) return TAG_EXPENSE;
+        return null;
     }
 }
\ No newline at end of file
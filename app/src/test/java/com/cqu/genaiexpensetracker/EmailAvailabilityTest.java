@@ -0,0 +1,105 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EmailAvailability with a fake backend, scheduler and clock.
+ */
+public class EmailAvailabilityTest {
+
+    private static final long DEBOUNCE_MS = 300;
+    private static final long REGISTERED_TTL_MS = 60_000;
+    private static final long AVAILABLE_TTL_MS = 5_000;
+
+    private long nowMillis;
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final List<String> lookups = new ArrayList<>();
+    private final List<EmailAvailability.Callback> replies = new ArrayList<>();
+    private final List<String> results = new ArrayList<>();
+
+    private final EmailAvailability availability = new EmailAvailability(
+            (email, callback) -> {
+                lookups.add(email);
+                replies.add(callback);
+            },
+            (task, delayMillis) -> {
+                assertEquals(DEBOUNCE_MS, delayMillis);
+                scheduled.add(task);
+                return () -> scheduled.remove(task);
+            },
+            () -> nowMillis * 1_000_000, DEBOUNCE_MS, REGISTERED_TTL_MS, AVAILABLE_TTL_MS);
+
+    private final EmailAvailability.Callback record = (email, result) -> results.add(email + "=" + result);
+
+    private void runScheduled() {
+        List<Runnable> due = new ArrayList<>(scheduled);
+        scheduled.clear();
+        for (Runnable task : due) task.run();
+    }
+
+    @Test
+    public void typing_onlyLooksUpTheLastAddress() {
+        Object field = new Object();
+        availability.check(field, "kapil@example.co", record);
+        availability.check(field, "kapil@example.com", record);
+        availability.check(field, "Kapil@Example.com ", record);
+
+        assertEquals(1, scheduled.size());
+        runScheduled();
+        // The backend gets the address as typed, trimmed; answers are keyed normalized
+        assertEquals(List.of("Kapil@Example.com"), lookups);
+
+        replies.get(0).onResult("kapil@example.com", EmailAvailability.Result.REGISTERED);
+        assertEquals(List.of("kapil@example.com=REGISTERED"), results);
+    }
+
+    @Test
+    public void concurrentLookups_shareOneBackendCall() {
+        availability.lookup("a@example.com", record);
+        availability.lookup("A@example.com", record);
+        availability.check(new Object(), "a@example.com", record);
+        runScheduled();
+
+        assertEquals(1, availability.getBackendCalls());
+        replies.get(0).onResult("a@example.com", EmailAvailability.Result.AVAILABLE);
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    public void answers_areCachedUntilTheirTtl() {
+        availability.lookup("taken@example.com", record);
+        replies.get(0).onResult("taken@example.com", EmailAvailability.Result.REGISTERED);
+        availability.lookup("free@example.com", record);
+        replies.get(1).onResult("free@example.com", EmailAvailability.Result.AVAILABLE);
+
+        nowMillis += AVAILABLE_TTL_MS;
+        // A cached answer comes back at once, without debounce or a request
+        availability.check(new Object(), "taken@example.com", record);
+        assertTrue(scheduled.isEmpty());
+        assertNull(availability.getCached("free@example.com"));
+
+        nowMillis += REGISTERED_TTL_MS;
+        assertNull(availability.getCached("taken@example.com"));
+        assertEquals(2, availability.getBackendCalls());
+    }
+
+    @Test
+    public void failures_areNotCached_andStaleAnswersAreDropped() {
+        Object field = new Object();
+        availability.check(field, "x@example.com", record);
+        runScheduled();
+        availability.cancel(field);
+        replies.get(0).onResult("x@example.com", EmailAvailability.Result.UNKNOWN);
+
+        assertTrue(results.isEmpty());
+        assertNull(availability.getCached("x@example.com"));
+
+        availability.lookup("x@example.com", record);
+        assertEquals(2, availability.getBackendCalls());
+    }
+}
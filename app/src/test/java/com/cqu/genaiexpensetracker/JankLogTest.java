@@ -0,0 +1,117 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for per-screen jank summaries.
+ */
+public class JankLogTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    private final JankLog log = new JankLog();
+
+    @Test
+    public void framesAreAttributedToTheScreenShowing() {
+        log.setScreen("SignIn", 0);
+        log.onFrame(FRAME, FRAME);
+        log.onFrame(FRAME * 4, FRAME);
+        log.setScreen("navbar/Dashboard", 1_000);
+        log.onFrame(FRAME, FRAME);
+        log.onFrame(800_000_000L, FRAME);
+
+        List<JankLog.Summary> summaries = log.snapshot(2_000);
+        assertEquals(2, summaries.size());
+
+        JankLog.Summary signIn = summaries.get(0);
+        assertEquals("SignIn", signIn.screen);
+        assertEquals(1_000, signIn.durationMillis);
+        assertEquals(2, signIn.frames);
+        assertEquals(1, signIn.slowFrames);
+        assertEquals(3, signIn.droppedFrames);
+        assertEquals(0, signIn.frozenFrames);
+        assertEquals(0.5, signIn.getSlowRatio(), 1e-9);
+
+        JankLog.Summary dashboard = summaries.get(1);
+        assertEquals("navbar/Dashboard", dashboard.screen);
+        assertEquals(1, dashboard.frozenFrames);
+        assertEquals(800, dashboard.worstFrameMillis);
+    }
+
+    @Test
+    public void frameJitterIsNotSlow() {
+        log.setScreen("SignUp", 0);
+        log.onFrame(FRAME + FRAME / 4, FRAME);
+        assertEquals(0, log.snapshot(10).get(0).slowFrames);
+    }
+
+    @Test
+    public void eachFrameIsJudgedAgainstItsOwnBudget() {
+        long fastFrame = 8_333_333L;
+        log.setScreen("navbar/Dashboard", 0);
+        // An idle 60Hz frame after the display dropped from 120Hz is on time
+        log.onFrame(FRAME, FRAME);
+        // The same duration while the display runs at 120Hz misses a vsync
+        log.onFrame(FRAME, fastFrame);
+
+        JankLog.Summary summary = log.snapshot(10).get(0);
+        assertEquals(2, summary.frames);
+        assertEquals(1, summary.slowFrames);
+        assertEquals(1, summary.droppedFrames);
+    }
+
+    @Test
+    public void longMessagesAndViolations() {
+        log.setScreen("ForgotPassword", 0);
+        log.onMessage(20_000_000L);
+        log.onMessage(250_000_000L);
+        log.onViolation(JankLog.VIOLATION_DISK);
+        log.onViolation(JankLog.VIOLATION_NETWORK);
+        log.onViolation(JankLog.VIOLATION_NETWORK);
+
+        JankLog.Summary summary = log.snapshot(10).get(0);
+        assertEquals(1, summary.longMessages);
+        assertEquals(250, summary.worstMessageMillis);
+        assertEquals(1, summary.diskViolations);
+        assertEquals(2, summary.networkViolations);
+    }
+
+    @Test
+    public void nothingCountedWithoutAScreen() {
+        log.onFrame(FRAME * 10, FRAME);
+        log.setScreen("SignIn", 0);
+        log.setScreen(null, 10);
+        log.onMessage(500_000_000L);
+        assertTrue(log.snapshot(20).isEmpty());
+    }
+
+    @Test
+    public void snapshotKeepsCountingTheCurrentScreen() {
+        log.setScreen("navbar/Income", 0);
+        log.onFrame(FRAME, FRAME);
+        assertEquals(1, log.snapshot(100).size());
+        log.onFrame(FRAME, FRAME);
+
+        List<JankLog.Summary> summaries = log.snapshot(200);
+        assertEquals(2, summaries.size());
+        assertEquals("navbar/Income", summaries.get(1).screen);
+        assertEquals(100, summaries.get(1).startedAtMillis);
+    }
+
+    @Test
+    public void ringKeepsTheNewestSummaries() {
+        for (int i = 0; i < JankLog.CAPACITY + 10; i++) {
+            log.setScreen("screen" + i, i);
+            log.onFrame(FRAME, FRAME);
+        }
+        List<JankLog.Summary> summaries = log.snapshot(1_000);
+
+        assertEquals(JankLog.CAPACITY, summaries.size());
+        assertEquals("screen10", summaries.get(0).screen);
+        assertEquals("screen" + (JankLog.CAPACITY + 9), summaries.get(JankLog.CAPACITY - 1).screen);
+    }
+}
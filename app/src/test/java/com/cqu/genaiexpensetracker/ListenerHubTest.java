@@ -0,0 +1,162 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the shared listener hub.
+ */
+public class ListenerHubTest {
+
+    private static final long GRACE = 30_000;
+
+    /**
+     * Records attaches and lets the test push values.
+     */
+    private static final class FakeSource implements ListenerHub.Source<String, String> {
+        final Map<String, ListenerHub.Observer<String>> live = new HashMap<>();
+        int detaches;
+
+        @Override
+        public Runnable attach(String key, ListenerHub.Observer<String> observer) {
+            live.put(key, observer);
+            return () -> {
+                live.remove(key);
+                detaches++;
+            };
+        }
+
+        void push(String key, String value) {
+            live.get(key).onValue(value);
+        }
+    }
+
+    /**
+     * Holds delayed tasks until the test runs them.
+     */
+    private static final class FakeScheduler implements ListenerHub.Scheduler {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public Runnable schedule(Runnable task, long delayMillis) {
+            assertEquals(GRACE, delayMillis);
+            tasks.add(task);
+            return () -> tasks.remove(task);
+        }
+
+        void runAll() {
+            for (Runnable task : new ArrayList<>(tasks)) task.run();
+            tasks.clear();
+        }
+    }
+
+    private static final class Recorder implements ListenerHub.Observer<String> {
+        final List<String> values = new ArrayList<>();
+        Exception error;
+
+        @Override
+        public void onValue(String value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Exception e) {
+            error = e;
+        }
+    }
+
+    private final FakeSource source = new FakeSource();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final ListenerHub<String, String> hub = new ListenerHub<>(source, Runnable::run, scheduler, GRACE);
+
+    @Test
+    public void subscribersShareOneListener() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        hub.subscribe("expenses/u1", first);
+        hub.subscribe("expenses/u1", second);
+        source.push("expenses/u1", "s1");
+
+        assertEquals(1, hub.getAttachCount());
+        assertEquals(1, first.values.size());
+        assertEquals(1, second.values.size());
+    }
+
+    @Test
+    public void lateSubscriberGetsLatestValue() {
+        hub.subscribe("expenses/u1", new Recorder());
+        source.push("expenses/u1", "s1");
+        source.push("expenses/u1", "s2");
+
+        Recorder late = new Recorder();
+        hub.subscribe("expenses/u1", late);
+        assertEquals(1, late.values.size());
+        assertEquals("s2", late.values.get(0));
+    }
+
+    @Test
+    public void detachesOnlyAfterGracePeriod() {
+        ListenerHub.Subscription subscription = hub.subscribe("budget/u1", new Recorder());
+        subscription.unsubscribe();
+        subscription.unsubscribe();
+        assertTrue(hub.isAttached("budget/u1"));
+        assertEquals(0, source.detaches);
+
+        scheduler.runAll();
+        assertFalse(hub.isAttached("budget/u1"));
+        assertEquals(1, source.detaches);
+    }
+
+    @Test
+    public void resubscribeWithinGraceKeepsListener() {
+        hub.subscribe("income/u1", new Recorder()).unsubscribe();
+        source.push("income/u1", "s1");
+
+        Recorder back = new Recorder();
+        hub.subscribe("income/u1", back);
+        scheduler.runAll();
+
+        assertTrue(hub.isAttached("income/u1"));
+        assertEquals(1, hub.getAttachCount());
+        assertEquals(0, source.detaches);
+        assertEquals("s1", back.values.get(0));
+    }
+
+    @Test
+    public void errorReachesSubscribersAndNextSubscribeReattaches() {
+        Recorder recorder = new Recorder();
+        hub.subscribe("expenses/u1", recorder);
+        source.live.get("expenses/u1").onError(new IllegalStateException("denied"));
+
+        assertNotNull(recorder.error);
+        assertFalse(hub.isAttached("expenses/u1"));
+        assertEquals(1, source.detaches);
+
+        hub.subscribe("expenses/u1", new Recorder());
+        assertEquals(2, hub.getAttachCount());
+    }
+
+    @Test
+    public void unsubscribedReceivesNothing() {
+        Recorder gone = new Recorder();
+        ListenerHub.Subscription subscription = hub.subscribe("expenses/u1", gone);
+        hub.subscribe("expenses/u1", new Recorder());
+        subscription.unsubscribe();
+        source.push("expenses/u1", "s1");
+
+        assertTrue(gone.values.isEmpty());
+    }
+
+    @Test
+    public void keysAreIndependent() {
+        hub.subscribe("expenses/u1", new Recorder());
+        hub.subscribe("expenses/u2", new Recorder());
+        assertEquals(2, hub.getAttachCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the metrics registry.
+ */
+public class MetricsRegistryTest {
+
+    private long now;
+    private final MetricsRegistry metrics = new MetricsRegistry(() -> now);
+
+    @Test
+    public void disabledRecordsNothing() {
+        long token = metrics.start();
+        now += 5_000_000;
+        metrics.stop("auth.sign_in_email", token);
+        metrics.increment("auth.sign_in_email.ok");
+        metrics.setGauge("sync.pending_writes", 3);
+
+        assertEquals(MetricsRegistry.NOT_TIMED, token);
+        assertEquals(0, metrics.getCount("auth.sign_in_email.ok"));
+        assertEquals(0, metrics.getGauge("sync.pending_writes"));
+        assertEquals("", metrics.dump());
+    }
+
+    @Test
+    public void timersCountersAndGauges() {
+        metrics.setEnabled(true);
+        long token = metrics.start();
+        now += 12_345_000;
+        metrics.stop("auth.sign_in_email", token);
+        metrics.increment("auth.sign_in_email.ok");
+        metrics.increment("auth.sign_in_email.ok");
+        metrics.setGauge("sync.pending_writes", 7);
+
+        assertEquals(1, metrics.histogram("auth.sign_in_email").getCount());
+        assertEquals(12_345, metrics.histogram("auth.sign_in_email").getMaxMicros());
+        assertEquals(2, metrics.getCount("auth.sign_in_email.ok"));
+        assertEquals(7, metrics.getGauge("sync.pending_writes"));
+    }
+
+    @Test
+    public void timerStartedWhileDisabledIsIgnored() {
+        long token = metrics.start();
+        metrics.setEnabled(true);
+        metrics.stop("auth.confirm_reset", token);
+
+        assertEquals(0, metrics.histogram("auth.confirm_reset").getCount());
+    }
+
+    @Test
+    public void dumpListsEveryMetric() {
+        metrics.setEnabled(true);
+        long token = metrics.start();
+        now += 1_500_000;
+        metrics.stop("auth.send_reset_email", token);
+        metrics.increment("auth.send_reset_email.failed");
+        metrics.setGauge("sync.pending_writes", 2);
+
+        String dump = metrics.dump();
+        assertTrue(dump, dump.contains("auth.send_reset_email n=1 mean=1.5ms p50=1.5ms"));
+        assertTrue(dump, dump.contains("auth.send_reset_email.failed count=1"));
+        assertTrue(dump, dump.contains("sync.pending_writes gauge=2"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for folding repeated writes to one document.
+ */
+public class QueuedWriteTest {
+
+    private static Map<String, Object> fields(Object... pairs) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) map.put((String) pairs[i], pairs[i + 1]);
+        return map;
+    }
+
+    @Test
+    public void nothingQueued_keepsTheNewWrite() {
+        QueuedWrite later = QueuedWrite.merge("users", "u1", fields("name", "Kapil"));
+        assertSame(later, QueuedWrite.coalesce(null, later));
+    }
+
+    @Test
+    public void setOrDelete_supersedesWhatWasQueued() {
+        QueuedWrite merge = QueuedWrite.merge("users", "u1", fields("name", "Kapil"));
+        QueuedWrite set = QueuedWrite.set("users", "u1", fields("email", "k@example.com"));
+        QueuedWrite delete = QueuedWrite.delete("users", "u1");
+
+        assertSame(set, QueuedWrite.coalesce(merge, set));
+        assertSame(delete, QueuedWrite.coalesce(set, delete));
+        assertSame(set, QueuedWrite.coalesce(delete, set));
+    }
+
+    @Test
+    public void mergeAfterSetOrMerge_overlaysFields() {
+        QueuedWrite set = QueuedWrite.set("users", "u1", fields("name", "Kapil", "email", "old@example.com"));
+        QueuedWrite merge = QueuedWrite.merge("users", "u1", fields("email", "new@example.com"));
+
+        QueuedWrite folded = QueuedWrite.coalesce(set, merge);
+        assertEquals(QueuedWrite.OP_SET, folded.op);
+        assertEquals(fields("name", "Kapil", "email", "new@example.com"), folded.payload);
+
+        folded = QueuedWrite.coalesce(QueuedWrite.merge("users", "u1", fields("name", "Kapil")), merge);
+        assertEquals(QueuedWrite.OP_MERGE, folded.op);
+        assertEquals(fields("name", "Kapil", "email", "new@example.com"), folded.payload);
+    }
+
+    @Test
+    public void mergeAfterDelete_becomesSet() {
+        QueuedWrite folded = QueuedWrite.coalesce(QueuedWrite.delete("users", "u1"),
+                QueuedWrite.merge("users", "u1", fields("name", "Kapil")));
+        assertEquals(QueuedWrite.OP_SET, folded.op);
+        assertEquals(fields("name", "Kapil"), folded.payload);
+    }
+}
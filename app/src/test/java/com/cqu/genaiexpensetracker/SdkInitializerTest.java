@@ -0,0 +1,101 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SdkInitializer using a fake clock.
+ */
+public class SdkInitializerTest {
+
+    private long now;
+    private final List<String> reports = Collections.synchronizedList(new ArrayList<>());
+    private final SdkInitializer sdks = new SdkInitializer(() -> now,
+            (sdk, stage, thread, micros, error) ->
+                    reports.add(sdk + " " + stage + " " + micros + (error != null ? " failed" : "")));
+
+    @Test
+    public void eager_runsInlineAndRecordsCost() {
+        String value = sdks.eager("auth", () -> {
+            now += 2_500_000;
+            return "ready";
+        });
+
+        assertEquals("ready", value);
+        assertEquals(2_500, sdks.getMicros("auth"));
+        assertEquals(List.of("auth eager 2500"), reports);
+        assertEquals("auth eager 2500us", sdks.dump());
+    }
+
+    @Test
+    public void onDemand_createsOnceOnFirstGet() {
+        AtomicInteger created = new AtomicInteger();
+        SdkInitializer.Lazy<Object> lazy = sdks.onDemand("facebook", () -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+
+        assertFalse(lazy.isInitialized());
+        assertEquals(-1, sdks.getMicros("facebook"));
+
+        Object first = lazy.get();
+        assertSame(first, lazy.get());
+        assertEquals(1, created.get());
+        assertEquals(List.of("facebook on_demand 0"), reports);
+    }
+
+    @Test
+    public void failure_isReportedAndRetriedOnNextGet() {
+        AtomicInteger attempts = new AtomicInteger();
+        SdkInitializer.Lazy<String> lazy = sdks.onDemand("google", () -> {
+            if (attempts.incrementAndGet() == 1) throw new IllegalStateException("not yet");
+            return "client";
+        });
+
+        try {
+            lazy.get();
+            fail("Expected the failure to reach the caller");
+        } catch (SdkInitializer.InitException e) {
+            assertEquals("not yet", e.getCause().getMessage());
+        }
+        assertFalse(lazy.isInitialized());
+        assertEquals("client", lazy.get());
+        assertEquals(List.of("google on_demand 0 failed", "google on_demand 0"), reports);
+    }
+
+    @Test
+    public void eager_failureIsReportedAndReturnsNull() {
+        assertNull(sdks.eager("auth", () -> {
+            throw new IllegalStateException("missing");
+        }));
+        assertEquals(List.of("auth eager 0 failed"), reports);
+    }
+
+    @Test
+    public void background_runsInOrderOffTheCallingThread() throws Exception {
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        sdks.background("firestore", () -> {
+            threads.add(Thread.currentThread().getName());
+            done.countDown();
+            return null;
+        });
+        sdks.background("ledger", () -> {
+            threads.add(Thread.currentThread().getName());
+            done.countDown();
+            return null;
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("sdk-init", "sdk-init"), threads);
+        assertTrue(sdks.dump(), sdks.dump().startsWith("firestore background"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for StartupTracer using a fake clock.
+ */
+public class StartupTracerTest {
+
+    private long now;
+    private final StartupTracer tracer = new StartupTracer(() -> now);
+
+    @Test
+    public void marks_areOffsetsFromFirstPhase() {
+        now = 5_000_000_000L;
+        tracer.mark(StartupTracer.ROUTER_CREATE);
+        now += 3_000_000;
+        tracer.mark(StartupTracer.ROUTED);
+        now += 120_000_000;
+        tracer.mark(StartupTracer.NAVBAR_FIRST_FRAME);
+
+        assertEquals(0, tracer.elapsedMillis(StartupTracer.ROUTER_CREATE));
+        assertEquals(3, tracer.elapsedMillis(StartupTracer.ROUTED));
+        assertEquals(123, tracer.elapsedMillis(StartupTracer.NAVBAR_FIRST_FRAME));
+        assertEquals(120, tracer.betweenMillis(StartupTracer.ROUTED, StartupTracer.NAVBAR_FIRST_FRAME));
+        assertEquals("router_create +0ms, routed +3ms, navbar_first_frame +123ms", tracer.dump());
+    }
+
+    @Test
+    public void repeatedPhase_keepsFirstTimestamp() {
+        tracer.mark(StartupTracer.WELCOME_CREATE);
+        now = 50_000_000;
+        assertFalse(tracer.mark(StartupTracer.WELCOME_CREATE));
+
+        assertEquals(List.of(StartupTracer.WELCOME_CREATE), tracer.getPhases());
+        assertEquals(0, tracer.elapsedMillis(StartupTracer.WELCOME_CREATE));
+    }
+
+    @Test
+    public void missingPhase_andReset() {
+        assertEquals(-1, tracer.elapsedMillis(StartupTracer.ROUTED));
+        tracer.mark(StartupTracer.ROUTER_CREATE);
+        assertEquals(-1, tracer.betweenMillis(StartupTracer.ROUTER_CREATE, StartupTracer.ROUTED));
+
+        tracer.reset();
+        assertFalse(tracer.has(StartupTracer.ROUTER_CREATE));
+        assertTrue(tracer.getPhases().isEmpty());
+    }
+}
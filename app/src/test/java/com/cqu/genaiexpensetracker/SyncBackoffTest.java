@@ -0,0 +1,47 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the sync retry delay.
+ */
+public class SyncBackoffTest {
+
+    private final SyncBackoff backoff = new SyncBackoff(30_000, 3_600_000);
+
+    @Test
+    public void ceilingDoublesPerAttempt() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            long first = backoff.delayMillis(1, random);
+            assertTrue(first >= 15_000 && first <= 30_000);
+            long third = backoff.delayMillis(3, random);
+            assertTrue(third >= 60_000 && third <= 120_000);
+        }
+    }
+
+    @Test
+    public void ceilingIsCapped() {
+        Random random = new Random(7);
+        for (int attempt : new int[]{8, 20, 64, Integer.MAX_VALUE}) {
+            long delay = backoff.delayMillis(attempt, random);
+            assertTrue(delay >= 1_800_000 && delay <= 3_600_000);
+        }
+    }
+
+    @Test
+    public void delaysAreSpreadOut() {
+        Random random = new Random(7);
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        for (int i = 0; i < 1_000; i++) {
+            long delay = backoff.delayMillis(4, random);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        assertTrue(max - min > 100_000);
+    }
+}
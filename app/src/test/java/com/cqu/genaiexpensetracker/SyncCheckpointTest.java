@@ -0,0 +1,44 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the delta sync high-water mark.
+ */
+public class SyncCheckpointTest {
+
+    @Test
+    public void ordersByTimeThenDocumentId() {
+        SyncCheckpoint a = new SyncCheckpoint(1_000, "b");
+        SyncCheckpoint b = new SyncCheckpoint(1_000, "c");
+        SyncCheckpoint c = new SyncCheckpoint(2_000, "a");
+
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(b.compareTo(c) < 0);
+        assertTrue(SyncCheckpoint.START.compareTo(a) < 0);
+        assertSame(c, SyncCheckpoint.later(a, c));
+        assertSame(c, SyncCheckpoint.later(c, b));
+    }
+
+    @Test
+    public void rewind_startsAtTheBeginningOfTheEarlierMillisecond() {
+        SyncCheckpoint mark = new SyncCheckpoint(10_000, "x");
+        assertEquals(new SyncCheckpoint(4_000, ""), mark.rewind(6_000));
+        assertTrue(mark.rewind(0).compareTo(new SyncCheckpoint(10_000, "a")) < 0);
+    }
+
+    @Test
+    public void rewind_neverGoesBelowZero() {
+        assertEquals(SyncCheckpoint.START, new SyncCheckpoint(500, "x").rewind(6_000));
+    }
+
+    @Test
+    public void clampTo_pullsAFutureMarkBackToNow() {
+        SyncCheckpoint mark = new SyncCheckpoint(10_000, "x");
+        assertSame(mark, mark.clampTo(10_000));
+        assertSame(mark, mark.clampTo(20_000));
+        assertEquals(new SyncCheckpoint(7_000, ""), mark.clampTo(7_000));
+    }
+}
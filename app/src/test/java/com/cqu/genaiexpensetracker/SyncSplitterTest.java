@@ -0,0 +1,100 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for isolating rejected writes in a sync batch.
+ */
+public class SyncSplitterTest {
+
+    // Writes the fake server refuses for good, and whether it is reachable at all
+    private final Set<Integer> rejected = new HashSet<>();
+    private boolean offline;
+    private int commits;
+
+    private final List<Integer> committed = new ArrayList<>();
+    private final List<Integer> dropped = new ArrayList<>();
+
+    private final SyncSplitter.Committer<Integer> server = writes -> {
+        commits++;
+        if (offline) return SyncSplitter.Outcome.FAILED;
+        for (int write : writes) {
+            // All or nothing, like a WriteBatch
+            if (rejected.contains(write)) return SyncSplitter.Outcome.REJECTED;
+        }
+        return SyncSplitter.Outcome.COMMITTED;
+    };
+
+    private final SyncSplitter.Sink<Integer> sink = new SyncSplitter.Sink<Integer>() {
+        @Override
+        public void onCommitted(List<Integer> writes) {
+            committed.addAll(writes);
+        }
+
+        @Override
+        public void onRejected(Integer write) {
+            dropped.add(write);
+        }
+    };
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> writes = new ArrayList<>();
+        for (int i = from; i < to; i++) writes.add(i);
+        return writes;
+    }
+
+    @Test
+    public void cleanChunk_commitsOnce() throws Exception {
+        assertTrue(SyncSplitter.drain(range(0, 500), server, sink));
+        assertEquals(1, commits);
+        assertEquals(range(0, 500), committed);
+        assertTrue(dropped.isEmpty());
+    }
+
+    @Test
+    public void rejectedWrite_doesNotBlockLaterWrites() throws Exception {
+        rejected.add(3);
+
+        assertTrue(SyncSplitter.drain(range(0, 500), server, sink));
+        assertEquals(Arrays.asList(3), dropped);
+        List<Integer> expected = range(0, 500);
+        expected.remove(Integer.valueOf(3));
+        assertEquals(expected, committed);
+        // Found by halving, not by committing writes one at a time
+        assertTrue("commits: " + commits, commits <= 2 * 9 + 1);
+    }
+
+    @Test
+    public void severalRejectedWrites_areAllDroppedInOrder() throws Exception {
+        rejected.addAll(Arrays.asList(0, 7, 8, 499));
+
+        assertTrue(SyncSplitter.drain(range(0, 500), server, sink));
+        assertEquals(Arrays.asList(0, 7, 8, 499), dropped);
+        assertEquals(496, committed.size());
+        for (int i = 1; i < committed.size(); i++) assertTrue(committed.get(i - 1) < committed.get(i));
+    }
+
+    @Test
+    public void retryableFailure_stopsWithoutDropping() throws Exception {
+        offline = true;
+
+        assertFalse(SyncSplitter.drain(range(0, 10), server, sink));
+        assertEquals(1, commits);
+        assertTrue(committed.isEmpty());
+        assertTrue(dropped.isEmpty());
+    }
+
+    @Test
+    public void emptyChunk_doesNothing() throws Exception {
+        assertTrue(SyncSplitter.drain(new ArrayList<>(), server, sink));
+        assertEquals(0, commits);
+    }
+}
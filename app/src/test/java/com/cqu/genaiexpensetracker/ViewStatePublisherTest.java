@@ -0,0 +1,90 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for background-to-UI state delivery.
+ */
+public class ViewStatePublisherTest {
+
+    // Stands in for the main looper: runs tasks when drained
+    private final Queue<Runnable> posted = new ArrayDeque<>();
+    private final Executor ui = posted::add;
+    private final List<String> rendered = new ArrayList<>();
+
+    private void drain() {
+        Runnable task;
+        while ((task = posted.poll()) != null) task.run();
+    }
+
+    @Test
+    public void rendersOnlyTheNewestState() {
+        ViewStatePublisher<String> publisher = new ViewStatePublisher<>(ui, rendered::add);
+        publisher.publish("a");
+        publisher.publish("b");
+        publisher.publish("c");
+
+        assertEquals(1, posted.size());
+        drain();
+        assertEquals(1, rendered.size());
+        assertEquals("c", rendered.get(0));
+    }
+
+    @Test
+    public void postsAgainAfterDelivery() {
+        ViewStatePublisher<String> publisher = new ViewStatePublisher<>(ui, rendered::add);
+        publisher.publish("a");
+        drain();
+        publisher.publish("b");
+        drain();
+
+        assertEquals(2, rendered.size());
+        assertEquals("b", rendered.get(1));
+    }
+
+    @Test
+    public void closeDropsQueuedDelivery() {
+        ViewStatePublisher<String> publisher = new ViewStatePublisher<>(ui, rendered::add);
+        publisher.publish("a");
+        publisher.close();
+        drain();
+        publisher.publish("b");
+        drain();
+
+        assertTrue(rendered.isEmpty());
+        assertTrue(posted.isEmpty());
+    }
+
+    @Test
+    public void concurrentPublishersEndOnLastState() throws InterruptedException {
+        AtomicInteger renders = new AtomicInteger();
+        Integer[] last = new Integer[1];
+        ViewStatePublisher<Integer> publisher = new ViewStatePublisher<>(ui, state -> {
+            renders.incrementAndGet();
+            last[0] = state;
+        });
+
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) publisher.publish(i);
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        drain();
+
+        assertEquals(1, renders.get());
+        assertEquals(Integer.valueOf(9_999), last[0]);
+    }
+}
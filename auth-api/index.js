@@ -9,9 +9,67 @@ const app = express();
 app.use(cors({ origin: true }));
 app.use(express.json());
 
+/**
+ * Converts a stored timestamp (Firestore Timestamp or epoch millis) to ISO.
+ */
+const toIso = (value) => {
+  if (value == null) return null;
+  if (typeof value === "number") return new Date(value).toISOString();
+  return value.toDate ? value.toDate().toISOString() : null;
+};
+
+/**
+ * Parses a JSON amount ("12.5", 12.5) into integer cents without going
+ * through floating-point multiplication. Returns null for anything that is
+ * not a positive amount with at most two decimal places.
+ */
+const toCents = (amount) => {
+  const match = /^\s*(\d{1,13})(?:\.(\d{1,2}))?\s*$/.exec(String(amount));
+  if (!match) return null;
+  const cents = Number(match[1]) * 100 + Number((match[2] || "").padEnd(2, "0"));
+  return cents > 0 ? cents : null;
+};
+
+/**
+ * Document ID of an address in the emails/{key} index. Must match
+ * EmailKey.of() in the app: trimmed, lower-cased, '%' and '/' escaped.
+ */
+const normalizeEmail = (email) => String(email).trim().toLowerCase();
+const emailKey = (email) => normalizeEmail(email).replace(/%/g, "%25").replace(/\//g, "%2F");
+
+const DELTA_PAGE_SIZE = 300;
+
+/**
+ * Lists income or expense documents.
+ *
+ * With ?uid=&since=<updatedAt millis>[&afterId=<doc id>] only that user's
+ * documents changed after the checkpoint are returned, ordered by
+ * (updatedAt, id) and at most DELTA_PAGE_SIZE per call. Tombstones
+ * ({ deleted: true }) are included so clients can drop deleted rows; pass
+ * the last document's updatedAt and id to get the next page.
+ *
+ * Without them every live document is returned, tombstones left out.
+ */
+const listTransactions = async (collection, query) => {
+  const { uid, since, afterId } = query;
+  if (uid && since != null) {
+    const changes = db.collection(collection)
+      .where("uid", "==", uid)
+      .orderBy("updatedAt")
+      .orderBy(admin.firestore.FieldPath.documentId())
+      .limit(DELTA_PAGE_SIZE);
+    const snapshot = await (afterId
+      ? changes.startAfter(Number(since), afterId)
+      : changes.startAfter(Number(since))).get();
+    return snapshot.docs;
+  }
+  const snapshot = await db.collection(collection).get();
+  return snapshot.docs.filter(doc => doc.data().deleted !== true);
+};
+
 /**
  * POST /register
- * Register a new user (Firebase Auth + Firestore)
+ * Register a new user (Firebase Auth + Firestore users/{uid} and emails/{key})
  */
 app.post("/register", async (req, res) => {
   const { name, email, password } = req.body;
@@ -21,7 +79,11 @@ app.post("/register", async (req, res) => {
 
   try {
     const userRecord = await admin.auth().createUser({ email, password, displayName: name });
-    await db.collection("users").doc(userRecord.uid).set({ uid: userRecord.uid, name, email });
+    const normalized = normalizeEmail(email);
+    const batch = db.batch();
+    batch.set(db.collection("users").doc(userRecord.uid), { uid: userRecord.uid, name, email: normalized });
+    batch.set(db.collection("emails").doc(emailKey(email)), { uid: userRecord.uid, email: normalized });
+    await batch.commit();
     return res.status(201).json({ message: "User registered successfully", uid: userRecord.uid });
   } catch (error) {
     return res.status(500).json({ message: "Registration failed", error: error.message });
@@ -63,9 +125,14 @@ app.get("/users-list", async (req, res) => {
 app.post("/income-add", async (req, res) => {
   const { uid, amount, source } = req.body;
   if (!uid || !amount || !source) return res.status(400).json({ message: "Missing fields" });
+  const amountCents = toCents(amount);
+  if (amountCents == null) return res.status(400).json({ message: "Invalid amount" });
 
   try {
-    const ref = await db.collection("income").add({ uid, amount, source, createdAt: new Date() });
+    const now = Date.now();
+    const ref = await db.collection("income").add({
+      uid, amount: amountCents / 100, amountCents, source, createdAt: now, updatedAt: now
+    });
     res.status(201).json({ message: "Income added", id: ref.id });
   } catch (error) {
     res.status(500).json({ message: "Failed to add income", error: error.message });
@@ -73,17 +140,17 @@ app.post("/income-add", async (req, res) => {
 });
 
 /**
- * GET /income-list
+ * GET /income-list[?uid=&since=&afterId=]  (see listTransactions)
  */
 app.get("/income-list", async (req, res) => {
   try {
-    const snapshot = await db.collection("income").get();
-    const data = snapshot.docs.map(doc => {
+    const docs = await listTransactions("income", req.query);
+    const data = docs.map(doc => {
       const d = doc.data();
       return {
         id: doc.id,
         ...d,
-        createdAt: d.createdAt?.toDate().toISOString() || null
+        createdAt: toIso(d.createdAt)
       };
     });
     res.status(200).json(data);
@@ -98,9 +165,14 @@ app.get("/income-list", async (req, res) => {
 app.post("/expense-add", async (req, res) => {
   const { uid, amount, category, description } = req.body;
   if (!uid || !amount || !category || !description) return res.status(400).json({ message: "Missing fields" });
+  const amountCents = toCents(amount);
+  if (amountCents == null) return res.status(400).json({ message: "Invalid amount" });
 
   try {
-    const ref = await db.collection("expenses").add({ uid, amount, category, description, createdAt: new Date() });
+    const now = Date.now();
+    const ref = await db.collection("expenses").add({
+      uid, amount: amountCents / 100, amountCents, category, description, createdAt: now, updatedAt: now
+    });
     res.status(201).json({ message: "Expense added", id: ref.id });
   } catch (error) {
     res.status(500).json({ message: "Failed to add expense", error: error.message });
@@ -108,17 +180,17 @@ app.post("/expense-add", async (req, res) => {
 });
 
 /**
- * GET /expense-list
+ * GET /expense-list[?uid=&since=&afterId=]  (see listTransactions)
  */
 app.get("/expense-list", async (req, res) => {
   try {
-    const snapshot = await db.collection("expenses").get();
-    const data = snapshot.docs.map(doc => {
+    const docs = await listTransactions("expenses", req.query);
+    const data = docs.map(doc => {
       const d = doc.data();
       return {
         id: doc.id,
         ...d,
-        createdAt: d.createdAt?.toDate().toISOString() || null
+        createdAt: toIso(d.createdAt)
       };
     });
     res.status(200).json(data);
@@ -129,13 +201,20 @@ app.get("/expense-list", async (req, res) => {
 
 /**
  * POST /budget-set
+ * Writes budget/{uid}_{month}; month is "yyyy-MM"
  */
 app.post("/budget-set", async (req, res) => {
   const { uid, month, totalAmount } = req.body;
   if (!uid || !month || !totalAmount) return res.status(400).json({ message: "Missing fields" });
+  if (!/^\d{4}-\d{2}$/.test(month)) return res.status(400).json({ message: "Month must be yyyy-MM" });
+  const totalAmountCents = toCents(totalAmount);
+  if (totalAmountCents == null) return res.status(400).json({ message: "Invalid amount" });
 
   try {
-    await db.collection("budget").doc(`${uid}_${month}`).set({ uid, month, totalAmount, createdAt: new Date() });
+    const now = Date.now();
+    await db.collection("budget").doc(`${uid}_${month}`).set({
+      uid, month, totalAmount: totalAmountCents / 100, totalAmountCents, createdAt: now, updatedAt: now
+    });
     res.status(201).json({ message: "Budget set" });
   } catch (error) {
     res.status(500).json({ message: "Failed to set budget", error: error.message });
@@ -152,7 +231,7 @@ app.get("/budget-list", async (req, res) => {
       const d = doc.data();
       return {
         ...d,
-        createdAt: d.createdAt?.toDate().toISOString() || null
+        createdAt: toIso(d.createdAt)
       };
     });
     res.status(200).json(data);
@@ -163,6 +242,8 @@ app.get("/budget-list", async (req, res) => {
 
 /**
  * GET /insights
+ * Static placeholder kept for older clients. The Android app now computes
+ * insights on the device from the local ledger (InsightsEngine).
  */
 app.get("/insights", (req, res) => {
   res.json({
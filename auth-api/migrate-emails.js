@@ -0,0 +1,52 @@
+/**
+ * One-off backfill for accounts whose users/{uid}.email was stored with
+ * the provider's casing before emails were normalized: lower-cases the
+ * stored email and writes its emails/{key} index entry. The app's legacy
+ * lookup queries users by the normalized address, so these accounts are
+ * otherwise never found. Safe to run more than once.
+ *
+ * Usage: npm run migrate-emails   (uses application default credentials)
+ */
+const admin = require("firebase-admin");
+
+admin.initializeApp();
+const db = admin.firestore();
+
+// Two writes per user, well under Firestore's 500 per batch
+const BATCH_SIZE = 200;
+
+// Must match normalizeEmail()/emailKey() in index.js and EmailKey in the app
+const normalizeEmail = (email) => String(email).trim().toLowerCase();
+const emailKey = (email) => normalizeEmail(email).replace(/%/g, "%25").replace(/\//g, "%2F");
+
+const migrate = async () => {
+  let updated = 0;
+  let last = null;
+  for (;;) {
+    let query = db.collection("users").orderBy(admin.firestore.FieldPath.documentId()).limit(BATCH_SIZE);
+    if (last) query = query.startAfter(last);
+    const snapshot = await query.get();
+    if (snapshot.empty) break;
+
+    const batch = db.batch();
+    let writes = 0;
+    for (const doc of snapshot.docs) {
+      const email = doc.get("email");
+      if (typeof email !== "string" || !email.trim()) continue;
+      const normalized = normalizeEmail(email);
+      if (normalized !== email) batch.update(doc.ref, { email: normalized });
+      // Same fields the app writes, so an existing entry is rewritten unchanged
+      batch.set(db.collection("emails").doc(emailKey(email)), { uid: doc.id, email: normalized });
+      writes++;
+    }
+    if (writes) await batch.commit();
+    updated += writes;
+    last = snapshot.docs[snapshot.docs.length - 1];
+  }
+  console.log(`users: ${updated} emails normalized and indexed`);
+};
+
+migrate().catch((error) => {
+  console.error("Migration failed", error);
+  process.exit(1);
+});
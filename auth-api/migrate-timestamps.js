@@ -0,0 +1,92 @@
+/**
+ * One-off backfill for documents written before time fields became epoch
+ * millis and amounts became integer cents: rewrites a Timestamp/Date
+ * createdAt as millis, adds amountCents (totalAmountCents for budgets)
+ * from the legacy decimal amount, and stamps every rewritten document,
+ * and every document without updatedAt, with the current time so delta
+ * sync and the monthly range queries see them. Safe to run more than once.
+ *
+ * Usage: npm run migrate-timestamps   (uses application default credentials)
+ */
+const admin = require("firebase-admin");
+
+admin.initializeApp();
+const db = admin.firestore();
+
+const COLLECTIONS = ["income", "expenses", "budget"];
+const BATCH_SIZE = 400;
+
+// Cents field and the legacy decimal field it replaces, per collection
+const AMOUNT_FIELDS = {
+  income: ["amountCents", "amount"],
+  expenses: ["amountCents", "amount"],
+  budget: ["totalAmountCents", "totalAmount"],
+};
+
+/**
+ * Converts a stored time (Timestamp, Date or millis) to epoch millis.
+ */
+const toMillis = (value) => {
+  if (value == null) return null;
+  if (typeof value === "number") return value;
+  if (value instanceof Date) return value.getTime();
+  return value.toMillis ? value.toMillis() : null;
+};
+
+/**
+ * Converts a legacy decimal amount (number or string) to integer cents,
+ * or null if it cannot be read. Numbers are rounded half up, as the app
+ * does, after trimming float noise such as 0.30000000000000004.
+ */
+const toCents = (amount) => {
+  if (typeof amount === "number") {
+    return Number.isFinite(amount) ? Math.round(Number((amount * 100).toPrecision(15))) : null;
+  }
+  if (typeof amount !== "string") return null;
+  const match = /^\s*(\d{1,13})(?:\.(\d{1,2}))?\s*$/.exec(String(amount));
+  if (!match) return null;
+  return Number(match[1]) * 100 + Number((match[2] || "").padEnd(2, "0"));
+};
+
+const migrate = async (name) => {
+  const [centsField, legacyField] = AMOUNT_FIELDS[name];
+  let updated = 0;
+  let last = null;
+  for (;;) {
+    let query = db.collection(name).orderBy(admin.firestore.FieldPath.documentId()).limit(BATCH_SIZE);
+    if (last) query = query.startAfter(last);
+    const snapshot = await query.get();
+    if (snapshot.empty) break;
+
+    const batch = db.batch();
+    let writes = 0;
+    for (const doc of snapshot.docs) {
+      const d = doc.data();
+      const createdAt = toMillis(d.createdAt);
+      const patch = {};
+      if (createdAt != null && typeof d.createdAt !== "number") patch.createdAt = createdAt;
+      if (typeof d[centsField] !== "number") {
+        const cents = toCents(d[legacyField]);
+        if (cents != null) patch[centsField] = cents;
+      }
+      if (Object.keys(patch).length || typeof d.updatedAt !== "number") {
+        // Stamped now, not with createdAt, so devices whose delta sync mark
+        // is already past createdAt still pull the rewritten document
+        patch.updatedAt = Date.now();
+        batch.update(doc.ref, patch);
+        writes++;
+      }
+    }
+    if (writes) await batch.commit();
+    updated += writes;
+    last = snapshot.docs[snapshot.docs.length - 1];
+  }
+  console.log(`${name}: ${updated} documents updated`);
+};
+
+(async () => {
+  for (const name of COLLECTIONS) await migrate(name);
+})().catch((error) => {
+  console.error("Migration failed", error);
+  process.exit(1);
+});
@@ -0,0 +1,77 @@
+package com.cqu.genaiexpensetracker.benchmarks;
+
+import com.cqu.genaiexpensetracker.ExpenseEntry;
+import com.cqu.genaiexpensetracker.LedgerAggregator;
+import com.cqu.genaiexpensetracker.LedgerMonth;
+import com.cqu.genaiexpensetracker.TransactionColumns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly totals: rebuilding the aggregator from a full history, the
+ * per-write incremental update, and the columnar group-by scans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AggregationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private SampleLedger ledger;
+    private LedgerAggregator aggregator;
+    private TransactionColumns columns;
+    private ExpenseEntry edited;
+    private int month;
+
+    @Setup
+    public void setUp() {
+        ledger = new SampleLedger(rows);
+        aggregator = new LedgerAggregator(SampleLedger.ZONE);
+        aggregator.loadAll(ledger.income, ledger.expenses);
+        columns = ledger.toColumns();
+        edited = ledger.expenses.get(ledger.expenses.size() / 2);
+        month = LedgerMonth.of(edited.getCreatedAt(), SampleLedger.ZONE);
+    }
+
+    @Benchmark
+    public LedgerAggregator loadAll() {
+        LedgerAggregator fresh = new LedgerAggregator(SampleLedger.ZONE);
+        fresh.loadAll(ledger.income, ledger.expenses);
+        return fresh;
+    }
+
+    @Benchmark
+    public long addAndRemoveExpense() {
+        aggregator.onExpenseAdded(edited);
+        long total = aggregator.getExpenses(SampleLedger.UID, month);
+        aggregator.onExpenseRemoved(edited);
+        return total;
+    }
+
+    @Benchmark
+    public long[] expensesByCategory() {
+        return columns.expensesByCategory(SampleLedger.START, SampleLedger.START + SampleLedger.SPAN);
+    }
+
+    @Benchmark
+    public long[] expensesByMonth() {
+        return columns.expensesByMonth(SampleLedger.FIRST_MONTH, SampleLedger.MONTHS, SampleLedger.ZONE);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cqu.genaiexpensetracker.benchmarks;
+
+import com.cqu.genaiexpensetracker.ExpenseEntry;
+import com.cqu.genaiexpensetracker.IncomeEntry;
+import com.cqu.genaiexpensetracker.TransactionColumns;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * Deterministic ledger shared by the suites: the same seed always yields
+ * the same entries, so numbers from different runs and machines compare.
+ */
+final class SampleLedger {
+
+    static final TimeZone ZONE = TimeZone.getTimeZone("Australia/Sydney");
+    static final String UID = "bench-user";
+    static final String[] CATEGORIES = {"Food", "Rent", "Transport", "Shopping", "Bills", "Health", "Travel", "Other"};
+    static final String[] SOURCES = {"Salary", "Freelance", "Gift"};
+    static final long START = 1_672_531_200_000L; // 2023-01-01T00:00:00Z
+    static final long SPAN = 2 * 365L * 86_400_000L;
+    static final int FIRST_MONTH = 202301;
+    static final int MONTHS = 24;
+
+    final List<ExpenseEntry> expenses;
+    final List<IncomeEntry> income;
+
+    /**
+     * @param rows Total entries; roughly one in ten is income
+     */
+    SampleLedger(int rows) {
+        Random random = new Random(20240601L);
+        expenses = new ArrayList<>(rows);
+        income = new ArrayList<>(rows / 10 + 1);
+        for (int i = 0; i < rows; i++) {
+            long time = START + (long) (random.nextDouble() * SPAN);
+            if (i % 10 == 0) {
+                income.add(new IncomeEntry("i" + i, UID, 50_000 + random.nextInt(400_000),
+                        SOURCES[random.nextInt(SOURCES.length)], time));
+            } else {
+                expenses.add(new ExpenseEntry("e" + i, UID, 100 + random.nextInt(20_000),
+                        CATEGORIES[random.nextInt(CATEGORIES.length)], "Expense " + i, time));
+            }
+        }
+    }
+
+    TransactionColumns toColumns() {
+        TransactionColumns.Builder builder = new TransactionColumns.Builder(expenses.size() + income.size());
+        for (IncomeEntry entry : income) builder.addIncome(entry.getCreatedAt(), entry.getAmountCents(), entry.getSource());
+        for (ExpenseEntry entry : expenses) builder.addExpense(entry.getCreatedAt(), entry.getAmountCents(), entry.getCategory());
+        return builder.build();
+    }
+}
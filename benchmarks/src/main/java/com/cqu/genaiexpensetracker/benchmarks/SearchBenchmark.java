@@ -0,0 +1,70 @@
+package com.cqu.genaiexpensetracker.benchmarks;
+
+import com.cqu.genaiexpensetracker.LedgerMonth;
+import com.cqu.genaiexpensetracker.TransactionColumns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * History lookups: a month found by binary search against a full linear
+ * scan, and a category filter over the whole history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private TransactionColumns columns;
+    private long monthStart;
+    private long monthEnd;
+    private int rent;
+
+    @Setup
+    public void setUp() {
+        columns = new SampleLedger(rows).toColumns();
+        int month = 202406;
+        monthStart = LedgerMonth.startMillis(month, SampleLedger.ZONE);
+        monthEnd = LedgerMonth.endMillis(month, SampleLedger.ZONE);
+        rent = columns.getDictionary().idOf("Rent");
+    }
+
+    @Benchmark
+    public long monthByBinarySearch() {
+        return columns.sumExpenses(monthStart, monthEnd);
+    }
+
+    @Benchmark
+    public long monthByLinearScan() {
+        long total = 0;
+        for (int i = 0, n = columns.size(); i < n; i++) {
+            long time = columns.timeAt(i);
+            long amount = columns.amountAt(i);
+            if (time >= monthStart && time < monthEnd && amount < 0) total -= amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int categoryAcrossHistory() {
+        return columns.countWhere(Long.MIN_VALUE, Long.MAX_VALUE,
+                (time, amountCents, category) -> category == rent);
+    }
+}
@@ -0,0 +1,65 @@
+package com.cqu.genaiexpensetracker.benchmarks;
+
+import com.cqu.genaiexpensetracker.ExpenseEntry;
+import com.cqu.genaiexpensetracker.ExpenseEntryCodec;
+import com.cqu.genaiexpensetracker.IncomeEntry;
+import com.cqu.genaiexpensetracker.IncomeEntryCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated codecs of the real ledger models, over the document maps a
+ * snapshot of that many transactions hands back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private SampleLedger ledger;
+    private List<Map<String, Object>> expenseDocuments;
+    private List<Map<String, Object>> incomeDocuments;
+
+    @Setup
+    public void setUp() {
+        ledger = new SampleLedger(rows);
+        expenseDocuments = new ArrayList<>(ledger.expenses.size());
+        for (ExpenseEntry entry : ledger.expenses) expenseDocuments.add(ExpenseEntryCodec.INSTANCE.encode(entry));
+        incomeDocuments = new ArrayList<>(ledger.income.size());
+        for (IncomeEntry entry : ledger.income) incomeDocuments.add(IncomeEntryCodec.INSTANCE.encode(entry));
+    }
+
+    @Benchmark
+    public void decodeSnapshot(Blackhole bh) {
+        for (Map<String, Object> data : expenseDocuments) bh.consume(ExpenseEntryCodec.INSTANCE.decode(data));
+        for (Map<String, Object> data : incomeDocuments) bh.consume(IncomeEntryCodec.INSTANCE.decode(data));
+    }
+
+    @Benchmark
+    public void encodeSnapshot(Blackhole bh) {
+        for (ExpenseEntry entry : ledger.expenses) bh.consume(ExpenseEntryCodec.INSTANCE.encode(entry));
+        for (IncomeEntry entry : ledger.income) bh.consume(IncomeEntryCodec.INSTANCE.encode(entry));
+    }
+}
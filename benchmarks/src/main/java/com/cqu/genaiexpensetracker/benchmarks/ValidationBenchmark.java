@@ -0,0 +1,81 @@
+package com.cqu.genaiexpensetracker.benchmarks;
+
+import com.cqu.genaiexpensetracker.validation.FormValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * FormValidator vs. the regex checks it replaced, over the text a field
+ * holds after each keystroke of a typical password and email.
+ * Run with ./gradlew :benchmarks:jmh -Pbenchmarks=Validation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ValidationBenchmark {
+
+    private static final String PASSWORD_REGEX = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&]).{8,}$";
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile(PASSWORD_REGEX);
+    // android.util.Patterns.EMAIL_ADDRESS
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "[a-zA-Z0-9\\+\\.\\_\\%\\-\\+]{1,256}\\@[a-zA-Z0-9][a-zA-Z0-9\\-]{0,64}"
+                    + "(\\.[a-zA-Z0-9][a-zA-Z0-9\\-]{0,25})+");
+
+    private List<String> passwordKeystrokes;
+    private List<String> emailKeystrokes;
+
+    @Setup
+    public void setUp() {
+        passwordKeystrokes = prefixes("Sydney2024!Budget");
+        emailKeystrokes = prefixes("kapil.pandey@cqumail.com");
+    }
+
+    private static List<String> prefixes(String typed) {
+        List<String> out = new ArrayList<>(typed.length());
+        for (int i = 1; i <= typed.length(); i++) out.add(typed.substring(0, i));
+        return out;
+    }
+
+    @Benchmark
+    public void passwordStringMatches(Blackhole bh) {
+        for (String text : passwordKeystrokes) bh.consume(text.matches(PASSWORD_REGEX));
+    }
+
+    @Benchmark
+    public void passwordPrecompiled(Blackhole bh) {
+        for (String text : passwordKeystrokes) bh.consume(PASSWORD_PATTERN.matcher(text).matches());
+    }
+
+    @Benchmark
+    public void passwordValidator(Blackhole bh) {
+        for (String text : passwordKeystrokes) bh.consume(FormValidator.passwordRules(text));
+    }
+
+    @Benchmark
+    public void emailPrecompiled(Blackhole bh) {
+        for (String text : emailKeystrokes) bh.consume(EMAIL_PATTERN.matcher(text).matches());
+    }
+
+    @Benchmark
+    public void emailValidator(Blackhole bh) {
+        for (String text : emailKeystrokes) bh.consume(FormValidator.isEmail(text));
+    }
+}
@@ -0,0 +1,287 @@
+/**
+ * FirestoreModelProcessor.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Annotation processor that writes a {@code <Model>Codec} class for every
+ * type annotated with {@code @FirestoreModel}. The generated code calls the
+ * model's getters and setters directly, replacing Firestore's reflective
+ * bean mapper on both the write and read paths.
+ *
+ * Features:
+ * - Bean properties discovered from public getter/setter pairs
+ * - Supports String and the primitive/boxed long, int, double, float, boolean
+ * - Getters marked {@code @CodecIgnore} are left out
+ * - Unsupported shapes fail the build with a pointed error
+ */
+
+package com.cqu.genaiexpensetracker.codec.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+public class FirestoreModelProcessor extends AbstractProcessor {
+
+    private static final String MODEL_ANNOTATION = "com.cqu.genaiexpensetracker.codec.FirestoreModel";
+    private static final String IGNORE_ANNOTATION = "com.cqu.genaiexpensetracker.codec.CodecIgnore";
+
+    /**
+     * A stored property: field name, accessor names and how to convert it.
+     */
+    private static final class Property {
+        final String name;
+        final String getter;
+        final String setter;
+        final String decodeCall;
+
+        Property(String name, String getter, String setter, String decodeCall) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.decodeCall = decodeCall;
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // Claims @CodecIgnore too, which process() reads while walking a model
+        return Set.of(MODEL_ANNOTATION, IGNORE_ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(MODEL_ANNOTATION);
+        if (annotation == null) return false;
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (element.getKind() != ElementKind.CLASS
+                    || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+                error(element, "@FirestoreModel must be placed on a top-level class");
+                continue;
+            }
+            TypeElement model = (TypeElement) element;
+            List<Property> properties = collectProperties(model);
+            if (properties != null) writeCodec(model, properties);
+        }
+        return true;
+    }
+
+    /**
+     * Finds getter/setter pairs on the model and its superclasses.
+     *
+     * @return Properties in declaration order, or null if an error was reported
+     */
+    private List<Property> collectProperties(TypeElement model) {
+        if (!hasPublicNoArgConstructor(model)) {
+            error(model, "@FirestoreModel class needs a public no-arg constructor");
+            return null;
+        }
+
+        // Public methods by name, subclass declarations first
+        Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+        for (TypeElement type = model; type != null; type = superclassOf(type)) {
+            if (type.getQualifiedName().contentEquals("java.lang.Object")) break;
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = method.getModifiers();
+                if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) continue;
+                String key = method.getSimpleName() + "/" + method.getParameters().size();
+                if (!methods.containsKey(key)) methods.put(key, method);
+            }
+        }
+
+        List<Property> properties = new ArrayList<>();
+        boolean ok = true;
+        for (ExecutableElement getter : methods.values()) {
+            String suffix = accessorSuffix(getter);
+            if (suffix == null || hasAnnotation(getter, IGNORE_ANNOTATION)) continue;
+
+            ExecutableElement setter = methods.get("set" + suffix + "/1");
+            TypeMirror type = getter.getReturnType();
+            if (setter == null || !processingEnv.getTypeUtils().isSameType(
+                    setter.getParameters().get(0).asType(), type)) {
+                error(getter, "No matching public setter set" + suffix + "(" + type
+                        + "); add one or mark the getter @CodecIgnore");
+                ok = false;
+                continue;
+            }
+
+            String decodeCall = decodeCall(type);
+            if (decodeCall == null) {
+                error(getter, "Unsupported property type " + type + " for a generated Firestore codec");
+                ok = false;
+                continue;
+            }
+
+            properties.add(new Property(propertyName(suffix), getter.getSimpleName().toString(),
+                    setter.getSimpleName().toString(), decodeCall));
+        }
+        return ok ? properties : null;
+    }
+
+    /**
+     * Returns "Foo" for getFoo()/isFoo(), or null if the method is not a getter.
+     */
+    private static String accessorSuffix(ExecutableElement method) {
+        if (!method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) return null;
+        String name = method.getSimpleName().toString();
+        if (name.equals("getClass")) return null;
+        if (name.startsWith("get") && name.length() > 3) return name.substring(3);
+        if (name.startsWith("is") && name.length() > 2
+                && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            return name.substring(2);
+        }
+        return null;
+    }
+
+    /**
+     * Applies the java.beans decapitalisation rule: "AmountCents" becomes
+     * "amountCents" but "URL" stays "URL".
+     */
+    private static String propertyName(String suffix) {
+        if (suffix.length() > 1 && Character.isUpperCase(suffix.charAt(1))
+                && Character.isUpperCase(suffix.charAt(0))) {
+            return suffix;
+        }
+        return Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+    }
+
+    /**
+     * Returns the CodecSupport call that converts a raw Firestore value to
+     * the property type, or null if the type is not supported.
+     */
+    private static String decodeCall(TypeMirror type) {
+        switch (type.getKind()) {
+            case LONG: return "CodecSupport.asLong";
+            case INT: return "CodecSupport.asInt";
+            case DOUBLE: return "CodecSupport.asDouble";
+            case FLOAT: return "CodecSupport.asFloat";
+            case BOOLEAN: return "CodecSupport.asBoolean";
+            case DECLARED:
+                String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+                switch (name) {
+                    case "java.lang.String": return "CodecSupport.asString";
+                    case "java.lang.Long": return "CodecSupport.asLong";
+                    case "java.lang.Integer": return "CodecSupport.asInt";
+                    case "java.lang.Double": return "CodecSupport.asDouble";
+                    case "java.lang.Float": return "CodecSupport.asFloat";
+                    case "java.lang.Boolean": return "CodecSupport.asBoolean";
+                    default: return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    private void writeCodec(TypeElement model, List<Property> properties) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(model);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String modelName = model.getSimpleName().toString();
+        String codecName = modelName + "Codec";
+
+        StringBuilder src = new StringBuilder();
+        src.append("// Generated by FirestoreModelProcessor from ").append(modelName).append(". Do not edit.\n");
+        if (!packageName.isEmpty()) src.append("package ").append(packageName).append(";\n\n");
+        src.append("import com.cqu.genaiexpensetracker.codec.CodecSupport;\n");
+        src.append("import com.cqu.genaiexpensetracker.codec.FirestoreCodec;\n\n");
+        src.append("import java.util.HashMap;\n");
+        src.append("import java.util.Map;\n\n");
+
+        src.append("public final class ").append(codecName)
+                .append(" implements FirestoreCodec<").append(modelName).append("> {\n\n");
+        src.append("    public static final ").append(codecName).append(" INSTANCE = new ")
+                .append(codecName).append("();\n\n");
+        src.append("    private ").append(codecName).append("() {}\n\n");
+
+        // encode
+        int capacity = properties.size() * 4 / 3 + 1;
+        src.append("    @Override\n");
+        src.append("    public Map<String, Object> encode(").append(modelName).append(" value) {\n");
+        src.append("        Map<String, Object> map = new HashMap<>(").append(capacity).append(");\n");
+        for (Property p : properties) {
+            src.append("        map.put(\"").append(p.name).append("\", value.").append(p.getter).append("());\n");
+        }
+        src.append("        return map;\n");
+        src.append("    }\n\n");
+
+        // decode
+        src.append("    @Override\n");
+        src.append("    public ").append(modelName).append(" decode(Map<String, Object> data) {\n");
+        src.append("        if (data == null) return null;\n");
+        src.append("        ").append(modelName).append(" value = new ").append(modelName).append("();\n");
+        if (!properties.isEmpty()) src.append("        Object v;\n");
+        for (Property p : properties) {
+            src.append("        v = data.get(\"").append(p.name).append("\");\n");
+            src.append("        if (v != null) value.").append(p.setter).append("(")
+                    .append(p.decodeCall).append("(v));\n");
+        }
+        src.append("        return value;\n");
+        src.append("    }\n");
+        src.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, model);
+            try (Writer writer = file.openWriter()) {
+                writer.write(src.toString());
+            }
+        } catch (IOException e) {
+            error(model, "Could not write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean hasPublicNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) return null;
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private static boolean hasAnnotation(Element element, String qualifiedName) {
+        for (javax.lang.model.element.AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(qualifiedName)) return true;
+        }
+        return false;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * CodecIgnore.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Put on a getter to keep that property out of the generated codec, e.g. a
+ * document ID that lives in the document path rather than in its fields.
+ */
+
+package com.cqu.genaiexpensetracker.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface CodecIgnore {
+}
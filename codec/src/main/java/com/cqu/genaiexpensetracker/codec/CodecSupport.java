@@ -0,0 +1,42 @@
+/**
+ * CodecSupport.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Value conversions used by generated codecs. Firestore hands numbers back
+ * as Long or Double regardless of the Java type they were written from, so
+ * decoding goes through Number rather than a direct cast.
+ */
+
+package com.cqu.genaiexpensetracker.codec;
+
+public final class CodecSupport {
+
+    private CodecSupport() {}
+
+    public static long asLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    public static int asInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    public static double asDouble(Object value) {
+        return ((Number) value).doubleValue();
+    }
+
+    public static float asFloat(Object value) {
+        return ((Number) value).floatValue();
+    }
+
+    public static boolean asBoolean(Object value) {
+        return (Boolean) value;
+    }
+
+    public static String asString(Object value) {
+        return value instanceof String ? (String) value : String.valueOf(value);
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * FirestoreCodec.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Converts a model to and from the field map Firestore reads and writes.
+ * Implementations are generated at compile time for classes annotated with
+ * {@link FirestoreModel}, so no reflection happens at runtime.
+ *
+ * @param <T> Model type
+ */
+
+package com.cqu.genaiexpensetracker.codec;
+
+import java.util.Map;
+
+public interface FirestoreCodec<T> {
+
+    /**
+     * Returns the document fields for a model, ready for set()/update().
+     *
+     * @param value Model to encode
+     * @return New mutable field map
+     */
+    Map<String, Object> encode(T value);
+
+    /**
+     * Builds a model from document fields, e.g. DocumentSnapshot.getData().
+     * Missing fields keep the model's default value.
+     *
+     * @param data Document fields, may be null
+     * @return New model instance, or null if data is null
+     */
+    T decode(Map<String, Object> data);
+}
@@ -0,0 +1,28 @@
+/**
+ * FirestoreModel.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Marks a model class for which the codec processor generates a
+ * reflection-free {@link FirestoreCodec}. The generated class is named
+ * {@code <Model>Codec}, lives in the model's package and exposes a
+ * singleton {@code INSTANCE}.
+ *
+ * The model needs a public no-arg constructor and a public getter/setter
+ * pair for every stored property, the same contract Firestore's own
+ * mapper expects.
+ */
+
+package com.cqu.genaiexpensetracker.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface FirestoreModel {
+}
@@ -0,0 +1,75 @@
+package com.cqu.genaiexpensetracker.codec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated codecs vs. reflective bean mapping over a snapshot-sized batch
+ * of expense documents. Run with ./gradlew :codec:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"1000", "5000"})
+    public int documents;
+
+    private List<SampleExpense> models;
+    private List<Map<String, Object>> snapshot;
+
+    @Setup
+    public void setUp() {
+        models = new ArrayList<>(documents);
+        snapshot = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            SampleExpense expense = new SampleExpense();
+            expense.setUid("u1");
+            expense.setAmountCents(100 + i);
+            expense.setCategory(i % 2 == 0 ? "Food" : "Transport");
+            expense.setDescription("Expense " + i);
+            expense.setCreatedAt(1_700_000_000_000L + i);
+            expense.setUpdatedAt(1_700_000_000_000L + i);
+            models.add(expense);
+            snapshot.add(SampleExpenseCodec.INSTANCE.encode(expense));
+        }
+    }
+
+    @Benchmark
+    public void decodeGenerated(Blackhole bh) {
+        for (Map<String, Object> data : snapshot) bh.consume(SampleExpenseCodec.INSTANCE.decode(data));
+    }
+
+    @Benchmark
+    public void decodeReflective(Blackhole bh) {
+        for (Map<String, Object> data : snapshot) bh.consume(ReflectiveMapper.decode(data, SampleExpense.class));
+    }
+
+    @Benchmark
+    public void encodeGenerated(Blackhole bh) {
+        for (SampleExpense expense : models) bh.consume(SampleExpenseCodec.INSTANCE.encode(expense));
+    }
+
+    @Benchmark
+    public void encodeReflective(Blackhole bh) {
+        for (SampleExpense expense : models) bh.consume(ReflectiveMapper.encode(expense));
+    }
+}
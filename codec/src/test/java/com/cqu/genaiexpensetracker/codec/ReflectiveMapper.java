@@ -0,0 +1,95 @@
+package com.cqu.genaiexpensetracker.codec;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Baseline for the benchmark: a bean mapper that works the way Firestore's
+ * CustomClassMapper does. Accessors are discovered once per class and
+ * cached, then every encode/decode goes through Method.invoke with boxed
+ * arguments and per-property numeric conversion.
+ */
+final class ReflectiveMapper {
+
+    private static final class Property {
+        final String name;
+        final Method getter;
+        final Method setter;
+        final Class<?> type;
+
+        Property(String name, Method getter, Method setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.type = getter.getReturnType();
+        }
+    }
+
+    private static final Map<Class<?>, List<Property>> CACHE = new ConcurrentHashMap<>();
+
+    private ReflectiveMapper() {}
+
+    static Map<String, Object> encode(Object value) {
+        List<Property> properties = propertiesOf(value.getClass());
+        Map<String, Object> map = new HashMap<>();
+        try {
+            for (Property p : properties) map.put(p.name, p.getter.invoke(value));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+        return map;
+    }
+
+    static <T> T decode(Map<String, Object> data, Class<T> type) {
+        try {
+            T value = type.getDeclaredConstructor().newInstance();
+            for (Property p : propertiesOf(type)) {
+                Object raw = data.get(p.name);
+                if (raw != null) p.setter.invoke(value, convert(raw, p.type));
+            }
+            return value;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object convert(Object raw, Class<?> type) {
+        if (type == long.class || type == Long.class) return ((Number) raw).longValue();
+        if (type == int.class || type == Integer.class) return ((Number) raw).intValue();
+        if (type == double.class || type == Double.class) return ((Number) raw).doubleValue();
+        if (type == float.class || type == Float.class) return ((Number) raw).floatValue();
+        return raw;
+    }
+
+    private static List<Property> propertiesOf(Class<?> type) {
+        return CACHE.computeIfAbsent(type, t -> {
+            List<Property> properties = new ArrayList<>();
+            for (Method getter : t.getMethods()) {
+                String name = getter.getName();
+                String suffix;
+                if (name.startsWith("get") && name.length() > 3 && !name.equals("getClass")) {
+                    suffix = name.substring(3);
+                } else if (name.startsWith("is") && name.length() > 2 && getter.getReturnType() == boolean.class) {
+                    suffix = name.substring(2);
+                } else {
+                    continue;
+                }
+                if (getter.getParameterCount() != 0) continue;
+                if (suffix.equals("Id")) continue; // document ID, like @DocumentId / @Exclude
+                try {
+                    Method setter = t.getMethod("set" + suffix, getter.getReturnType());
+                    String prop = Character.toLowerCase(suffix.charAt(0)) + suffix.substring(1);
+                    properties.add(new Property(prop, getter, setter));
+                } catch (NoSuchMethodException ignored) {
+                    // Read-only property
+                }
+            }
+            return properties;
+        });
+    }
+}
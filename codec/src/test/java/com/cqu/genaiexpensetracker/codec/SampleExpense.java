@@ -0,0 +1,49 @@
+package com.cqu.genaiexpensetracker.codec;
+
+/**
+ * Test model with the same shape as the app's ExpenseEntry, plus a boolean
+ * and a boxed property so every supported conversion is exercised.
+ */
+@FirestoreModel
+public class SampleExpense {
+
+    private String id;
+    private String uid;
+    private long amountCents;
+    private String category;
+    private String description;
+    private long createdAt;
+    private long updatedAt;
+    private boolean recurring;
+    private Integer priority;
+
+    public SampleExpense() {}
+
+    @CodecIgnore
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUid() { return uid; }
+    public void setUid(String uid) { this.uid = uid; }
+
+    public long getAmountCents() { return amountCents; }
+    public void setAmountCents(long amountCents) { this.amountCents = amountCents; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+
+    public long getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(long updatedAt) { this.updatedAt = updatedAt; }
+
+    public boolean isRecurring() { return recurring; }
+    public void setRecurring(boolean recurring) { this.recurring = recurring; }
+
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+}
@@ -0,0 +1,68 @@
+package com.cqu.genaiexpensetracker.codec;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the codec generated for SampleExpense against the reflective path.
+ */
+public class SampleExpenseCodecTest {
+
+    private static SampleExpense sample() {
+        SampleExpense expense = new SampleExpense();
+        expense.setId("doc1");
+        expense.setUid("u1");
+        expense.setAmountCents(1250);
+        expense.setCategory("Food");
+        expense.setDescription("Lunch");
+        expense.setCreatedAt(1_700_000_000_000L);
+        expense.setUpdatedAt(1_700_000_100_000L);
+        expense.setRecurring(true);
+        expense.setPriority(2);
+        return expense;
+    }
+
+    @Test
+    public void encode_matchesReflectiveMapperAndSkipsIgnored() {
+        Map<String, Object> generated = SampleExpenseCodec.INSTANCE.encode(sample());
+
+        assertEquals(ReflectiveMapper.encode(sample()), generated);
+        assertFalse(generated.containsKey("id"));
+        assertEquals(1250L, generated.get("amountCents"));
+        assertEquals(Boolean.TRUE, generated.get("recurring"));
+    }
+
+    @Test
+    public void decode_roundTripsAndWidensFirestoreNumbers() {
+        Map<String, Object> data = new HashMap<>(SampleExpenseCodec.INSTANCE.encode(sample()));
+        // Firestore returns every integer as Long
+        data.put("priority", 2L);
+
+        SampleExpense decoded = SampleExpenseCodec.INSTANCE.decode(data);
+
+        assertNull(decoded.getId());
+        assertEquals("u1", decoded.getUid());
+        assertEquals(1250, decoded.getAmountCents());
+        assertEquals("Lunch", decoded.getDescription());
+        assertEquals(1_700_000_100_000L, decoded.getUpdatedAt());
+        assertTrue(decoded.isRecurring());
+        assertEquals(Integer.valueOf(2), decoded.getPriority());
+    }
+
+    @Test
+    public void decode_missingFieldsKeepDefaults() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("uid", "u1");
+
+        SampleExpense decoded = SampleExpenseCodec.INSTANCE.decode(data);
+
+        assertEquals("u1", decoded.getUid());
+        assertEquals(0, decoded.getAmountCents());
+        assertNull(decoded.getPriority());
+        assertNull(SampleExpenseCodec.INSTANCE.decode(null));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Budget.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Model class for a monthly spending budget, stored in Firestore as
+ * budget/{uid}_{month} where month is "yyyy-MM" (see LedgerMonth.format).
+ *
+ * Features:
+ * - Limit kept as whole cents, like the ledger entries
+ * - Default constructor required for Firebase deserialization
+ * - Firestore field map generated at compile time (see BudgetCodec)
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import com.cqu.genaiexpensetracker.codec.FirestoreModel;
+
+@FirestoreModel
+public class Budget {
+
+    // Fields stored in Firestore
+    private String uid;
+    private String month;
+    private long totalAmountCents;
+    private long updatedAt;
+
+    /**
+     * Required no-arg constructor for Firestore deserialization.
+     */
+    public Budget() {}
+
+    /**
+     * Constructs a Budget with all fields.
+     *
+     * @param uid              Firebase UID of the owner
+     * @param month            Month in "yyyy-MM" form
+     * @param totalAmountCents Spending limit in cents
+     * @param updatedAt        Last change in epoch milliseconds
+     */
+    public Budget(String uid, String month, long totalAmountCents, long updatedAt) {
+        this.uid = uid;
+        this.month = month;
+        this.totalAmountCents = totalAmountCents;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Returns the Firestore document ID for a user's month.
+     *
+     * @param uid   Firebase UID
+     * @param month Month key in yyyymm form
+     */
+    public static String documentId(String uid, int month) {
+        return uid + "_" + LedgerMonth.format(month);
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public long getTotalAmountCents() {
+        return totalAmountCents;
+    }
+
+    public void setTotalAmountCents(long totalAmountCents) {
+        this.totalAmountCents = totalAmountCents;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
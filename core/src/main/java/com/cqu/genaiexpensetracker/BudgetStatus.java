@@ -0,0 +1,103 @@
+/**
+ * BudgetStatus.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Snapshot of how a month's spending compares with its budget, published
+ * by the BudgetTracker after every change.
+ *
+ * Features:
+ * - Remaining amount, daily burn rate and projected month-end spend
+ * - Safe daily spend for the days that are left
+ * - Immutable, safe to hand to the UI thread
+ */
+
+package com.cqu.genaiexpensetracker;
+
+public final class BudgetStatus {
+
+    // Budget value used when the month has no budget document
+    public static final long NO_BUDGET = -1;
+
+    private final int month;
+    private final long budgetCents;
+    private final long spentCents;
+    private final int daysElapsed;
+    private final int daysInMonth;
+
+    /**
+     * @param month       Month key (yyyymm)
+     * @param budgetCents Budget in cents, or NO_BUDGET
+     * @param spentCents  Expenses so far in cents
+     * @param daysElapsed Days of the month started so far, 1..daysInMonth
+     * @param daysInMonth Length of the month
+     */
+    public BudgetStatus(int month, long budgetCents, long spentCents, int daysElapsed, int daysInMonth) {
+        this.month = month;
+        this.budgetCents = budgetCents;
+        this.spentCents = spentCents;
+        this.daysElapsed = Math.max(1, Math.min(daysElapsed, daysInMonth));
+        this.daysInMonth = daysInMonth;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public boolean hasBudget() {
+        return budgetCents != NO_BUDGET;
+    }
+
+    public long getBudgetCents() {
+        return budgetCents;
+    }
+
+    public long getSpentCents() {
+        return spentCents;
+    }
+
+    /**
+     * Returns budget minus spending; negative once the budget is exceeded.
+     */
+    public long getRemainingCents() {
+        return hasBudget() ? budgetCents - spentCents : 0;
+    }
+
+    public boolean isOverBudget() {
+        return hasBudget() && spentCents > budgetCents;
+    }
+
+    /**
+     * Returns the average spend per day so far this month.
+     */
+    public long getDailyBurnCents() {
+        return spentCents / daysElapsed;
+    }
+
+    /**
+     * Returns the month-end total if spending continues at the current rate.
+     */
+    public long getProjectedCents() {
+        return spentCents * daysInMonth / daysElapsed;
+    }
+
+    /**
+     * Returns how much can be spent per remaining day (including today)
+     * without going over budget; 0 once the budget is used up.
+     */
+    public long getSafeDailyCents() {
+        long remaining = getRemainingCents();
+        if (remaining <= 0) return 0;
+        return remaining / (daysInMonth - daysElapsed + 1);
+    }
+
+    public int getDaysElapsed() {
+        return daysElapsed;
+    }
+
+    public int getDaysInMonth() {
+        return daysInMonth;
+    }
+}
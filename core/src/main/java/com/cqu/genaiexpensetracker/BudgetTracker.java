@@ -0,0 +1,105 @@
+/**
+ * BudgetTracker.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Keeps one month's spending total current from individual document
+ * changes: an added expense adds its amount, a modified one adds the
+ * difference, a removed one subtracts what was counted. Nothing is re-read,
+ * so each change costs O(1) however many expenses the month has.
+ *
+ * Features:
+ * - Remembers the amount counted per document ID, so edits and deletes are exact
+ * - Budget limit can change independently of expenses
+ * - Pure Java; BudgetEngine feeds it from Firestore listeners
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+public class BudgetTracker {
+
+    private final int month;
+    private final Map<String, Long> counted = new HashMap<>();
+    private long spentCents;
+    private long budgetCents = BudgetStatus.NO_BUDGET;
+
+    /**
+     * @param month Month key (yyyymm) being tracked
+     */
+    public BudgetTracker(int month) {
+        this.month = month;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Counts a new expense, or replaces the amount if the ID is already known.
+     */
+    public synchronized void onExpenseAdded(String docId, long amountCents) {
+        Long previous = counted.put(docId, amountCents);
+        spentCents += amountCents - (previous != null ? previous : 0);
+    }
+
+    /**
+     * Applies an edited amount as a difference from the counted one.
+     */
+    public synchronized void onExpenseModified(String docId, long amountCents) {
+        onExpenseAdded(docId, amountCents);
+    }
+
+    /**
+     * Stops counting an expense.
+     */
+    public synchronized void onExpenseRemoved(String docId) {
+        Long previous = counted.remove(docId);
+        if (previous != null) spentCents -= previous;
+    }
+
+    /**
+     * Replaces every counted expense with a full listing, e.g. the first
+     * snapshot of a listener.
+     *
+     * @param amounts Amount in cents per document ID
+     */
+    public synchronized void replaceExpenses(Map<String, Long> amounts) {
+        counted.clear();
+        counted.putAll(amounts);
+        spentCents = 0;
+        for (long cents : amounts.values()) spentCents += cents;
+    }
+
+    /**
+     * Sets the month's budget, or clears it with BudgetStatus.NO_BUDGET.
+     */
+    public synchronized void setBudget(long budgetCents) {
+        this.budgetCents = budgetCents;
+    }
+
+    /**
+     * Returns the current figures.
+     *
+     * @param nowMillis Current time, used for the burn rate
+     * @param zone      Time zone the month is measured in
+     */
+    public synchronized BudgetStatus getStatus(long nowMillis, TimeZone zone) {
+        int daysInMonth = LedgerMonth.lengthOfMonth(month);
+        int daysElapsed;
+        int nowMonth = LedgerMonth.of(nowMillis, zone);
+        if (nowMonth < month) {
+            daysElapsed = 1;
+        } else if (nowMonth > month) {
+            daysElapsed = daysInMonth;
+        } else {
+            daysElapsed = (int) ((nowMillis - LedgerMonth.startMillis(month, zone)) / 86_400_000L) + 1;
+        }
+        return new BudgetStatus(month, budgetCents, spentCents, daysElapsed, daysInMonth);
+    }
+}
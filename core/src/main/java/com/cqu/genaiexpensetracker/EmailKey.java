@@ -0,0 +1,48 @@
+/**
+ * EmailKey.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Turns an email address into the document ID used by the emails/{key}
+ * index, so "is this email registered?" is a single-document read. The
+ * same rules are implemented by emailKey() in auth-api/index.js.
+ *
+ * Features:
+ * - Trimmed and lower-cased with the root locale (no Turkish dotless i)
+ * - '%' and '/' are percent-encoded; a Firestore ID cannot contain '/'
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Locale;
+
+public final class EmailKey {
+
+    private EmailKey() {}
+
+    /**
+     * Returns the canonical form stored in the index.
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the emails/{key} document ID for an address.
+     */
+    public static String of(String email) {
+        String normalized = normalize(email);
+        if (normalized.indexOf('%') < 0 && normalized.indexOf('/') < 0) return normalized;
+
+        StringBuilder key = new StringBuilder(normalized.length() + 8);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == '%') key.append("%25");
+            else if (c == '/') key.append("%2F");
+            else key.append(c);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * ExpenseEntry.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Model class for a single expense record. The same shape is stored in the
+ * local ledger database and in the Firestore "expenses" collection.
+ *
+ * Features:
+ * - Amount kept as whole cents to avoid floating-point drift
+ * - Timestamps stored as epoch milliseconds
+ * - A deleted entry stays in Firestore as a tombstone (deleted = true) so
+ *   delta sync can tell other devices; local rows are removed outright
+ * - Default constructor required for Firebase deserialization
+ * - Firestore field map generated at compile time (see ExpenseEntryCodec)
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import com.cqu.genaiexpensetracker.codec.CodecIgnore;
+import com.cqu.genaiexpensetracker.codec.FirestoreModel;
+
+@FirestoreModel
+public class ExpenseEntry {
+
+    // Fields stored locally and in Firestore
+    private String id;
+    private String uid;
+    private long amountCents;
+    private String category;
+    private String description;
+    private long createdAt;
+    private long updatedAt;
+    private boolean deleted;
+
+    /**
+     * Required no-arg constructor for Firestore deserialization.
+     */
+    public ExpenseEntry() {}
+
+    /**
+     * Constructs an ExpenseEntry with all fields.
+     *
+     * @param id          Document ID shared by the local row and Firestore
+     * @param uid         Firebase UID of the owner
+     * @param amountCents Amount in cents
+     * @param category    Spending category
+     * @param description Free-text description
+     * @param createdAt   Creation time in epoch milliseconds
+     */
+    public ExpenseEntry(String id, String uid, long amountCents, String category,
+                        String description, long createdAt) {
+        this.id = id;
+        this.uid = uid;
+        this.amountCents = amountCents;
+        this.category = category;
+        this.description = description;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    @CodecIgnore
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * IncomeEntry.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Model class for a single income record. The same shape is stored in the
+ * local ledger database and in the Firestore "income" collection.
+ *
+ * Features:
+ * - Amount kept as whole cents to avoid floating-point drift
+ * - Timestamps stored as epoch milliseconds
+ * - A deleted entry stays in Firestore as a tombstone (deleted = true) so
+ *   delta sync can tell other devices; local rows are removed outright
+ * - Default constructor required for Firebase deserialization
+ * - Firestore field map generated at compile time (see IncomeEntryCodec)
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import com.cqu.genaiexpensetracker.codec.CodecIgnore;
+import com.cqu.genaiexpensetracker.codec.FirestoreModel;
+
+@FirestoreModel
+public class IncomeEntry {
+
+    // Fields stored locally and in Firestore
+    private String id;
+    private String uid;
+    private long amountCents;
+    private String source;
+    private long createdAt;
+    private long updatedAt;
+    private boolean deleted;
+
+    /**
+     * Required no-arg constructor for Firestore deserialization.
+     */
+    public IncomeEntry() {}
+
+    /**
+     * Constructs an IncomeEntry with all fields.
+     *
+     * @param id          Document ID shared by the local row and Firestore
+     * @param uid         Firebase UID of the owner
+     * @param amountCents Amount in cents
+     * @param source      Where the income came from
+     * @param createdAt   Creation time in epoch milliseconds
+     */
+    public IncomeEntry(String id, String uid, long amountCents, String source, long createdAt) {
+        this.id = id;
+        this.uid = uid;
+        this.amountCents = amountCents;
+        this.source = source;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    @CodecIgnore
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public void setUid(String uid) {
+        this.uid = uid;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+}
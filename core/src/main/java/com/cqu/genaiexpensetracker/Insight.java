@@ -0,0 +1,107 @@
+/**
+ * Insight.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * One observation about a user's month produced by the InsightsEngine,
+ * e.g. "Food spending is up 40% on last month". Holds the raw figures only;
+ * the insights fragment turns them into localised text.
+ *
+ * Features:
+ * - Immutable, safe to hand from the ledger executor to the UI
+ * - Meaning of current/previous depends on the type (see Type)
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Objects;
+
+public final class Insight {
+
+    /**
+     * Kind of insight. For each type, current and previous hold:
+     * - CATEGORY_*: this and last month's spend in the category, in cents
+     * - BUDGET_*: this month's expenses and the budget, in cents
+     * - SAVINGS_RATE_*: this and last month's savings rate, in basis points
+     */
+    public enum Type {
+        CATEGORY_NEW,
+        CATEGORY_UP,
+        CATEGORY_DOWN,
+        BUDGET_EXCEEDED,
+        BUDGET_NEARLY_USED,
+        SAVINGS_RATE_UP,
+        SAVINGS_RATE_DOWN
+    }
+
+    private final Type type;
+    private final int month;
+    private final String category;
+    private final long current;
+    private final long previous;
+
+    /**
+     * @param type     Kind of insight
+     * @param month    Month the insight is about (yyyymm)
+     * @param category Expense category for CATEGORY_* types, otherwise null
+     * @param current  Figure for this month (see Type)
+     * @param previous Figure it is compared with (see Type)
+     */
+    public Insight(Type type, int month, String category, long current, long previous) {
+        this.type = type;
+        this.month = month;
+        this.category = category;
+        this.current = current;
+        this.previous = previous;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getCurrent() {
+        return current;
+    }
+
+    public long getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Returns the relative change from previous to current, in whole percent.
+     * Returns 0 when there is nothing to compare against.
+     */
+    public int getChangePercent() {
+        if (previous == 0) return 0;
+        return (int) ((current - previous) * 100 / Math.abs(previous));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Insight)) return false;
+        Insight other = (Insight) o;
+        return type == other.type && month == other.month && current == other.current
+                && previous == other.previous && Objects.equals(category, other.category);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, month, category, current, previous);
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + month + (category != null ? ", " + category : "") + ", " + current + " vs " + previous + ")";
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * InsightsEngine.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Produces spending insights on the device from the LedgerAggregator's
+ * running totals, replacing the fixed strings served by /insights. When a
+ * month's totals change, only that month and the following one (which
+ * compares against it) are re-evaluated, so the cost of an update depends
+ * on the number of categories, not on the length of the history.
+ *
+ * Features:
+ * - Category month-over-month increases, decreases and new categories
+ * - Budget exceeded / nearly used warnings
+ * - Savings-rate changes between consecutive months
+ * - Results cached per (uid, month), so the UI reads them instantly
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class InsightsEngine implements LedgerAggregator.Listener {
+
+    // A category change must be at least this large to be reported
+    static final int MIN_CATEGORY_CHANGE_PERCENT = 20;
+    static final long MIN_CATEGORY_CHANGE_CENTS = 1_000;
+    // Warn once this share of the budget is spent (basis points)
+    static final long BUDGET_WARNING_BASIS_POINTS = 9_000;
+    // Savings-rate moves smaller than this are noise (basis points)
+    static final long MIN_SAVINGS_RATE_CHANGE = 500;
+
+    /**
+     * Notified after the insights for a user's month change.
+     */
+    public interface Listener {
+        void onInsightsChanged(String uid, int month);
+    }
+
+    // Budget warnings first, then savings, then the largest category moves
+    private static final Comparator<Insight> ORDER = (a, b) -> {
+        int rank = Integer.compare(rank(a.getType()), rank(b.getType()));
+        if (rank != 0) return rank;
+        return Long.compare(Math.abs(b.getCurrent() - b.getPrevious()), Math.abs(a.getCurrent() - a.getPrevious()));
+    };
+
+    private final LedgerAggregator aggregator;
+    private final Map<String, Map<Integer, List<Insight>>> cache = new HashMap<>();
+    private final Map<String, Map<Integer, Long>> budgets = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an engine and subscribes it to the aggregator's updates.
+     */
+    public InsightsEngine(LedgerAggregator aggregator) {
+        this.aggregator = aggregator;
+        aggregator.addListener(this);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the insights for a user's month, most important first.
+     * Normally a cache hit; computed on the spot the first time a month
+     * with no ledger activity is asked for.
+     *
+     * @return Unmodifiable list, empty if there is nothing to report
+     */
+    public List<Insight> getInsights(String uid, int month) {
+        synchronized (this) {
+            Map<Integer, List<Insight>> months = cache.get(uid);
+            List<Insight> cached = months == null ? null : months.get(month);
+            if (cached != null) return cached;
+        }
+        return recompute(uid, month);
+    }
+
+    /**
+     * Sets the total budget for a user's month and re-evaluates it.
+     *
+     * @param totalCents Budget in cents, or a negative value to clear it
+     */
+    public void setBudget(String uid, int month, long totalCents) {
+        synchronized (this) {
+            Map<Integer, Long> months = budgets.get(uid);
+            if (months == null) {
+                months = new HashMap<>();
+                budgets.put(uid, months);
+            }
+            if (totalCents < 0) months.remove(month);
+            else months.put(month, totalCents);
+        }
+        recomputeAndNotify(uid, month);
+    }
+
+    /**
+     * Returns the budget set for a user's month, or -1 if there is none.
+     */
+    public synchronized long getBudget(String uid, int month) {
+        Map<Integer, Long> months = budgets.get(uid);
+        Long budget = months == null ? null : months.get(month);
+        return budget == null ? -1 : budget;
+    }
+
+    @Override
+    public void onTotalsChanged(String uid, int month) {
+        recomputeAndNotify(uid, month);
+        // Next month's comparisons are made against this one
+        recomputeAndNotify(uid, LedgerMonth.next(month));
+    }
+
+    private void recomputeAndNotify(String uid, int month) {
+        recompute(uid, month);
+        for (Listener listener : listeners) {
+            listener.onInsightsChanged(uid, month);
+        }
+    }
+
+    /**
+     * Evaluates every rule for one user's month from the aggregator's
+     * totals for that month and the one before, and caches the result.
+     */
+    private List<Insight> recompute(String uid, int month) {
+        int previousMonth = LedgerMonth.previous(month);
+        List<Insight> result = new ArrayList<>();
+
+        addCategoryInsights(result, uid, month, previousMonth);
+        addBudgetInsight(result, uid, month);
+        addSavingsInsight(result, uid, month, previousMonth);
+
+        Collections.sort(result, ORDER);
+        List<Insight> insights = Collections.unmodifiableList(result);
+        synchronized (this) {
+            Map<Integer, List<Insight>> months = cache.get(uid);
+            if (months == null) {
+                months = new HashMap<>();
+                cache.put(uid, months);
+            }
+            months.put(month, insights);
+        }
+        return insights;
+    }
+
+    private void addCategoryInsights(List<Insight> out, String uid, int month, int previousMonth) {
+        // Only compare once the month has some spending, so early-month
+        // screens are not filled with "down 100%" for every category
+        if (aggregator.getExpenseCount(uid, month) == 0) return;
+
+        Map<String, Long> current = aggregator.getExpensesByCategory(uid, month);
+        Map<String, Long> previous = aggregator.getExpensesByCategory(uid, previousMonth);
+
+        for (Map.Entry<String, Long> e : current.entrySet()) {
+            long now = e.getValue();
+            Long before = previous.get(e.getKey());
+            if (before == null || before == 0) {
+                if (now >= MIN_CATEGORY_CHANGE_CENTS && !previous.isEmpty()) {
+                    out.add(new Insight(Insight.Type.CATEGORY_NEW, month, e.getKey(), now, 0));
+                }
+            } else if (isSignificant(now, before)) {
+                Insight.Type type = now > before ? Insight.Type.CATEGORY_UP : Insight.Type.CATEGORY_DOWN;
+                out.add(new Insight(type, month, e.getKey(), now, before));
+            }
+        }
+        for (Map.Entry<String, Long> e : previous.entrySet()) {
+            if (!current.containsKey(e.getKey()) && e.getValue() >= MIN_CATEGORY_CHANGE_CENTS) {
+                out.add(new Insight(Insight.Type.CATEGORY_DOWN, month, e.getKey(), 0, e.getValue()));
+            }
+        }
+    }
+
+    private static boolean isSignificant(long now, long before) {
+        long delta = Math.abs(now - before);
+        return delta >= MIN_CATEGORY_CHANGE_CENTS && delta * 100 >= before * MIN_CATEGORY_CHANGE_PERCENT;
+    }
+
+    private void addBudgetInsight(List<Insight> out, String uid, int month) {
+        long budget = getBudget(uid, month);
+        if (budget <= 0) return;
+
+        long spent = aggregator.getExpenses(uid, month);
+        if (spent > budget) {
+            out.add(new Insight(Insight.Type.BUDGET_EXCEEDED, month, null, spent, budget));
+        } else if (spent * 10_000 >= budget * BUDGET_WARNING_BASIS_POINTS) {
+            out.add(new Insight(Insight.Type.BUDGET_NEARLY_USED, month, null, spent, budget));
+        }
+    }
+
+    private void addSavingsInsight(List<Insight> out, String uid, int month, int previousMonth) {
+        long rate = savingsRate(uid, month);
+        long previousRate = savingsRate(uid, previousMonth);
+        if (rate == Long.MIN_VALUE || previousRate == Long.MIN_VALUE) return;
+
+        if (Math.abs(rate - previousRate) >= MIN_SAVINGS_RATE_CHANGE) {
+            Insight.Type type = rate > previousRate ? Insight.Type.SAVINGS_RATE_UP : Insight.Type.SAVINGS_RATE_DOWN;
+            out.add(new Insight(type, month, null, rate, previousRate));
+        }
+    }
+
+    /**
+     * Returns (income - expenses) / income in basis points, or
+     * Long.MIN_VALUE if the month has no income to measure against.
+     */
+    private long savingsRate(String uid, int month) {
+        long income = aggregator.getIncome(uid, month);
+        if (income <= 0) return Long.MIN_VALUE;
+        return (income - aggregator.getExpenses(uid, month)) * 10_000 / income;
+    }
+
+    private static int rank(Insight.Type type) {
+        switch (type) {
+            case BUDGET_EXCEEDED:
+            case BUDGET_NEARLY_USED:
+                return 0;
+            case SAVINGS_RATE_UP:
+            case SAVINGS_RATE_DOWN:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+}
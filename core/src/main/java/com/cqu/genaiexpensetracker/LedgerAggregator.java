@@ -0,0 +1,288 @@
+/**
+ * LedgerAggregator.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Keeps running income and expense totals per (uid, month, category) so the
+ * Dashboard can read monthly figures in constant time. Totals are updated on
+ * every insert, edit and delete instead of re-scanning the ledger.
+ *
+ * Features:
+ * - O(1) updates and O(1) monthly lookups regardless of history size
+ * - Edits that move an entry across months or categories are handled
+ * - Empty buckets are dropped so memory tracks live data only
+ * - Pure Java, so it can be unit tested on the JVM
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class LedgerAggregator {
+
+    /** Category used for entries that have none. */
+    public static final String UNCATEGORIZED = "Other";
+
+    /**
+     * Notified after the totals for a user's month change.
+     */
+    public interface Listener {
+        void onTotalsChanged(String uid, int month);
+    }
+
+    /**
+     * Running totals for one user's month.
+     */
+    private static final class MonthTotals {
+        long incomeCents;
+        long expenseCents;
+        int incomeCount;
+        int expenseCount;
+
+        // Values are {cents, count}
+        final Map<String, long[]> incomeBySource = new HashMap<>();
+        final Map<String, long[]> expenseByCategory = new HashMap<>();
+
+        boolean isEmpty() {
+            return incomeCount == 0 && expenseCount == 0;
+        }
+    }
+
+    private final TimeZone zone;
+    private final Map<String, Map<Integer, MonthTotals>> totals = new HashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param zone Time zone used to bucket entries into months
+     */
+    public LedgerAggregator(TimeZone zone) {
+        this.zone = zone;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // ---------------------------------------------------------------------
+    // Updates
+    // ---------------------------------------------------------------------
+
+    public void onIncomeAdded(IncomeEntry entry) {
+        int month = apply(entry.getUid(), entry.getCreatedAt(), entry.getSource(), entry.getAmountCents(), 1, true);
+        notifyChanged(entry.getUid(), month);
+    }
+
+    public void onIncomeRemoved(IncomeEntry entry) {
+        int month = apply(entry.getUid(), entry.getCreatedAt(), entry.getSource(), entry.getAmountCents(), -1, true);
+        notifyChanged(entry.getUid(), month);
+    }
+
+    public void onIncomeUpdated(IncomeEntry previous, IncomeEntry updated) {
+        int oldMonth, newMonth;
+        synchronized (this) {
+            oldMonth = apply(previous.getUid(), previous.getCreatedAt(), previous.getSource(), previous.getAmountCents(), -1, true);
+            newMonth = apply(updated.getUid(), updated.getCreatedAt(), updated.getSource(), updated.getAmountCents(), 1, true);
+        }
+        notifyChanged(previous.getUid(), oldMonth);
+        if (newMonth != oldMonth || !previous.getUid().equals(updated.getUid())) {
+            notifyChanged(updated.getUid(), newMonth);
+        }
+    }
+
+    public void onExpenseAdded(ExpenseEntry entry) {
+        int month = apply(entry.getUid(), entry.getCreatedAt(), entry.getCategory(), entry.getAmountCents(), 1, false);
+        notifyChanged(entry.getUid(), month);
+    }
+
+    public void onExpenseRemoved(ExpenseEntry entry) {
+        int month = apply(entry.getUid(), entry.getCreatedAt(), entry.getCategory(), entry.getAmountCents(), -1, false);
+        notifyChanged(entry.getUid(), month);
+    }
+
+    public void onExpenseUpdated(ExpenseEntry previous, ExpenseEntry updated) {
+        int oldMonth, newMonth;
+        synchronized (this) {
+            oldMonth = apply(previous.getUid(), previous.getCreatedAt(), previous.getCategory(), previous.getAmountCents(), -1, false);
+            newMonth = apply(updated.getUid(), updated.getCreatedAt(), updated.getCategory(), updated.getAmountCents(), 1, false);
+        }
+        notifyChanged(previous.getUid(), oldMonth);
+        if (newMonth != oldMonth || !previous.getUid().equals(updated.getUid())) {
+            notifyChanged(updated.getUid(), newMonth);
+        }
+    }
+
+    /**
+     * Replaces all totals with ones built from a full set of entries, then
+     * notifies once per affected month rather than once per entry.
+     *
+     * @param income   Every income entry to count
+     * @param expenses Every expense entry to count
+     */
+    public void loadAll(List<IncomeEntry> income, List<ExpenseEntry> expenses) {
+        Map<String, Set<Integer>> touched = new HashMap<>();
+        synchronized (this) {
+            totals.clear();
+            for (IncomeEntry e : income) {
+                int month = apply(e.getUid(), e.getCreatedAt(), e.getSource(), e.getAmountCents(), 1, true);
+                touch(touched, e.getUid(), month);
+            }
+            for (ExpenseEntry e : expenses) {
+                int month = apply(e.getUid(), e.getCreatedAt(), e.getCategory(), e.getAmountCents(), 1, false);
+                touch(touched, e.getUid(), month);
+            }
+        }
+        for (Map.Entry<String, Set<Integer>> e : touched.entrySet()) {
+            for (int month : e.getValue()) notifyChanged(e.getKey(), month);
+        }
+    }
+
+    private static void touch(Map<String, Set<Integer>> touched, String uid, int month) {
+        Set<Integer> months = touched.get(uid);
+        if (months == null) {
+            months = new HashSet<>();
+            touched.put(uid, months);
+        }
+        months.add(month);
+    }
+
+    /**
+     * Adds (sign = 1) or removes (sign = -1) one entry from its buckets.
+     *
+     * @return Month key the entry belongs to
+     */
+    private synchronized int apply(String uid, long createdAt, String category,
+                                   long cents, int sign, boolean income) {
+        int month = LedgerMonth.of(createdAt, zone);
+        String key = category == null || category.isEmpty() ? UNCATEGORIZED : category;
+
+        Map<Integer, MonthTotals> months = totals.get(uid);
+        if (months == null) {
+            months = new HashMap<>();
+            totals.put(uid, months);
+        }
+        MonthTotals monthTotals = months.get(month);
+        if (monthTotals == null) {
+            monthTotals = new MonthTotals();
+            months.put(month, monthTotals);
+        }
+
+        Map<String, long[]> buckets;
+        if (income) {
+            monthTotals.incomeCents += sign * cents;
+            monthTotals.incomeCount += sign;
+            buckets = monthTotals.incomeBySource;
+        } else {
+            monthTotals.expenseCents += sign * cents;
+            monthTotals.expenseCount += sign;
+            buckets = monthTotals.expenseByCategory;
+        }
+
+        long[] bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new long[2];
+            buckets.put(key, bucket);
+        }
+        bucket[0] += sign * cents;
+        bucket[1] += sign;
+        if (bucket[1] == 0) buckets.remove(key);
+
+        if (monthTotals.isEmpty()) {
+            months.remove(month);
+            if (months.isEmpty()) totals.remove(uid);
+        }
+        return month;
+    }
+
+    private void notifyChanged(String uid, int month) {
+        for (Listener listener : listeners) {
+            listener.onTotalsChanged(uid, month);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Lookups
+    // ---------------------------------------------------------------------
+
+    /**
+     * Returns total income for a user's month, in cents.
+     */
+    public synchronized long getIncome(String uid, int month) {
+        MonthTotals monthTotals = find(uid, month);
+        return monthTotals == null ? 0 : monthTotals.incomeCents;
+    }
+
+    /**
+     * Returns total expenses for a user's month, in cents.
+     */
+    public synchronized long getExpenses(String uid, int month) {
+        MonthTotals monthTotals = find(uid, month);
+        return monthTotals == null ? 0 : monthTotals.expenseCents;
+    }
+
+    /**
+     * Returns the number of income entries in a user's month.
+     */
+    public synchronized int getIncomeCount(String uid, int month) {
+        MonthTotals monthTotals = find(uid, month);
+        return monthTotals == null ? 0 : monthTotals.incomeCount;
+    }
+
+    /**
+     * Returns the number of expense entries in a user's month.
+     */
+    public synchronized int getExpenseCount(String uid, int month) {
+        MonthTotals monthTotals = find(uid, month);
+        return monthTotals == null ? 0 : monthTotals.expenseCount;
+    }
+
+    /**
+     * Returns expenses for one category in a user's month, in cents.
+     */
+    public synchronized long getCategoryExpenses(String uid, int month, String category) {
+        MonthTotals monthTotals = find(uid, month);
+        if (monthTotals == null) return 0;
+        long[] bucket = monthTotals.expenseByCategory.get(category);
+        return bucket == null ? 0 : bucket[0];
+    }
+
+    /**
+     * Returns income from one source in a user's month, in cents.
+     */
+    public synchronized long getSourceIncome(String uid, int month, String source) {
+        MonthTotals monthTotals = find(uid, month);
+        if (monthTotals == null) return 0;
+        long[] bucket = monthTotals.incomeBySource.get(source);
+        return bucket == null ? 0 : bucket[0];
+    }
+
+    /**
+     * Returns a copy of the per-category expense totals for a user's month.
+     */
+    public synchronized Map<String, Long> getExpensesByCategory(String uid, int month) {
+        Map<String, Long> result = new HashMap<>();
+        MonthTotals monthTotals = find(uid, month);
+        if (monthTotals != null) {
+            for (Map.Entry<String, long[]> e : monthTotals.expenseByCategory.entrySet()) {
+                result.put(e.getKey(), e.getValue()[0]);
+            }
+        }
+        return result;
+    }
+
+    private MonthTotals find(String uid, int month) {
+        Map<Integer, MonthTotals> months = totals.get(uid);
+        return months == null ? null : months.get(month);
+    }
+}
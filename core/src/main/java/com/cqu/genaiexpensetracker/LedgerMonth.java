@@ -0,0 +1,127 @@
+/**
+ * LedgerMonth.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Helpers for the compact month keys used by the ledger. A month is stored
+ * as a single int in yyyymm form (e.g. 202505 for May 2025), which is cheap
+ * to hash and sorts chronologically.
+ *
+ * Features:
+ * - Epoch millis to month key without allocating Calendar objects
+ * - Month start/end boundaries for range queries
+ * - Previous/next month arithmetic
+ * - "yyyy-MM" text form used in budget document IDs
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.TimeZone;
+
+public final class LedgerMonth {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private LedgerMonth() {}
+
+    /**
+     * Returns the month key for an instant in the given time zone.
+     *
+     * @param epochMillis Instant in epoch milliseconds
+     * @param zone        Time zone used to decide which month the instant falls in
+     * @return Month key in yyyymm form
+     */
+    public static int of(long epochMillis, TimeZone zone) {
+        long local = epochMillis + zone.getOffset(epochMillis);
+        long days = Math.floorDiv(local, MILLIS_PER_DAY);
+
+        // Civil-from-days (Howard Hinnant), valid for the whole long range we care about
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        return (int) year * 100 + month;
+    }
+
+    /**
+     * Returns the month key for an instant in the device's time zone.
+     */
+    public static int of(long epochMillis) {
+        return of(epochMillis, TimeZone.getDefault());
+    }
+
+    /**
+     * Returns the key of the month before the given one.
+     */
+    public static int previous(int month) {
+        return month % 100 == 1 ? (month / 100 - 1) * 100 + 12 : month - 1;
+    }
+
+    /**
+     * Returns the key of the month after the given one.
+     */
+    public static int next(int month) {
+        return month % 100 == 12 ? (month / 100 + 1) * 100 + 1 : month + 1;
+    }
+
+    /**
+     * Returns the first instant of a month in the given time zone.
+     *
+     * @param month Month key in yyyymm form
+     * @param zone  Time zone the month is measured in
+     * @return Epoch millis of local midnight on the 1st
+     */
+    public static long startMillis(int month, TimeZone zone) {
+        long year = month / 100;
+        long m = month % 100;
+
+        // Days-from-civil (Howard Hinnant)
+        year -= m <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yoe = year - era * 400;
+        long doy = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        long days = era * 146_097 + doe - 719_468;
+
+        long localMillis = days * MILLIS_PER_DAY;
+        // Offset at the local instant is close enough to find the real one
+        long guess = localMillis - zone.getOffset(localMillis);
+        return localMillis - zone.getOffset(guess);
+    }
+
+    /**
+     * Returns the first instant after the end of a month (exclusive bound).
+     */
+    public static long endMillis(int month, TimeZone zone) {
+        return startMillis(next(month), zone);
+    }
+
+    /**
+     * Returns the number of days in a month.
+     */
+    public static int lengthOfMonth(int month) {
+        int m = month % 100;
+        if (m == 2) {
+            int year = month / 100;
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return m == 4 || m == 6 || m == 9 || m == 11 ? 30 : 31;
+    }
+
+    /**
+     * Returns the "yyyy-MM" form of a month key, e.g. "2025-05", as used in
+     * budget/{uid}_{month} document IDs.
+     */
+    public static String format(int month) {
+        int m = month % 100;
+        return (month / 100) + (m < 10 ? "-0" : "-") + m;
+    }
+}
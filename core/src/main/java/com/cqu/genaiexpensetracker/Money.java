@@ -0,0 +1,124 @@
+/**
+ * Money.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Immutable amount of money stored as a whole number of minor units (cents
+ * for AUD) together with an ISO 4217 currency code. Arithmetic is exact
+ * long arithmetic, so totals never drift the way doubles do.
+ *
+ * Features:
+ * - Overflow-checked plus/minus
+ * - Arithmetic across different currencies is rejected
+ * - Hot paths (sums, list rows) can skip the object and use the raw long
+ *   with MoneyParser / MoneyFormatter directly
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Objects;
+
+public final class Money implements Comparable<Money> {
+
+    // Currency used for every amount the app currently records
+    public static final String DEFAULT_CURRENCY = "AUD";
+
+    private final long minorUnits;
+    private final String currencyCode;
+
+    private Money(long minorUnits, String currencyCode) {
+        this.minorUnits = minorUnits;
+        this.currencyCode = currencyCode;
+    }
+
+    /**
+     * @param minorUnits   Amount in minor units, e.g. 1250 for $12.50
+     * @param currencyCode ISO 4217 code such as "AUD"
+     */
+    public static Money of(long minorUnits, String currencyCode) {
+        return new Money(minorUnits, Objects.requireNonNull(currencyCode, "currencyCode"));
+    }
+
+    /**
+     * Returns an amount in the default currency.
+     *
+     * @param cents Amount in cents
+     */
+    public static Money ofCents(long cents) {
+        return new Money(cents, DEFAULT_CURRENCY);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currencies differ
+     * @throws ArithmeticException      on long overflow
+     */
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currencyCode);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currencies differ
+     * @throws ArithmeticException      on long overflow
+     */
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currencyCode);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currencyCode);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currencyCode.equals(other.currencyCode)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currencyCode + " vs " + other.currencyCode);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currencyCode.equals(other.currencyCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currencyCode.hashCode();
+    }
+
+    /**
+     * Debug representation, e.g. "AUD 12.50". Use MoneyFormatter for display.
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(currencyCode).append(' ');
+        return MoneyFormatter.appendPlain(out, minorUnits, MoneyFormatter.fractionDigits(currencyCode)).toString();
+    }
+}
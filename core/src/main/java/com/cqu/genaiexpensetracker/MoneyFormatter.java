@@ -0,0 +1,200 @@
+/**
+ * MoneyFormatter.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Renders minor-unit amounts as display text, e.g. 123450 -> "$1,234.50".
+ * Digits are written straight into a caller-owned StringBuilder, so a
+ * screen that keeps one buffer can render any number of rows without
+ * allocating.
+ *
+ * Features:
+ * - One shared instance per Locale with its separators and minus sign
+ * - Currency symbols and fraction digits resolved once and cached
+ * - Optional explicit "+" for positive amounts (transaction lists)
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class MoneyFormatter {
+
+    private static final Map<Locale, MoneyFormatter> INSTANCES = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> FRACTION_DIGITS = new ConcurrentHashMap<>();
+
+    // Powers of ten used to write digits most-significant first
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+
+    private final Locale locale;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final char minusSign;
+    private final Map<String, String> symbols = new ConcurrentHashMap<>();
+
+    private MoneyFormatter(Locale locale) {
+        DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(locale);
+        this.locale = locale;
+        this.decimalSeparator = dfs.getMonetaryDecimalSeparator();
+        this.groupingSeparator = dfs.getGroupingSeparator();
+        this.minusSign = dfs.getMinusSign();
+    }
+
+    /**
+     * Returns the shared formatter for a locale.
+     */
+    public static MoneyFormatter forLocale(Locale locale) {
+        MoneyFormatter formatter = INSTANCES.get(locale);
+        if (formatter == null) {
+            formatter = new MoneyFormatter(locale);
+            MoneyFormatter raced = INSTANCES.putIfAbsent(locale, formatter);
+            if (raced != null) formatter = raced;
+        }
+        return formatter;
+    }
+
+    /**
+     * Returns the shared formatter for the device locale.
+     */
+    public static MoneyFormatter getDefault() {
+        return forLocale(Locale.getDefault());
+    }
+
+    /**
+     * Appends an amount in the default currency, e.g. "-$12.50".
+     *
+     * @param out   Buffer to append to
+     * @param cents Amount in cents
+     * @return out, for chaining
+     */
+    public StringBuilder appendCents(StringBuilder out, long cents) {
+        return append(out, cents, Money.DEFAULT_CURRENCY, false);
+    }
+
+    /**
+     * Appends a Money value.
+     */
+    public StringBuilder append(StringBuilder out, Money money) {
+        return append(out, money.getMinorUnits(), money.getCurrencyCode(), false);
+    }
+
+    /**
+     * Appends an amount with its currency symbol and grouping separators.
+     *
+     * @param out          Buffer to append to
+     * @param minorUnits   Amount in minor units
+     * @param currencyCode ISO 4217 code
+     * @param showPlus     Whether positive amounts get a leading "+"
+     * @return out, for chaining
+     */
+    public StringBuilder append(StringBuilder out, long minorUnits, String currencyCode, boolean showPlus) {
+        if (minorUnits < 0) {
+            out.append(minusSign);
+        } else if (showPlus && minorUnits > 0) {
+            out.append('+');
+        }
+        out.append(symbol(currencyCode));
+
+        int fractionDigits = fractionDigits(currencyCode);
+        // Work with the negative magnitude so Long.MIN_VALUE is handled too
+        long negative = minorUnits < 0 ? minorUnits : -minorUnits;
+        long unitScale = POWERS_OF_TEN[fractionDigits];
+        appendGrouped(out, -(negative / unitScale));
+        if (fractionDigits > 0) {
+            out.append(decimalSeparator);
+            appendPadded(out, -(negative % unitScale), fractionDigits);
+        }
+        return out;
+    }
+
+    /**
+     * Convenience for one-off text; allocates a new String.
+     */
+    public String formatCents(long cents) {
+        return appendCents(new StringBuilder(16), cents).toString();
+    }
+
+    /**
+     * Appends an amount with no symbol or grouping, e.g. "1234.50". Used
+     * for logs and debug output where the locale must not matter.
+     */
+    static StringBuilder appendPlain(StringBuilder out, long minorUnits, int fractionDigits) {
+        if (minorUnits < 0) out.append('-');
+        long negative = minorUnits < 0 ? minorUnits : -minorUnits;
+        long unitScale = POWERS_OF_TEN[fractionDigits];
+        out.append(-(negative / unitScale));
+        if (fractionDigits > 0) {
+            out.append('.');
+            appendPadded(out, -(negative % unitScale), fractionDigits);
+        }
+        return out;
+    }
+
+    /**
+     * Returns the number of minor-unit digits for a currency (2 for AUD).
+     */
+    static int fractionDigits(String currencyCode) {
+        Integer digits = FRACTION_DIGITS.get(currencyCode);
+        if (digits == null) {
+            int resolved;
+            try {
+                resolved = Math.max(0, Currency.getInstance(currencyCode).getDefaultFractionDigits());
+            } catch (IllegalArgumentException e) {
+                resolved = 2;
+            }
+            digits = resolved;
+            FRACTION_DIGITS.put(currencyCode, digits);
+        }
+        return digits;
+    }
+
+    private String symbol(String currencyCode) {
+        String symbol = symbols.get(currencyCode);
+        if (symbol == null) {
+            if (Money.DEFAULT_CURRENCY.equals(currencyCode)) {
+                // The app is AUD-only, so show the plain dollar sign everywhere
+                symbol = "$";
+            } else {
+                try {
+                    symbol = Currency.getInstance(currencyCode).getSymbol(locale);
+                } catch (IllegalArgumentException e) {
+                    symbol = currencyCode + " ";
+                }
+            }
+            symbols.put(currencyCode, symbol);
+        }
+        return symbol;
+    }
+
+    /**
+     * Writes a non-negative value with a grouping separator every three digits.
+     */
+    private void appendGrouped(StringBuilder out, long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) digits++;
+        for (int i = digits - 1; i >= 0; i--) {
+            out.append((char) ('0' + (value / POWERS_OF_TEN[i]) % 10));
+            if (i > 0 && i % 3 == 0) out.append(groupingSeparator);
+        }
+    }
+
+    /**
+     * Writes a non-negative value left-padded with zeros to width digits.
+     */
+    private static void appendPadded(StringBuilder out, long value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            out.append((char) ('0' + (value / POWERS_OF_TEN[i]) % 10));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * MoneyParser.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Reads a decimal amount typed by the user into whole minor units. It walks
+ * the characters of the input once, so an EditText's Editable can be passed
+ * in directly without creating a String or BigDecimal.
+ *
+ * Features:
+ * - Accepts "12", "12.5", "12.50", "1,234.50", "$12.50" and surrounding spaces
+ * - Rejects signs, extra decimal places, stray characters and overflow
+ * - Returns INVALID instead of throwing, so bad input costs nothing
+ */
+
+package com.cqu.genaiexpensetracker;
+
+public final class MoneyParser {
+
+    // Returned for text that is not a valid non-negative amount
+    public static final long INVALID = -1;
+
+    private MoneyParser() {}
+
+    /**
+     * Parses an amount in the default currency (two decimal places).
+     *
+     * @param text Amount text, e.g. from EditText.getText()
+     * @return Amount in cents, or INVALID
+     */
+    public static long parseCents(CharSequence text) {
+        return parse(text, 2);
+    }
+
+    /**
+     * Parses an amount into minor units.
+     *
+     * @param text           Amount text; '.' is the decimal point and ',' may group digits
+     * @param fractionDigits Number of minor-unit digits for the currency
+     * @return Amount in minor units, or INVALID
+     */
+    public static long parse(CharSequence text, int fractionDigits) {
+        if (text == null) return INVALID;
+
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+        if (start < end && text.charAt(start) == '$') start++;
+        if (start == end) return INVALID;
+
+        long value = 0;
+        int digits = 0;
+        int fraction = -1; // digits seen after '.', or -1 before it
+        char previous = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fraction >= 0 && ++fraction > fractionDigits) return INVALID;
+                if (value > (Long.MAX_VALUE - (c - '0')) / 10) return INVALID;
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && fraction < 0) {
+                fraction = 0;
+            } else if (c == ',' && fraction < 0 && digits > 0 && previous != ',') {
+                // Grouping separator, ignored
+            } else {
+                return INVALID;
+            }
+            previous = c;
+        }
+
+        if (digits == 0 || previous == ',') return INVALID;
+
+        // Scale up to the full number of minor-unit digits
+        for (int scale = Math.max(fraction, 0); scale < fractionDigits; scale++) {
+            if (value > Long.MAX_VALUE / 10) return INVALID;
+            value *= 10;
+        }
+        return value;
+    }
+}
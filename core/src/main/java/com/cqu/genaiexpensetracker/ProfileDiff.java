@@ -0,0 +1,64 @@
+/**
+ * ProfileDiff.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Works out which fields of a users/{uid} document need writing, given the
+ * last profile known to be stored and the profile seen at sign-in.
+ *
+ * Features:
+ * - Field names and values come from the generated UserCodec
+ * - Unchanged fields are left out, so an unchanged profile needs no write
+ * - Null values are never written, so a provider that hides the email or
+ *   name cannot blank out what is already stored
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class ProfileDiff {
+
+    private ProfileDiff() {}
+
+    /**
+     * Returns the fields to merge into the stored document.
+     *
+     * @param stored  Last profile known to be on the server, or null if unknown
+     *                (or if it belongs to a different user)
+     * @param current Profile from the sign-in
+     * @return Changed, non-null fields; empty when nothing needs writing
+     */
+    public static Map<String, Object> changes(User stored, User current) {
+        Map<String, Object> next = UserCodec.INSTANCE.encode(current);
+        Map<String, Object> previous = stored != null && stored.getUid() != null
+                && stored.getUid().equals(current.getUid())
+                ? UserCodec.INSTANCE.encode(stored) : null;
+
+        Map<String, Object> changes = new HashMap<>();
+        for (Map.Entry<String, Object> field : next.entrySet()) {
+            Object value = field.getValue();
+            if (value == null) continue;
+            if (previous == null || !value.equals(previous.get(field.getKey()))) {
+                changes.put(field.getKey(), value);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Returns the stored profile after the changes are merged in.
+     */
+    public static User merge(User stored, Map<String, Object> changes) {
+        Map<String, Object> merged = new HashMap<>();
+        Object uid = changes.get("uid");
+        if (stored != null && (uid == null || uid.equals(stored.getUid()))) {
+            merged.putAll(UserCodec.INSTANCE.encode(stored));
+        }
+        merged.putAll(changes);
+        return UserCodec.INSTANCE.decode(merged);
+    }
+}
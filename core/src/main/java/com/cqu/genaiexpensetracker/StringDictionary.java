@@ -0,0 +1,73 @@
+/**
+ * StringDictionary.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Maps repeated strings (categories, income sources) to small dense int
+ * IDs. Columnar data stores the ID, so each distinct string is held once
+ * no matter how many rows use it.
+ *
+ * Features:
+ * - IDs are assigned 0, 1, 2... in first-seen order
+ * - ID to string is a plain array read
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class StringDictionary {
+
+    // Returned by idOf() for a string that has never been interned
+    public static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] values = new String[16];
+    private int size;
+
+    /**
+     * Returns the ID for a string, assigning the next one if it is new.
+     *
+     * @param value String to intern; null is stored as ""
+     * @return Dense ID of the string
+     */
+    public int intern(String value) {
+        if (value == null) value = "";
+        Integer id = ids.get(value);
+        if (id != null) return id;
+
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size] = value;
+        ids.put(value, size);
+        return size++;
+    }
+
+    /**
+     * Returns the ID of an already interned string.
+     *
+     * @return ID, or NOT_FOUND
+     */
+    public int idOf(String value) {
+        Integer id = ids.get(value == null ? "" : value);
+        return id != null ? id : NOT_FOUND;
+    }
+
+    /**
+     * Returns the string for an ID.
+     */
+    public String get(int id) {
+        if (id < 0 || id >= size) throw new IndexOutOfBoundsException("No string with ID " + id);
+        return values[id];
+    }
+
+    /**
+     * Returns the number of distinct strings.
+     */
+    public int size() {
+        return size;
+    }
+}
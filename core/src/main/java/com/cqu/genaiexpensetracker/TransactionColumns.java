@@ -0,0 +1,280 @@
+/**
+ * TransactionColumns.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Read-only, column-oriented copy of a user's transaction history for
+ * analytics. Each row is split across three primitive arrays instead of
+ * being an object, so a multi-year history costs 20 bytes per row and a
+ * scan is a linear walk over contiguous memory.
+ *
+ * Features:
+ * - times[] epoch millis, sorted ascending, so date ranges are binary searches
+ * - amounts[] signed cents: income positive, expenses negative
+ * - categories[] IDs into a StringDictionary (expense category or income source)
+ * - Range sums, filters, and group-by-category / group-by-month scans
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+public final class TransactionColumns {
+
+    /**
+     * Row predicate used by filtered scans. Receives the columns of one row
+     * as primitives, so no row object is created.
+     */
+    public interface RowFilter {
+        boolean test(long time, long amountCents, int category);
+    }
+
+    private final long[] times;
+    private final long[] amounts;
+    private final int[] categories;
+    private final int size;
+    private final StringDictionary dictionary;
+
+    private TransactionColumns(long[] times, long[] amounts, int[] categories, int size, StringDictionary dictionary) {
+        this.times = times;
+        this.amounts = amounts;
+        this.categories = categories;
+        this.size = size;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Returns a set of columns with no rows.
+     */
+    public static TransactionColumns empty() {
+        return new Builder(0).build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timeAt(int row) {
+        checkRow(row);
+        return times[row];
+    }
+
+    /**
+     * Returns the signed amount of a row: positive for income, negative for expenses.
+     */
+    public long amountAt(int row) {
+        checkRow(row);
+        return amounts[row];
+    }
+
+    public int categoryAt(int row) {
+        checkRow(row);
+        return categories[row];
+    }
+
+    /**
+     * Returns the dictionary that category IDs refer to.
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns the first row whose time is at or after millis (size() if none).
+     */
+    public int lowerBound(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < millis) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Returns total income in [fromMillis, toMillis).
+     */
+    public long sumIncome(long fromMillis, long toMillis) {
+        long total = 0;
+        for (int i = lowerBound(fromMillis), end = lowerBound(toMillis); i < end; i++) {
+            long amount = amounts[i];
+            if (amount > 0) total += amount;
+        }
+        return total;
+    }
+
+    /**
+     * Returns total expenses in [fromMillis, toMillis) as a positive number.
+     */
+    public long sumExpenses(long fromMillis, long toMillis) {
+        long total = 0;
+        for (int i = lowerBound(fromMillis), end = lowerBound(toMillis); i < end; i++) {
+            long amount = amounts[i];
+            if (amount < 0) total -= amount;
+        }
+        return total;
+    }
+
+    /**
+     * Sums the signed amounts of matching rows in [fromMillis, toMillis).
+     */
+    public long sumWhere(long fromMillis, long toMillis, RowFilter filter) {
+        long total = 0;
+        for (int i = lowerBound(fromMillis), end = lowerBound(toMillis); i < end; i++) {
+            if (filter.test(times[i], amounts[i], categories[i])) total += amounts[i];
+        }
+        return total;
+    }
+
+    /**
+     * Counts matching rows in [fromMillis, toMillis).
+     */
+    public int countWhere(long fromMillis, long toMillis, RowFilter filter) {
+        int count = 0;
+        for (int i = lowerBound(fromMillis), end = lowerBound(toMillis); i < end; i++) {
+            if (filter.test(times[i], amounts[i], categories[i])) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Groups expenses in [fromMillis, toMillis) by category.
+     *
+     * @return Positive totals indexed by category ID (length = dictionary size)
+     */
+    public long[] expensesByCategory(long fromMillis, long toMillis) {
+        long[] totals = new long[dictionary.size()];
+        for (int i = lowerBound(fromMillis), end = lowerBound(toMillis); i < end; i++) {
+            long amount = amounts[i];
+            if (amount < 0) totals[categories[i]] -= amount;
+        }
+        return totals;
+    }
+
+    /**
+     * Groups expenses by calendar month. Month boundaries are found with a
+     * binary search each, then every row in range is visited once.
+     *
+     * @param firstMonth First month key (yyyymm)
+     * @param months     Number of consecutive months
+     * @param zone       Time zone the months are defined in
+     * @return Positive totals, index 0 = firstMonth
+     */
+    public long[] expensesByMonth(int firstMonth, int months, TimeZone zone) {
+        long[] totals = new long[months];
+        int month = firstMonth;
+        int row = lowerBound(LedgerMonth.startMillis(month, zone));
+        for (int m = 0; m < months; m++) {
+            int end = lowerBound(LedgerMonth.endMillis(month, zone));
+            long total = 0;
+            for (; row < end; row++) {
+                long amount = amounts[row];
+                if (amount < 0) total -= amount;
+            }
+            totals[m] = total;
+            month = LedgerMonth.next(month);
+        }
+        return totals;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+    }
+
+    /**
+     * Accumulates rows in any order; build() sorts them by time.
+     */
+    public static final class Builder {
+        private long[] times;
+        private long[] amounts;
+        private int[] categories;
+        private int size;
+        private boolean sorted = true;
+        private final StringDictionary dictionary = new StringDictionary();
+
+        /**
+         * @param expectedRows Initial capacity
+         */
+        public Builder(int expectedRows) {
+            int capacity = Math.max(expectedRows, 16);
+            times = new long[capacity];
+            amounts = new long[capacity];
+            categories = new int[capacity];
+        }
+
+        public Builder addIncome(long time, long amountCents, String source) {
+            return add(time, amountCents, source);
+        }
+
+        public Builder addExpense(long time, long amountCents, String category) {
+            return add(time, -amountCents, category);
+        }
+
+        private Builder add(long time, long signedAmount, String category) {
+            if (size == times.length) {
+                int capacity = size * 2;
+                times = Arrays.copyOf(times, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+            }
+            if (size > 0 && time < times[size - 1]) sorted = false;
+            times[size] = time;
+            amounts[size] = signedAmount;
+            categories[size] = dictionary.intern(category);
+            size++;
+            return this;
+        }
+
+        /**
+         * Returns the finished columns. The builder must not be used afterwards.
+         */
+        public TransactionColumns build() {
+            if (!sorted) sortByTime();
+            return new TransactionColumns(times, amounts, categories, size, dictionary);
+        }
+
+        /**
+         * Stable sort of all three columns by time, via a sorted index.
+         */
+        private void sortByTime() {
+            int[] order = new int[size];
+            int[] scratch = new int[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+
+            // Bottom-up merge sort on row indices
+            for (int width = 1; width < size; width *= 2) {
+                for (int low = 0; low < size; low += 2 * width) {
+                    int mid = Math.min(low + width, size);
+                    int high = Math.min(low + 2 * width, size);
+                    int a = low, b = mid, out = low;
+                    while (a < mid && b < high) {
+                        scratch[out++] = times[order[b]] < times[order[a]] ? order[b++] : order[a++];
+                    }
+                    while (a < mid) scratch[out++] = order[a++];
+                    while (b < high) scratch[out++] = order[b++];
+                }
+                int[] swap = order;
+                order = scratch;
+                scratch = swap;
+            }
+
+            long[] sortedTimes = new long[times.length];
+            long[] sortedAmounts = new long[amounts.length];
+            int[] sortedCategories = new int[categories.length];
+            for (int i = 0; i < size; i++) {
+                sortedTimes[i] = times[order[i]];
+                sortedAmounts[i] = amounts[order[i]];
+                sortedCategories[i] = categories[order[i]];
+            }
+            times = sortedTimes;
+            amounts = sortedAmounts;
+            categories = sortedCategories;
+            sorted = true;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * TransactionRow.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Immutable row model shown in the Income and Expense lists. Both entry
+ * types are flattened into this one shape so they share an adapter and
+ * a DiffUtil callback.
+ */
+
+package com.cqu.genaiexpensetracker;
+
+import java.util.Objects;
+
+public final class TransactionRow {
+
+    private final String id;
+    private final String title;
+    private final String subtitle;
+    private final long amountCents;
+    private final long createdAt;
+    private final boolean income;
+
+    public TransactionRow(String id, String title, String subtitle,
+                          long amountCents, long createdAt, boolean income) {
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.amountCents = amountCents;
+        this.createdAt = createdAt;
+        this.income = income;
+    }
+
+    /**
+     * Builds a row for an income entry.
+     */
+    public static TransactionRow of(IncomeEntry entry) {
+        return new TransactionRow(entry.getId(), entry.getSource(), null,
+                entry.getAmountCents(), entry.getCreatedAt(), true);
+    }
+
+    /**
+     * Builds a row for an expense entry.
+     */
+    public static TransactionRow of(ExpenseEntry entry) {
+        return new TransactionRow(entry.getId(), entry.getCategory(), entry.getDescription(),
+                entry.getAmountCents(), entry.getCreatedAt(), false);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSubtitle() {
+        return subtitle;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isIncome() {
+        return income;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionRow)) return false;
+        TransactionRow other = (TransactionRow) o;
+        return amountCents == other.amountCents
+                && createdAt == other.createdAt
+                && income == other.income
+                && Objects.equals(id, other.id)
+                && Objects.equals(title, other.title)
+                && Objects.equals(subtitle, other.subtitle);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, subtitle, amountCents, createdAt, income);
+    }
+}
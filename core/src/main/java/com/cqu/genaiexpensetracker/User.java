@@ -19,6 +19,9 @@
 
 package com.cqu.genaiexpensetracker;
 
+import com.cqu.genaiexpensetracker.codec.FirestoreModel;
+
+@FirestoreModel
 public class User {
 
     // Fields stored in Firestore
@@ -0,0 +1,167 @@
+/**
+ * FormValidator.java
+ * -------------------------
+ * Author: Kapil Pandey
+ * Syndey Group
+ *
+ * Description:
+ * Input checks shared by every auth form (SignIn, SignUp, ForgotPassword,
+ * SetNewPassword). Each check is one pass over the characters with no
+ * regex and no allocation, so it is cheap enough to run on every keystroke
+ * straight from an Editable.
+ *
+ * Features:
+ * - Password rules come back as a bitmask, so the UI can name exactly
+ *   what is missing
+ * - passwordRules() accepts the same strings as the old
+ *   "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&]).{8,}$" regex
+ * - isEmail() accepts the same strings as android.util.Patterns.EMAIL_ADDRESS
+ */
+
+package com.cqu.genaiexpensetracker.validation;
+
+public final class FormValidator {
+
+    // Password rules, one bit each
+    public static final int RULE_LOWERCASE = 1;
+    public static final int RULE_UPPERCASE = 1 << 1;
+    public static final int RULE_DIGIT = 1 << 2;
+    public static final int RULE_SPECIAL = 1 << 3;
+    public static final int RULE_LENGTH = 1 << 4;
+    public static final int PASSWORD_RULES =
+            RULE_LOWERCASE | RULE_UPPERCASE | RULE_DIGIT | RULE_SPECIAL | RULE_LENGTH;
+
+    public static final int MIN_PASSWORD_LENGTH = 8;
+    public static final String SPECIAL_CHARACTERS = "@$!%*?&";
+
+    // Patterns.EMAIL_ADDRESS limits
+    private static final int MAX_LOCAL_PART = 256;
+    private static final int MAX_FIRST_LABEL = 65;
+    private static final int MAX_LABEL = 26;
+
+    private FormValidator() {}
+
+    /**
+     * Returns the password rules the input satisfies.
+     *
+     * @return Bitmask of RULE_* flags; PASSWORD_RULES means the password is strong
+     */
+    public static int passwordRules(CharSequence password) {
+        int rules = 0;
+        int codePoints = 0;
+        boolean lineBreak = false;
+        char previous = 0;
+        for (int i = 0, n = password.length(); i < n; i++) {
+            char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') rules |= RULE_LOWERCASE;
+            else if (c >= 'A' && c <= 'Z') rules |= RULE_UPPERCASE;
+            else if (c >= '0' && c <= '9') rules |= RULE_DIGIT;
+            else if (isSpecial(c)) rules |= RULE_SPECIAL;
+            else if (isLineTerminator(c)) lineBreak = true;
+
+            // The regex counted code points, so a surrogate pair is one character
+            if (!(Character.isLowSurrogate(c) && Character.isHighSurrogate(previous))) codePoints++;
+            previous = c;
+        }
+        // '.' in the regex never matched a line break, so one fails the whole password
+        if (codePoints >= MIN_PASSWORD_LENGTH && !lineBreak) rules |= RULE_LENGTH;
+        return rules;
+    }
+
+    /**
+     * Returns the rules the password still has to meet.
+     */
+    public static int missingPasswordRules(CharSequence password) {
+        return PASSWORD_RULES & ~passwordRules(password);
+    }
+
+    /**
+     * Returns true if the password meets every rule.
+     */
+    public static boolean isStrongPassword(CharSequence password) {
+        return passwordRules(password) == PASSWORD_RULES;
+    }
+
+    /**
+     * Lists missing rules for an error message, e.g. "uppercase, digit and 8+ chars".
+     *
+     * @param missing Bitmask from missingPasswordRules()
+     * @return Description, or "" if nothing is missing
+     */
+    public static String describeRules(int missing) {
+        String[] names = {"lowercase", "uppercase", "digit", "special char (" + SPECIAL_CHARACTERS + ")",
+                MIN_PASSWORD_LENGTH + "+ chars"};
+        StringBuilder out = new StringBuilder();
+        int remaining = Integer.bitCount(missing & PASSWORD_RULES);
+        for (int bit = 0; bit < names.length; bit++) {
+            if ((missing & (1 << bit)) == 0) continue;
+            if (out.length() > 0) out.append(--remaining == 0 ? " and " : ", ");
+            else remaining--;
+            out.append(names[bit]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Returns true if the input is a well-formed email address: a local part
+     * of letters, digits and "+._%-", an '@', then at least two dot-separated
+     * domain labels of letters, digits and '-' that start with a letter or digit.
+     */
+    public static boolean isEmail(CharSequence email) {
+        int n = email.length();
+        int i = 0;
+
+        // Local part: 1..256 of [a-zA-Z0-9+._%-]
+        while (i < n && isLocalChar(email.charAt(i))) i++;
+        if (i == 0 || i > MAX_LOCAL_PART || i == n || email.charAt(i) != '@') return false;
+        i++;
+
+        // First label up to 65 characters, then one or more labels up to 26
+        int labels = 0;
+        while (true) {
+            int start = i;
+            if (i == n || !isAlphanumeric(email.charAt(i))) return false;
+            i++;
+            while (i < n && (isAlphanumeric(email.charAt(i)) || email.charAt(i) == '-')) i++;
+            if (i - start > (labels == 0 ? MAX_FIRST_LABEL : MAX_LABEL)) return false;
+            labels++;
+            if (i == n) return labels >= 2;
+            if (email.charAt(i) != '.') return false;
+            i++;
+        }
+    }
+
+    /**
+     * Counts ASCII letters, ignoring spaces and everything else. Used for
+     * the minimum-length rule on names.
+     */
+    public static int countLetters(CharSequence text) {
+        int letters = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) letters++;
+        }
+        return letters;
+    }
+
+    private static boolean isSpecial(char c) {
+        switch (c) {
+            case '@': case '$': case '!': case '%': case '*': case '?': case '&':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAlphanumeric(c) || c == '+' || c == '.' || c == '_' || c == '%' || c == '-';
+    }
+}
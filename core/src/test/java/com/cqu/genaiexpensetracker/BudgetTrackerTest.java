@@ -0,0 +1,95 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that document deltas keep the budget figures exact.
+ */
+public class BudgetTrackerTest {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Australia/Sydney");
+    private static final int JUNE = 202406;
+    private static final long DAY = 86_400_000L;
+
+    private static long day(int dayOfMonth) {
+        return LedgerMonth.startMillis(JUNE, ZONE) + (dayOfMonth - 1) * DAY + DAY / 2;
+    }
+
+    @Test
+    public void deltas_addModifyRemove() {
+        BudgetTracker tracker = new BudgetTracker(JUNE);
+        tracker.onExpenseAdded("a", 1_000);
+        tracker.onExpenseAdded("b", 2_500);
+        tracker.onExpenseModified("a", 1_500);
+        tracker.onExpenseRemoved("b");
+        tracker.onExpenseRemoved("missing");
+        // A repeated ADDED for a known document must not double count
+        tracker.onExpenseAdded("a", 1_500);
+
+        assertEquals(1_500, tracker.getStatus(day(10), ZONE).getSpentCents());
+    }
+
+    @Test
+    public void replaceExpenses_dropsUnlistedAndKeepsDeltasExact() {
+        BudgetTracker tracker = new BudgetTracker(JUNE);
+        tracker.onExpenseAdded("stale", 9_000);
+        tracker.onExpenseAdded("a", 1_000);
+
+        Map<String, Long> listing = new HashMap<>();
+        listing.put("a", 1_200L);
+        listing.put("b", 300L);
+        tracker.replaceExpenses(listing);
+        assertEquals(1_500, tracker.getStatus(day(10), ZONE).getSpentCents());
+
+        tracker.onExpenseRemoved("stale");
+        tracker.onExpenseRemoved("b");
+        assertEquals(1_200, tracker.getStatus(day(10), ZONE).getSpentCents());
+    }
+
+    @Test
+    public void status_remainingBurnAndProjection() {
+        BudgetTracker tracker = new BudgetTracker(JUNE);
+        tracker.setBudget(60_000);
+        tracker.onExpenseAdded("a", 20_000);
+
+        BudgetStatus status = tracker.getStatus(day(10), ZONE);
+
+        assertTrue(status.hasBudget());
+        assertEquals(40_000, status.getRemainingCents());
+        assertEquals(10, status.getDaysElapsed());
+        assertEquals(2_000, status.getDailyBurnCents());
+        assertEquals(60_000, status.getProjectedCents());
+        // 21 days left including today
+        assertEquals(40_000 / 21, status.getSafeDailyCents());
+        assertFalse(status.isOverBudget());
+    }
+
+    @Test
+    public void status_overBudgetAndNoBudget() {
+        BudgetTracker tracker = new BudgetTracker(JUNE);
+        tracker.onExpenseAdded("a", 5_000);
+        assertFalse(tracker.getStatus(day(1), ZONE).hasBudget());
+
+        tracker.setBudget(4_000);
+        BudgetStatus status = tracker.getStatus(day(30), ZONE);
+        assertTrue(status.isOverBudget());
+        assertEquals(-1_000, status.getRemainingCents());
+        assertEquals(0, status.getSafeDailyCents());
+    }
+
+    @Test
+    public void monthHelpers() {
+        assertEquals("2024-06", LedgerMonth.format(JUNE));
+        assertEquals("2024-12", LedgerMonth.format(202412));
+        assertEquals(29, LedgerMonth.lengthOfMonth(202402));
+        assertEquals(28, LedgerMonth.lengthOfMonth(210002));
+        assertEquals(30, LedgerMonth.lengthOfMonth(JUNE));
+        assertEquals("u1_2024-06", Budget.documentId("u1", JUNE));
+    }
+}
@@ -0,0 +1,38 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for EmailKey.
+ */
+public class EmailKeyTest {
+
+    @Test
+    public void normalize_trimsAndLowerCases() {
+        assertEquals("kapil@example.com", EmailKey.normalize("  Kapil@Example.COM "));
+        assertEquals(EmailKey.of("KAPIL@example.com"), EmailKey.of("kapil@EXAMPLE.com"));
+    }
+
+    @Test
+    public void of_escapesCharactersFirestoreIdsCannotHold() {
+        assertEquals("a%2Fb@example.com", EmailKey.of("a/b@example.com"));
+        assertEquals("a%25b@example.com", EmailKey.of("a%b@example.com"));
+        // Escaping the escape character keeps distinct addresses distinct
+        assertNotEquals(EmailKey.of("a%2Fb@example.com"), EmailKey.of("a/b@example.com"));
+    }
+
+    @Test
+    public void normalize_ignoresDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals("ian@example.com", EmailKey.of("IAN@example.com"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+}
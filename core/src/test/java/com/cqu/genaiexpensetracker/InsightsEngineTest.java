@@ -0,0 +1,124 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the insight rules and that updates reach only the affected months.
+ */
+public class InsightsEngineTest {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Australia/Sydney");
+    private static final int MAY = 202405;
+    private static final int JUNE = 202406;
+    private static final int JULY = 202407;
+
+    private LedgerAggregator aggregator;
+    private InsightsEngine engine;
+    private int ids;
+
+    @Before
+    public void setUp() {
+        aggregator = new LedgerAggregator(ZONE);
+        engine = new InsightsEngine(aggregator);
+    }
+
+    private long midMonth(int month) {
+        return LedgerMonth.startMillis(month, ZONE) + 14L * 86_400_000L;
+    }
+
+    private ExpenseEntry expense(int month, long cents, String category) {
+        ExpenseEntry entry = new ExpenseEntry("e" + ids++, "alice", cents, category, "", midMonth(month));
+        aggregator.onExpenseAdded(entry);
+        return entry;
+    }
+
+    private void income(int month, long cents) {
+        aggregator.onIncomeAdded(new IncomeEntry("i" + ids++, "alice", cents, "Salary", midMonth(month)));
+    }
+
+    private Insight find(int month, Insight.Type type, String category) {
+        for (Insight insight : engine.getInsights("alice", month)) {
+            if (insight.getType() == type && (category == null || category.equals(insight.getCategory()))) {
+                return insight;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void categoryChanges_reportedAboveThreshold() {
+        expense(MAY, 10_000, "Food");
+        expense(MAY, 10_000, "Rent");
+        expense(MAY, 5_000, "Travel");
+        expense(JUNE, 15_000, "Food");   // +50%
+        expense(JUNE, 10_500, "Rent");   // +5%, ignored
+        expense(JUNE, 3_000, "Games");   // new
+
+        Insight food = find(JUNE, Insight.Type.CATEGORY_UP, "Food");
+        assertNotNull(food);
+        assertEquals(50, food.getChangePercent());
+        assertNull(find(JUNE, Insight.Type.CATEGORY_UP, "Rent"));
+        assertNotNull(find(JUNE, Insight.Type.CATEGORY_NEW, "Games"));
+
+        Insight travel = find(JUNE, Insight.Type.CATEGORY_DOWN, "Travel");
+        assertNotNull(travel);
+        assertEquals(0, travel.getCurrent());
+    }
+
+    @Test
+    public void budget_warnsWhenNearlyUsedAndWhenExceeded() {
+        engine.setBudget("alice", JUNE, 100_000);
+        ExpenseEntry big = expense(JUNE, 92_000, "Rent");
+        assertNotNull(find(JUNE, Insight.Type.BUDGET_NEARLY_USED, null));
+
+        expense(JUNE, 10_000, "Food");
+        Insight exceeded = find(JUNE, Insight.Type.BUDGET_EXCEEDED, null);
+        assertNotNull(exceeded);
+        assertEquals(102_000, exceeded.getCurrent());
+        // Budget warnings are listed first
+        assertSame(exceeded, engine.getInsights("alice", JUNE).get(0));
+
+        aggregator.onExpenseRemoved(big);
+        assertNull(find(JUNE, Insight.Type.BUDGET_EXCEEDED, null));
+    }
+
+    @Test
+    public void savingsRate_changeBetweenMonths() {
+        income(MAY, 100_000);
+        expense(MAY, 80_000, "Rent");   // 20% saved
+        income(JUNE, 100_000);
+        expense(JUNE, 60_000, "Rent");  // 40% saved
+
+        Insight savings = find(JUNE, Insight.Type.SAVINGS_RATE_UP, null);
+        assertNotNull(savings);
+        assertEquals(4_000, savings.getCurrent());
+        assertEquals(2_000, savings.getPrevious());
+    }
+
+    @Test
+    public void update_notifiesOnlyChangedAndFollowingMonth() {
+        expense(MAY, 10_000, "Food");
+        List<Integer> notified = new ArrayList<>();
+        engine.addListener((uid, month) -> notified.add(month));
+
+        expense(JUNE, 20_000, "Food");
+
+        assertEquals(List.of(JUNE, JULY), notified);
+        assertNotNull(find(JUNE, Insight.Type.CATEGORY_UP, "Food"));
+    }
+
+    @Test
+    public void emptyMonth_hasNoInsights() {
+        expense(MAY, 10_000, "Food");
+
+        assertTrue(engine.getInsights("alice", JUNE).isEmpty());
+        assertTrue(engine.getInsights("bob", MAY).isEmpty());
+    }
+}
@@ -0,0 +1,199 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the incrementally maintained totals always equal a full
+ * recomputation over the same entries.
+ */
+public class LedgerAggregatorTest {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Australia/Sydney");
+    private static final String[] UIDS = {"alice", "bob"};
+    private static final String[] CATEGORIES = {"Food", "Rent", "Travel", ""};
+    private static final long YEAR_MILLIS = 365L * 86_400_000L;
+    private static final long START = 1_672_531_200_000L; // 2023-01-01T00:00:00Z
+
+    @Test
+    public void monthKey_matchesCalendar() {
+        Random random = new Random(7);
+        Calendar calendar = Calendar.getInstance(ZONE);
+        for (int i = 0; i < 10_000; i++) {
+            long millis = START + (long) (random.nextDouble() * 3 * YEAR_MILLIS);
+            calendar.setTimeInMillis(millis);
+            int expected = calendar.get(Calendar.YEAR) * 100 + calendar.get(Calendar.MONTH) + 1;
+            assertEquals(expected, LedgerMonth.of(millis, ZONE));
+        }
+    }
+
+    @Test
+    public void monthBounds_containTheMonth() {
+        int month = 202410; // DST starts in Sydney on 6 Oct 2024
+        long start = LedgerMonth.startMillis(month, ZONE);
+        long end = LedgerMonth.endMillis(month, ZONE);
+        assertEquals(month, LedgerMonth.of(start, ZONE));
+        assertEquals(LedgerMonth.previous(month), LedgerMonth.of(start - 1, ZONE));
+        assertEquals(LedgerMonth.next(month), LedgerMonth.of(end, ZONE));
+        assertEquals(month, LedgerMonth.of(end - 1, ZONE));
+    }
+
+    @Test
+    public void randomInsertsEditsAndDeletes_matchFullRecompute() {
+        Random random = new Random(42);
+        LedgerAggregator aggregator = new LedgerAggregator(ZONE);
+        Map<String, ExpenseEntry> expenses = new HashMap<>();
+        Map<String, IncomeEntry> income = new HashMap<>();
+        int nextId = 0;
+
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5 || expenses.isEmpty()) {
+                ExpenseEntry e = randomExpense("e" + nextId++, random);
+                expenses.put(e.getId(), e);
+                aggregator.onExpenseAdded(e);
+            } else if (action < 7) {
+                ExpenseEntry old = pick(expenses, random);
+                ExpenseEntry updated = randomExpense(old.getId(), random);
+                expenses.put(updated.getId(), updated);
+                aggregator.onExpenseUpdated(old, updated);
+            } else if (action < 8) {
+                ExpenseEntry old = pick(expenses, random);
+                expenses.remove(old.getId());
+                aggregator.onExpenseRemoved(old);
+            } else if (action < 9 || income.isEmpty()) {
+                IncomeEntry e = randomIncome("i" + nextId++, random);
+                income.put(e.getId(), e);
+                aggregator.onIncomeAdded(e);
+            } else {
+                IncomeEntry old = pick(income, random);
+                if (random.nextBoolean()) {
+                    income.remove(old.getId());
+                    aggregator.onIncomeRemoved(old);
+                } else {
+                    IncomeEntry updated = randomIncome(old.getId(), random);
+                    income.put(updated.getId(), updated);
+                    aggregator.onIncomeUpdated(old, updated);
+                }
+            }
+
+            if (step % 1000 == 0) assertMatchesRecompute(aggregator, income, expenses);
+        }
+        assertMatchesRecompute(aggregator, income, expenses);
+    }
+
+    @Test
+    public void loadAll_matchesIncrementalInserts() {
+        Random random = new Random(99);
+        List<IncomeEntry> income = new ArrayList<>();
+        List<ExpenseEntry> expenses = new ArrayList<>();
+        LedgerAggregator incremental = new LedgerAggregator(ZONE);
+        for (int i = 0; i < 5_000; i++) {
+            ExpenseEntry e = randomExpense("e" + i, random);
+            expenses.add(e);
+            incremental.onExpenseAdded(e);
+            IncomeEntry in = randomIncome("i" + i, random);
+            income.add(in);
+            incremental.onIncomeAdded(in);
+        }
+
+        LedgerAggregator loaded = new LedgerAggregator(ZONE);
+        List<int[]> notified = new ArrayList<>();
+        loaded.addListener((uid, month) -> notified.add(new int[]{month}));
+        loaded.loadAll(income, expenses);
+
+        for (String uid : UIDS) {
+            for (int month = 202301; month <= 202612; month = LedgerMonth.next(month)) {
+                assertEquals(incremental.getIncome(uid, month), loaded.getIncome(uid, month));
+                assertEquals(incremental.getExpenses(uid, month), loaded.getExpenses(uid, month));
+                assertEquals(incremental.getExpensesByCategory(uid, month), loaded.getExpensesByCategory(uid, month));
+            }
+        }
+        // One notification per (uid, month), not per entry
+        assertTrue(notified.size() < 200);
+    }
+
+    @Test
+    public void deletingEverything_leavesZeroTotals() {
+        LedgerAggregator aggregator = new LedgerAggregator(ZONE);
+        ExpenseEntry e = new ExpenseEntry("x", "alice", 1250, "Food", "Lunch", START);
+        aggregator.onExpenseAdded(e);
+        int month = LedgerMonth.of(START, ZONE);
+        assertEquals(1250, aggregator.getExpenses("alice", month));
+        assertEquals(1250, aggregator.getCategoryExpenses("alice", month, "Food"));
+
+        aggregator.onExpenseRemoved(e);
+        assertEquals(0, aggregator.getExpenses("alice", month));
+        assertEquals(0, aggregator.getExpenseCount("alice", month));
+        assertTrue(aggregator.getExpensesByCategory("alice", month).isEmpty());
+    }
+
+    // ---------------------------------------------------------------------
+
+    private static void assertMatchesRecompute(LedgerAggregator aggregator,
+                                               Map<String, IncomeEntry> income,
+                                               Map<String, ExpenseEntry> expenses) {
+        Map<String, long[]> monthTotals = new HashMap<>();       // uid|month -> {income, expense, incomeCount, expenseCount}
+        Map<String, Long> categoryTotals = new HashMap<>();      // uid|month|category -> cents
+
+        for (IncomeEntry e : income.values()) {
+            long[] t = monthTotals.computeIfAbsent(e.getUid() + "|" + LedgerMonth.of(e.getCreatedAt(), ZONE), k -> new long[4]);
+            t[0] += e.getAmountCents();
+            t[2]++;
+        }
+        for (ExpenseEntry e : expenses.values()) {
+            int month = LedgerMonth.of(e.getCreatedAt(), ZONE);
+            long[] t = monthTotals.computeIfAbsent(e.getUid() + "|" + month, k -> new long[4]);
+            t[1] += e.getAmountCents();
+            t[3]++;
+            String category = e.getCategory().isEmpty() ? LedgerAggregator.UNCATEGORIZED : e.getCategory();
+            categoryTotals.merge(e.getUid() + "|" + month + "|" + category, e.getAmountCents(), Long::sum);
+        }
+
+        for (String uid : UIDS) {
+            for (int month = 202301; month <= 202612; month = LedgerMonth.next(month)) {
+                long[] t = monthTotals.getOrDefault(uid + "|" + month, new long[4]);
+                assertEquals(t[0], aggregator.getIncome(uid, month));
+                assertEquals(t[1], aggregator.getExpenses(uid, month));
+                assertEquals(t[2], aggregator.getIncomeCount(uid, month));
+                assertEquals(t[3], aggregator.getExpenseCount(uid, month));
+                for (String c : CATEGORIES) {
+                    String category = c.isEmpty() ? LedgerAggregator.UNCATEGORIZED : c;
+                    long expected = categoryTotals.getOrDefault(uid + "|" + month + "|" + category, 0L);
+                    assertEquals(expected, aggregator.getCategoryExpenses(uid, month, category));
+                }
+            }
+        }
+    }
+
+    private static ExpenseEntry randomExpense(String id, Random random) {
+        return new ExpenseEntry(id, UIDS[random.nextInt(UIDS.length)], 1 + random.nextInt(100_000),
+                CATEGORIES[random.nextInt(CATEGORIES.length)], "", randomTime(random));
+    }
+
+    private static IncomeEntry randomIncome(String id, Random random) {
+        return new IncomeEntry(id, UIDS[random.nextInt(UIDS.length)], 1 + random.nextInt(500_000),
+                "Salary", randomTime(random));
+    }
+
+    private static long randomTime(Random random) {
+        return START + (long) (random.nextDouble() * 3 * YEAR_MILLIS);
+    }
+
+    private static <T> T pick(Map<String, T> map, Random random) {
+        int index = random.nextInt(map.size());
+        for (T value : map.values()) {
+            if (index-- == 0) return value;
+        }
+        throw new IllegalStateException();
+    }
+}
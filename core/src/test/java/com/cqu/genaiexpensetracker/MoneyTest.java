@@ -0,0 +1,82 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Money, MoneyParser and MoneyFormatter.
+ */
+public class MoneyTest {
+
+    @Test
+    public void parse_acceptsCommonAmountShapes() {
+        assertEquals(1200, MoneyParser.parseCents("12"));
+        assertEquals(1250, MoneyParser.parseCents("12.5"));
+        assertEquals(1250, MoneyParser.parseCents(" 12.50 "));
+        assertEquals(123450, MoneyParser.parseCents("1,234.50"));
+        assertEquals(1250, MoneyParser.parseCents("$12.50"));
+        assertEquals(7, MoneyParser.parseCents("0.07"));
+        assertEquals(50, MoneyParser.parseCents(".5"));
+        assertEquals(1999, MoneyParser.parseCents(new StringBuilder("19.99")));
+    }
+
+    @Test
+    public void parse_rejectsInvalidText() {
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents(null));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents(""));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("  "));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("."));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("1.005"));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("-5"));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("1.2.3"));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("12a"));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents(",12"));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("12,"));
+        assertEquals(MoneyParser.INVALID, MoneyParser.parseCents("99999999999999999999"));
+    }
+
+    @Test
+    public void format_groupsDigitsAndPadsCents() {
+        MoneyFormatter formatter = MoneyFormatter.forLocale(Locale.US);
+
+        assertEquals("$0.00", formatter.formatCents(0));
+        assertEquals("$0.05", formatter.formatCents(5));
+        assertEquals("$1,234.50", formatter.formatCents(123450));
+        assertEquals("-$12.50", formatter.formatCents(-1250));
+        assertEquals("+$12.50", formatter.append(new StringBuilder(), 1250, Money.DEFAULT_CURRENCY, true).toString());
+        assertEquals("-$92,233,720,368,547,758.08", formatter.formatCents(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void format_appendsIntoReusedBuffer() {
+        MoneyFormatter formatter = MoneyFormatter.forLocale(Locale.US);
+        StringBuilder buffer = new StringBuilder();
+
+        formatter.appendCents(buffer, 100000);
+        buffer.setLength(0);
+        formatter.appendCents(buffer, 99);
+
+        assertEquals("$0.99", buffer.toString());
+        assertSame(formatter, MoneyFormatter.forLocale(Locale.US));
+    }
+
+    @Test
+    public void money_sumsExactlyAndChecksCurrency() {
+        Money total = Money.ofCents(0);
+        for (int i = 0; i < 1000; i++) total = total.plus(Money.ofCents(10));
+
+        assertEquals(Money.ofCents(10000), total);
+        assertEquals("AUD 100.00", total.toString());
+        assertEquals(-500, Money.ofCents(500).negate().getMinorUnits());
+
+        try {
+            total.plus(Money.of(1, "USD"));
+            fail("Expected currency mismatch");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for ProfileDiff.
+ */
+public class ProfileDiffTest {
+
+    @Test
+    public void unchangedProfile_needsNoWrite() {
+        User stored = new User("Kapil", "k@example.com", "u1");
+
+        assertTrue(ProfileDiff.changes(stored, new User("Kapil", "k@example.com", "u1")).isEmpty());
+    }
+
+    @Test
+    public void changedField_isTheOnlyOneWritten() {
+        User stored = new User("Kapil", "k@example.com", "u1");
+
+        Map<String, Object> changes = ProfileDiff.changes(stored, new User("Kapil P", "k@example.com", "u1"));
+
+        assertEquals(Map.of("name", "Kapil P"), changes);
+        User merged = ProfileDiff.merge(stored, changes);
+        assertEquals("Kapil P", merged.getName());
+        assertEquals("k@example.com", merged.getEmail());
+        assertEquals("u1", merged.getUid());
+    }
+
+    @Test
+    public void unknownOrOtherUser_writesEveryField() {
+        User current = new User("Kapil", "k@example.com", "u1");
+
+        assertEquals(3, ProfileDiff.changes(null, current).size());
+
+        Map<String, Object> changes = ProfileDiff.changes(new User("Other", "o@example.com", "u2"), current);
+        assertEquals(3, changes.size());
+        assertEquals("Kapil", ProfileDiff.merge(new User("Other", "o@example.com", "u2"), changes).getName());
+    }
+
+    @Test
+    public void nullValues_neverOverwriteStoredFields() {
+        User stored = new User("Kapil", "k@example.com", "u1");
+
+        assertTrue(ProfileDiff.changes(stored, new User("Kapil", null, "u1")).isEmpty());
+        assertFalse(ProfileDiff.changes(null, new User("Kapil", null, "u1")).containsKey("email"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.cqu.genaiexpensetracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the columnar scans against a plain loop over row objects.
+ */
+public class TransactionColumnsTest {
+
+    private static final TimeZone ZONE = TimeZone.getTimeZone("Australia/Sydney");
+    private static final String[] CATEGORIES = {"Food", "Rent", "Travel", ""};
+    private static final long START = 1_672_531_200_000L; // 2023-01-01T00:00:00Z
+    private static final long SPAN = 2 * 365L * 86_400_000L;
+
+    /** Reference row kept as an object. */
+    private static final class Row {
+        final long time;
+        final long amount;
+        final String category;
+
+        Row(long time, long amount, String category) {
+            this.time = time;
+            this.amount = amount;
+            this.category = category;
+        }
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+
+    private TransactionColumns randomColumns(int count) {
+        Random random = new Random(11);
+        TransactionColumns.Builder builder = new TransactionColumns.Builder(4);
+        for (int i = 0; i < count; i++) {
+            // Deliberately unsorted input
+            long time = START + (long) (random.nextDouble() * SPAN);
+            long cents = 1 + random.nextInt(50_000);
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            if (random.nextBoolean()) {
+                builder.addIncome(time, cents, category);
+                rows.add(new Row(time, cents, category));
+            } else {
+                builder.addExpense(time, cents, category);
+                rows.add(new Row(time, -cents, category));
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void build_sortsRowsByTime() {
+        TransactionColumns columns = randomColumns(2_000);
+
+        assertEquals(2_000, columns.size());
+        for (int i = 1; i < columns.size(); i++) {
+            assertTrue(columns.timeAt(i - 1) <= columns.timeAt(i));
+        }
+    }
+
+    @Test
+    public void rangeSums_matchRowLoop() {
+        TransactionColumns columns = randomColumns(5_000);
+        long from = START + SPAN / 4;
+        long to = START + SPAN / 2;
+
+        long income = 0, expenses = 0, food = 0;
+        for (Row row : rows) {
+            if (row.time < from || row.time >= to) continue;
+            if (row.amount > 0) income += row.amount;
+            else expenses -= row.amount;
+            if (row.category.equals("Food")) food += row.amount;
+        }
+
+        int foodId = columns.getDictionary().idOf("Food");
+        assertEquals(income, columns.sumIncome(from, to));
+        assertEquals(expenses, columns.sumExpenses(from, to));
+        assertEquals(food, columns.sumWhere(from, to, (time, amount, category) -> category == foodId));
+    }
+
+    @Test
+    public void groupBys_matchRowLoop() {
+        TransactionColumns columns = randomColumns(5_000);
+
+        long[] byCategory = columns.expensesByCategory(Long.MIN_VALUE, Long.MAX_VALUE);
+        for (String name : CATEGORIES) {
+            long expected = 0;
+            for (Row row : rows) if (row.amount < 0 && row.category.equals(name)) expected -= row.amount;
+            assertEquals(name, expected, byCategory[columns.getDictionary().idOf(name)]);
+        }
+
+        int first = LedgerMonth.of(START, ZONE);
+        long[] byMonth = columns.expensesByMonth(first, 24, ZONE);
+        int month = first;
+        for (int m = 0; m < 24; m++) {
+            long expected = 0;
+            for (Row row : rows) {
+                if (row.amount < 0 && LedgerMonth.of(row.time, ZONE) == month) expected -= row.amount;
+            }
+            assertEquals("month " + month, expected, byMonth[m]);
+            month = LedgerMonth.next(month);
+        }
+    }
+
+    @Test
+    public void empty_scansReturnZero() {
+        TransactionColumns columns = TransactionColumns.empty();
+
+        assertEquals(0, columns.size());
+        assertEquals(0, columns.sumExpenses(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(0, columns.expensesByCategory(0, 1).length);
+        assertEquals(StringDictionary.NOT_FOUND, columns.getDictionary().idOf("Food"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.cqu.genaiexpensetracker.validation;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static com.cqu.genaiexpensetracker.validation.FormValidator.*;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for FormValidator, including agreement with the regexes it replaces.
+ */
+public class FormValidatorTest {
+
+    // The pattern SignUp and SetNewPassword used to run through String.matches
+    static final Pattern PASSWORD_REGEX =
+            Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&]).{8,}$");
+
+    // android.util.Patterns.EMAIL_ADDRESS
+    static final Pattern EMAIL_REGEX = Pattern.compile(
+            "[a-zA-Z0-9\\+\\.\\_\\%\\-\\+]{1,256}\\@[a-zA-Z0-9][a-zA-Z0-9\\-]{0,64}"
+                    + "(\\.[a-zA-Z0-9][a-zA-Z0-9\\-]{0,25})+");
+
+    @Test
+    public void passwordRules_reportEachRule() {
+        assertEquals(0, passwordRules(""));
+        assertEquals(RULE_LOWERCASE | RULE_DIGIT, passwordRules("abc123"));
+        assertEquals(PASSWORD_RULES & ~RULE_SPECIAL, passwordRules("Abcdefg1"));
+        assertEquals(PASSWORD_RULES, passwordRules("Abcdef1!"));
+        assertTrue(isStrongPassword("Abcdef1!"));
+        assertEquals(RULE_SPECIAL | RULE_LENGTH, missingPasswordRules("Abc1"));
+    }
+
+    @Test
+    public void describeRules_namesWhatIsMissing() {
+        assertEquals("", describeRules(0));
+        assertEquals("digit", describeRules(RULE_DIGIT));
+        assertEquals("uppercase and 8+ chars", describeRules(RULE_UPPERCASE | RULE_LENGTH));
+        assertEquals("lowercase, uppercase, digit, special char (@$!%*?&) and 8+ chars",
+                describeRules(PASSWORD_RULES));
+    }
+
+    @Test
+    public void isEmail_acceptsAndRejectsLikePatterns() {
+        assertTrue(isEmail("kapil@example.com"));
+        assertTrue(isEmail("first.last+tag@mail.example.co"));
+        assertFalse(isEmail("kapil@example"));
+        assertFalse(isEmail("kapil@.com"));
+        assertFalse(isEmail("kapil@example..com"));
+        assertFalse(isEmail("@example.com"));
+        assertFalse(isEmail("kapil example.com"));
+        assertFalse(isEmail(""));
+    }
+
+    @Test
+    public void countLetters_ignoresEverythingElse() {
+        assertEquals(5, countLetters(" Ka-pil 9"));
+    }
+
+    @Test
+    public void randomInputs_matchTheRegexes() {
+        Random random = new Random(42);
+        String alphabet = "aZ9@$!%*?&.-_+#\u00e9 \n\u2028\uD83D\uDE00";
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(14);
+            for (int j = 0; j < length; j++) text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String s = text.toString();
+            assertEquals(s, PASSWORD_REGEX.matcher(s).matches(), isStrongPassword(s));
+        }
+
+        String emailAlphabet = "ab9@.-_+%#";
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) text.append(emailAlphabet.charAt(random.nextInt(emailAlphabet.length())));
+            String s = text.toString();
+            assertEquals(s, EMAIL_REGEX.matcher(s).matches(), isEmail(s));
+        }
+    }
+
+    @Test
+    public void lengthLimits_matchTheRegexes() {
+        String local = "a".repeat(256);
+        String firstLabel = "b".repeat(65);
+        String label = "c".repeat(26);
+        String[] cases = {
+                local + "@" + firstLabel + "." + label,
+                local + "a@" + firstLabel + "." + label,
+                local + "@" + firstLabel + "b." + label,
+                local + "@" + firstLabel + "." + label + "c",
+                "Abcdef1\uD83D\uDE00", "Abcde1!\uD83D\uDE00", "Abcdef1!\n",
+        };
+        for (String s : cases) {
+            assertEquals(s, EMAIL_REGEX.matcher(s).matches(), isEmail(s));
+            assertEquals(s, PASSWORD_REGEX.matcher(s).matches(), isStrongPassword(s));
+        }
+    }
+}